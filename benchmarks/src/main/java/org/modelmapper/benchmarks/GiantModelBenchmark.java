@@ -3,6 +3,7 @@ package org.modelmapper.benchmarks;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.benchmarks.model.GiantDto;
 import org.modelmapper.benchmarks.model.GiantEntity;
+import org.modelmapper.convention.MatchingStrategies;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -23,6 +24,13 @@ public class GiantModelBenchmark {
     new ModelMapper().createTypeMap(GiantEntity.class, GiantDto.class);
   }
 
+  @Benchmark
+  public void measureStrict() {
+    ModelMapper modelMapper = new ModelMapper();
+    modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+    modelMapper.createTypeMap(GiantEntity.class, GiantDto.class);
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options options = new OptionsBuilder()
         .include(GiantModelBenchmark.class.getSimpleName())
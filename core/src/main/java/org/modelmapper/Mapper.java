@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper;
+
+import java.util.List;
+
+/**
+ * A mapper for one source and destination type, obtained via
+ * {@link ModelMapper#mapperFor(Class, Class)} or {@link TypeMap#getMapper()}. The TypeMap or
+ * Converter that applies to the types is resolved when the mapper is obtained, so that mapping
+ * through the mapper skips the lookups that {@link ModelMapper#map(Object, Class)} performs for
+ * every call. Mappers are threadsafe and can be held for the life of their ModelMapper.
+ * 
+ * @param <S> source type
+ * @param <D> destination type
+ */
+public interface Mapper<S, D> {
+  /**
+   * Returns the source type that the mapper was resolved for.
+   */
+  Class<S> getSourceType();
+
+  /**
+   * Returns the destination type that the mapper maps to.
+   */
+  Class<D> getDestinationType();
+
+  /**
+   * Maps {@code source} to a new instance of type {@code D}.
+   * 
+   * @param source object to map from
+   * @return fully mapped instance of type {@code D}
+   * @throws IllegalArgumentException if {@code source} is null
+   * @throws MappingException if an error occurs while mapping
+   */
+  D map(S source);
+
+  /**
+   * Maps {@code source} to {@code destination}.
+   * 
+   * @param source object to map from
+   * @param destination object to map to
+   * @throws IllegalArgumentException if {@code source} or {@code destination} are null
+   * @throws MappingException if an error occurs while mapping
+   */
+  void map(S source, D destination);
+
+  /**
+   * Maps each element of {@code source} to a new instance of type {@code D}, returning the
+   * results in the iteration order of {@code source}. Null elements are mapped to null.
+   * 
+   * @param source elements to map from
+   * @return fully mapped instances of type {@code D}
+   * @throws IllegalArgumentException if {@code source} is null
+   * @throws MappingException if an error occurs while mapping
+   */
+  List<D> mapAll(Iterable<? extends S> source);
+}
@@ -17,8 +17,12 @@ package org.modelmapper;
 
 import net.jodah.typetools.TypeResolver;
 
+import java.io.Closeable;
+import java.lang.reflect.Array;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
 import org.modelmapper.config.Configuration;
 import org.modelmapper.internal.Errors;
@@ -43,7 +47,7 @@ import org.modelmapper.internal.util.Types;
  * 
  * @author Jonathan Halterman
  */
-public class ModelMapper {
+public class ModelMapper implements Closeable {
   private final InheritingConfiguration config;
   private final MappingEngineImpl engine;
 
@@ -526,6 +530,149 @@ public class ModelMapper {
     return mapInternal(source, null, destinationType, typeMapName);
   }
 
+  /**
+   * Maps each element of {@code source} to a new instance of {@code destinationType}, returning
+   * the results in the iteration order of {@code source}. Null elements are mapped to null.
+   * 
+   * <p>
+   * This is equivalent to mapping each element with {@link #map(Object, Class)}, but resolves the
+   * TypeMap for each distinct element type once and reuses a single mapping context for all of the
+   * elements, which makes it considerably cheaper for large numbers of elements.
+   * 
+   * @param <D> destination type
+   * @param source elements to map from
+   * @param destinationType type to map each element to
+   * @return mapped instances of {@code destinationType}
+   * @throws IllegalArgumentException if {@code source} or {@code destinationType} are null
+   * @throws ConfigurationException if the ModelMapper cannot find or create a TypeMap for the
+   *           arguments
+   * @throws MappingException if a runtime error occurs while mapping
+   */
+  public <D> List<D> mapAll(Iterable<?> source, Class<D> destinationType) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destinationType, "destinationType");
+    return engine.mapAll(source, TypeToken.<D>of(destinationType));
+  }
+
+  /**
+   * Maps each element of {@code source} to a new instance of the component type of
+   * {@code destination}. If {@code destination} is large enough the results are stored in it at
+   * the indexes of their source elements, else they are stored in a new array of the same
+   * component type and the length of {@code source}. Null elements are mapped to null.
+   * 
+   * <p>
+   * This is equivalent to mapping each element with {@link #map(Object, Class)}, but resolves the
+   * TypeMap for each distinct element type once and reuses a single mapping context for all of the
+   * elements, which makes it considerably cheaper for large numbers of elements.
+   * 
+   * @param <D> destination type
+   * @param source elements to map from
+   * @param destination array to store the mapped elements in, if it is large enough
+   * @return the array containing the mapped elements
+   * @throws IllegalArgumentException if {@code source} or {@code destination} are null
+   * @throws ConfigurationException if the ModelMapper cannot find or create a TypeMap for the
+   *           arguments
+   * @throws MappingException if a runtime error occurs while mapping
+   */
+  public <D> D[] mapAll(Object[] source, D[] destination) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destination, "destination");
+    if (destination.length < source.length) {
+      @SuppressWarnings("unchecked")
+      D[] newDestination = (D[]) Array.newInstance(destination.getClass().getComponentType(),
+          source.length);
+      destination = newDestination;
+    }
+    engine.mapAll(source, destination);
+    return destination;
+  }
+
+  /**
+   * Returns a threadsafe Mapper for the {@code sourceType} and {@code destinationType}. The
+   * TypeMap for the types, or else a Converter that supports them, is resolved once and used for
+   * each mapping through the Mapper. If neither exists then a TypeMap is created. Sources and
+   * destinations of other types than those given are mapped as {@link #map(Object, Class)} would.
+   * 
+   * @param <S> source type
+   * @param <D> destination type
+   * @param sourceType type to map from
+   * @param destinationType type to map to
+   * @return a Mapper for the types
+   * @throws IllegalArgumentException if {@code sourceType} or {@code destinationType} are null
+   * @throws ConfigurationException if the ModelMapper cannot create a TypeMap for the types
+   */
+  public <S, D> Mapper<S, D> mapperFor(Class<S> sourceType, Class<D> destinationType) {
+    Assert.notNull(sourceType, "sourceType");
+    Assert.notNull(destinationType, "destinationType");
+    return engine.mapperFor(sourceType, destinationType, null);
+  }
+
+  /**
+   * Returns a threadsafe Mapper for the {@code sourceType}, {@code destinationType} and
+   * {@code typeMapName}.
+   * 
+   * @param <S> source type
+   * @param <D> destination type
+   * @param sourceType type to map from
+   * @param destinationType type to map to
+   * @param typeMapName name of the TypeMap to map with
+   * @return a Mapper for the types and TypeMap name
+   * @throws IllegalArgumentException if {@code sourceType}, {@code destinationType} or
+   *           {@code typeMapName} are null
+   * @throws ConfigurationException if the ModelMapper cannot create a TypeMap for the types
+   * @see #mapperFor(Class, Class)
+   */
+  public <S, D> Mapper<S, D> mapperFor(Class<S> sourceType, Class<D> destinationType,
+      String typeMapName) {
+    Assert.notNull(sourceType, "sourceType");
+    Assert.notNull(destinationType, "destinationType");
+    Assert.notNull(typeMapName, "typeMapName");
+    return engine.mapperFor(sourceType, destinationType, typeMapName);
+  }
+
+  /**
+   * Returns an Iterable that maps each element of {@code source} to a new instance of
+   * {@code destinationType} as it is iterated over, rather than mapping every element up front.
+   * Null elements are mapped to null, and removing an element through one of the Iterable's
+   * iterators removes it from {@code source}.
+   * 
+   * <p>
+   * The returned Iterable can be iterated over any number of times, each time mapping the elements
+   * anew. Each of its iterators is independent, but an individual iterator must not be used by
+   * multiple threads at once. Mapping errors are thrown from {@link Iterator#next()}.
+   * 
+   * @param <D> destination type
+   * @param source elements to map from
+   * @param destinationType type to map each element to
+   * @return an Iterable of mapped instances of {@code destinationType}
+   * @throws IllegalArgumentException if {@code source} or {@code destinationType} are null
+   * @see #mapAll(Iterable, Class)
+   */
+  public <D> Iterable<D> mapLazily(Iterable<?> source, Class<D> destinationType) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destinationType, "destinationType");
+    return engine.mapLazily(source, TypeToken.<D>of(destinationType));
+  }
+
+  /**
+   * Returns an Iterator that maps each element returned by {@code source} to a new instance of
+   * {@code destinationType} as it is iterated over. This suits sources that can only be iterated
+   * over once, such as query result cursors, since no more than one source element is held at a
+   * time. Null elements are mapped to null. Mapping errors are thrown from
+   * {@link Iterator#next()}.
+   * 
+   * @param <D> destination type
+   * @param source elements to map from
+   * @param destinationType type to map each element to
+   * @return an Iterator of mapped instances of {@code destinationType}
+   * @throws IllegalArgumentException if {@code source} or {@code destinationType} are null
+   */
+  public <D> Iterator<D> mapLazily(Iterator<?> source, Class<D> destinationType) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destinationType, "destinationType");
+    return engine.mapLazily(source, TypeToken.<D>of(destinationType));
+  }
+
   /**
    * Validates that <b>every</b> top level destination property for each configured TypeMap is
    * mapped to one and only one source property, or that a {@code Converter} was
@@ -547,6 +694,19 @@ public class ModelMapper {
     errors.throwValidationExceptionIfErrorsExist();
   }
 
+  /**
+   * Releases the type and property metadata that has been cached by this ModelMapper, so that the
+   * cached types and their class loaders are not referenced by the cache. Configured TypeMaps and
+   * converters are retained and the ModelMapper remains usable, resolving metadata again as it is
+   * needed.
+   *
+   * @see Configuration#setTypeInfoCacheLimit(int)
+   */
+  public void close() {
+    config.typeInfoStore.clear();
+    config.converterStore.clearIndex();
+  }
+
   /**
    * Register a module
    *
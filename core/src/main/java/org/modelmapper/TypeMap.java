@@ -66,7 +66,7 @@ public interface TypeMap<S, D> {
   Class<D> getDestinationType();
 
   /**
-   * Returns a snapshot of the TypeMap's mappings.
+   * Returns an unmodifiable snapshot of the TypeMap's mappings, ordered by destination path.
    * 
    * <p>
    * This method is part of the ModelMapper SPI.
@@ -160,6 +160,13 @@ public interface TypeMap<S, D> {
    */
   void map(S source, D destination);
 
+  /**
+   * Returns a threadsafe Mapper that maps sources with this TypeMap, whatever their type.
+   * 
+   * @see Mapper
+   */
+  Mapper<S, D> getMapper();
+
   /**
    * Sets the {@code condition} that must apply for the source and destination in order for mapping
    * to take place.
@@ -23,6 +23,8 @@ import org.modelmapper.spi.*;
 import org.modelmapper.spi.ConditionalConverter.MatchResult;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Configures conventions used during the matching process.
@@ -85,6 +87,20 @@ public interface Configuration {
    */
   List<ConditionalConverter<?, ?>> getConverters();
 
+  /**
+   * Gets the set of immutable types. Properties whose source and destination are of the same
+   * immutable, primitive or enum type are mapped by copying the source value directly to the
+   * destination, unless a TypeMap, a converter other than the built-in ones, a condition or a
+   * provider applies to them. This set is mutable and initially contains {@code String}, the
+   * primitive wrappers, {@code BigDecimal}, {@code BigInteger}, {@code UUID} and the
+   * {@code java.time} value types. Changes apply to TypeMaps that are created or modified
+   * afterwards.
+   *
+   * <p>
+   * This method is part of the ModelMapper SPI.
+   */
+  Set<Class<?>> getImmutableTypes();
+
   /**
    * Returns the destination name tokenizer.
    *
@@ -135,6 +151,78 @@ public interface Configuration {
    */
   Condition<?, ?> getPropertyCondition();
 
+  /**
+   * Returns the Executor that elements of large collections and arrays are mapped in parallel on,
+   * else {@code null} if parallel mapping has not been configured.
+   *
+   * @see #setParallelMappingExecutor(Executor)
+   */
+  Executor getParallelMappingExecutor();
+
+  /**
+   * Returns the number of elements that a source collection or array must have for its elements to
+   * be mapped in parallel. Defaults to {@code 1000}.
+   *
+   * @see #setParallelMappingThreshold(int)
+   */
+  int getParallelMappingThreshold();
+
+  /**
+   * Returns the number of times a TypeMap is mapped property by property before it is compiled.
+   * Defaults to {@code 0}.
+   *
+   * @see #setCompilationThreshold(int)
+   */
+  int getCompilationThreshold();
+
+  /**
+   * Returns the Executor that TypeMaps are compiled on, else {@code null} if TypeMaps are compiled
+   * on the mapping thread.
+   *
+   * @see #setCompilationExecutor(Executor)
+   */
+  Executor getCompilationExecutor();
+
+  /**
+   * Returns the CompilationListener that is notified when TypeMaps are compiled or deoptimized,
+   * else {@code null} if no listener has been configured.
+   *
+   * @see #setCompilationListener(CompilationListener)
+   */
+  CompilationListener getCompilationListener();
+
+  /**
+   * Returns the maximum number of types that type and property metadata is cached for, else
+   * {@code 0} if the cache is unbounded (default).
+   *
+   * @see #setTypeInfoCacheLimit(int)
+   */
+  int getTypeInfoCacheLimit();
+
+  /**
+   * Returns the maximum number of source properties in an implicitly matched source path, else
+   * {@code 0} if source paths are unbounded (default).
+   *
+   * @see #setMaxSourceDepth(int)
+   */
+  int getMaxSourceDepth();
+
+  /**
+   * Returns the maximum number of destination properties in an implicitly matched destination path,
+   * else {@code 0} if destination paths are unbounded (default).
+   *
+   * @see #setMaxDestinationDepth(int)
+   */
+  int getMaxDestinationDepth();
+
+  /**
+   * Returns the packages whose types are traversed during implicit matching, else an empty list if
+   * types of any package are traversed (default).
+   *
+   * @see #setTraversalPackages(String...)
+   */
+  List<String> getTraversalPackages();
+
 
   /**
    * Return the Interceptor for the mapping engine resolveSourceValue mapping
@@ -262,6 +350,14 @@ public interface Configuration {
    */
   boolean isSkipNullEnabled();
 
+  /**
+   * Returns whether source object graphs are assumed to be trees, in which case shared and circular
+   * references are not tracked.
+   *
+   * @see #setTreeMappingEnabled(boolean)
+   */
+  boolean isTreeMappingEnabled();
+
   /**
    * Returns whether OSGi Class Loader Bridging is required.
    *
@@ -269,6 +365,21 @@ public interface Configuration {
    */
   boolean isUseOSGiClassLoaderBridging();
 
+  /**
+   * Returns whether TypeMaps should be compiled into generated mapper classes when possible.
+   *
+   * @see #setCompiledMappingEnabled(boolean)
+   */
+  boolean isCompiledMappingEnabled();
+
+  /**
+   * Returns whether {@link GeneratedMapper}s registered as services should be used in place of
+   * implicitly created TypeMaps.
+   *
+   * @see #setGeneratedMappersEnabled(boolean)
+   */
+  boolean isGeneratedMappersEnabled();
+
   /**
    * Returns whether the deep copy feature is enabled.
    *
@@ -393,6 +504,21 @@ public interface Configuration {
    */
   Configuration setSkipNullEnabled(boolean enabled);
 
+  /**
+   * Sets whether source object graphs are assumed to be trees, in which no object is referenced
+   * more than once. When enabled, ModelMapper does not track the destination that each source
+   * object was mapped to, which saves a hash lookup and insertion per mapped object, but a source
+   * object that is referenced more than once is mapped to a separate destination object each time
+   * and a circular reference results in a {@link StackOverflowError}. Disabled by default.
+   * <p>
+   * When Java assertions are enabled, a source object that is mapped via a TypeMap more than once
+   * results in a {@link org.modelmapper.MappingException}.
+   *
+   * @param enabled whether tree mapping is enabled
+   * @see #isTreeMappingEnabled()
+   */
+  Configuration setTreeMappingEnabled(boolean enabled);
+
   /**
    * Sets whether deep copy should be enabled. When {@code false} (default), ModelMapper will
    * copy the reference to the destination object of a property if they have same type. When {@code true},
@@ -438,6 +564,69 @@ public interface Configuration {
    */
   Configuration setUseOSGiClassLoaderBridging(boolean useOSGiClassLoaderBridging);
 
+  /**
+   * Sets whether TypeMaps should be compiled into generated mapper classes. When {@code true},
+   * a TypeMap whose mappings are all simple transfers between accessible properties of primitive,
+   * wrapper, String or enum types is mapped by generated code that reads and writes the properties
+   * directly. TypeMaps that cannot be compiled, such as those using converters, conditions or
+   * providers, are mapped as usual. When {@code false} (default), all TypeMaps are mapped as usual.
+   * <p>
+   * Generated classes are defined in the destination type's class loader and remain loaded until
+   * it is unloaded. A class is shared by all TypeMaps, of any ModelMapper, that transfer the same
+   * properties of the same destination type, so recompiling a TypeMap whose mappings return to an
+   * earlier shape reuses its class, while each distinct set of mappings defines a class of its own.
+   *
+   * @param enabled whether compiled mapping is enabled
+   * @see #isCompiledMappingEnabled()
+   */
+  Configuration setCompiledMappingEnabled(boolean enabled);
+
+  /**
+   * Sets whether {@link GeneratedMapper}s should be used in place of implicitly created TypeMaps.
+   * When {@code true}, the GeneratedMappers registered as
+   * {@code META-INF/services/org.modelmapper.spi.GeneratedMapper} services are discovered the first
+   * time a TypeMap is implicitly created, and an unnamed TypeMap that would be created implicitly
+   * for a mapper's type pair uses the mapper instead, provided this configuration's
+   * {@link #getMatchingStrategy() matching strategy} is
+   * {@link org.modelmapper.convention.MatchingStrategies#STRICT}, which is the only strategy that
+   * mappers are generated for, and the mapper was generated for its naming and field matching
+   * settings. Mappers are not used while null values are skipped, or while a global property
+   * condition or provider is set. Mappers are discovered through the context class loader and
+   * ModelMapper's class loader, and are only used by this ModelMapper. When {@code false}
+   * (default), GeneratedMappers are not used.
+   *
+   * @param enabled whether generated mappers are enabled
+   * @see #isGeneratedMappersEnabled()
+   */
+  Configuration setGeneratedMappersEnabled(boolean enabled);
+
+  /**
+   * Sets the number of times a TypeMap is mapped property by property before it is compiled when
+   * {@link #isCompiledMappingEnabled() compiled mapping} is enabled. The count starts over when a
+   * compiled TypeMap is deoptimized because it, or a TypeMap it may depend on, was modified.
+   *
+   * @throws IllegalArgumentException if {@code threshold} is negative
+   * @see #setCompilationExecutor(Executor)
+   */
+  Configuration setCompilationThreshold(int threshold);
+
+  /**
+   * Sets the Executor that TypeMaps are compiled on once they reach the
+   * {@link #getCompilationThreshold() compilation threshold}. TypeMaps continue to be mapped property
+   * by property until their compiled mapper is ready, which then replaces the mapping of the
+   * TypeMap atomically. TypeMaps are compiled on the mapping thread unless an executor is set.
+   *
+   * @throws IllegalArgumentException if {@code executor} is null
+   */
+  Configuration setCompilationExecutor(Executor executor);
+
+  /**
+   * Sets the CompilationListener to notify when TypeMaps are compiled or deoptimized.
+   *
+   * @throws IllegalArgumentException if {@code listener} is null
+   */
+  Configuration setCompilationListener(CompilationListener listener);
+
   /**
    * Sets the strategy used to match source properties to destination properties.
    *
@@ -461,6 +650,80 @@ public interface Configuration {
    */
   Configuration setPropertyCondition(Condition<?, ?> condition);
 
+  /**
+   * Sets the {@code executor} that elements of collections and arrays having at least
+   * {@link #getParallelMappingThreshold()} elements are mapped in parallel on. Elements are split
+   * into chunks that are each mapped with an independent context, and the destination is assembled
+   * in source order. The mapping thread takes part in mapping chunks so that a saturated executor
+   * cannot stall a mapping. Elements are mapped sequentially unless an executor is set, and a
+   * {@code null} executor disables parallel mapping again.
+   * <p>
+   * Once the elements are mapped, the destinations that sources were mapped to in each chunk are
+   * visible to the rest of the mapping, as they are when elements are mapped sequentially. A source
+   * that is referenced by elements in different chunks is mapped once per chunk though, rather than
+   * once per mapping.
+   * <p>
+   * Converters, providers and conditions used while mapping elements must be thread-safe when
+   * parallel mapping is enabled.
+   */
+  Configuration setParallelMappingExecutor(Executor executor);
+
+  /**
+   * Sets the number of elements that a source collection or array must have for its elements to be
+   * mapped in parallel.
+   *
+   * @throws IllegalArgumentException if {@code threshold} is less than 1
+   * @see #setParallelMappingExecutor(Executor)
+   */
+  Configuration setParallelMappingThreshold(int threshold);
+
+  /**
+   * Sets the maximum number of types that type and property metadata is cached for. When the limit
+   * is exceeded, metadata for types that have not been used recently is evicted and resolved again
+   * when it is next needed. A {@code limit} of {@code 0} (default) leaves the cache unbounded. The cache is
+   * shared by all configurations of a ModelMapper.
+   *
+   * @throws IllegalArgumentException if {@code limit} is negative
+   * @see org.modelmapper.ModelMapper#close()
+   */
+  Configuration setTypeInfoCacheLimit(int limit);
+
+  /**
+   * Sets the maximum number of source properties in a source path that is implicitly matched to a
+   * destination. Source properties at the maximum depth are matched, but the properties of their
+   * types are not. A {@code depth} of {@code 0} (default) leaves source paths unbounded.
+   * <p>
+   * Bounding the depth bounds the time taken to build TypeMaps for large object graphs whose deeply
+   * nested properties are never mapped.
+   *
+   * @throws IllegalArgumentException if {@code depth} is negative
+   */
+  Configuration setMaxSourceDepth(int depth);
+
+  /**
+   * Sets the maximum number of destination properties in a destination path that is implicitly
+   * matched. Destination properties at the maximum depth are matched, but the properties of their
+   * types are not. A {@code depth} of {@code 0} (default) leaves destination paths unbounded.
+   *
+   * @throws IllegalArgumentException if {@code depth} is negative
+   */
+  Configuration setMaxDestinationDepth(int depth);
+
+  /**
+   * Sets the packages whose types are traversed during implicit matching. The properties of a
+   * nested source or destination type are only matched if the type belongs to one of the
+   * {@code packageNames} or to one of their subpackages. Properties of any type are still matched
+   * themselves, and values read by a {@link ValueReader} are always traversed. When no package
+   * names are given (default), types of any package are traversed.
+   *
+   * <pre>
+   *  modelMapper.getConfiguration().setTraversalPackages("com.acme.domain", "com.acme.dto");
+   * </pre>
+   *
+   * @throws IllegalArgumentException if {@code packageNames} or any of its elements is null
+   */
+  Configuration setTraversalPackages(String... packageNames);
+
 
   /**
    * Sets  interceptor for the mapping engine's resolveSourceValue methods.
@@ -15,7 +15,8 @@
  */
 package org.modelmapper.convention;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.modelmapper.spi.NameTokenizer;
 import org.modelmapper.spi.NameableType;
@@ -36,24 +37,76 @@ public class NameTokenizers {
    */
   public static final NameTokenizer UNDERSCORE = new UnderscoreNameTokenizer();
 
+  /**
+   * Splits names before an upper case letter that follows a non upper case character or that
+   * starts a new word after a run of upper case letters, and between a letter and a non letter.
+   * Equivalent to splitting by
+   * {@code (?<=[A-Z])(?=[A-Z][a-z])|(?<=[^A-Z])(?=[A-Z])|(?<=[A-Za-z])(?=[^A-Za-z])} in a single
+   * pass.
+   */
   private static class CamelCaseNameTokenizer implements NameTokenizer {
-    private static final Pattern camelCase = Pattern.compile("(?<=[A-Z])(?=[A-Z][a-z])|(?<=[^A-Z])(?=[A-Z])|(?<=[A-Za-z])(?=[^A-Za-z])");
-
     public String[] tokenize(String name, NameableType nameableType) {
-      return camelCase.split(name);
+      int length = name.length();
+      List<String> tokens = null;
+      int start = 0;
+      for (int i = 1; i < length; i++) {
+        char previous = name.charAt(i - 1);
+        char current = name.charAt(i);
+        if (isUpper(current) ? !isUpper(previous) || i + 1 < length && isLower(name.charAt(i + 1))
+            : isLetter(previous) && !isLetter(current)) {
+          if (tokens == null)
+            tokens = new ArrayList<String>();
+          tokens.add(name.substring(start, i));
+          start = i;
+        }
+      }
+
+      if (tokens == null)
+        return new String[] { name };
+      tokens.add(name.substring(start));
+      return tokens.toArray(new String[tokens.size()]);
     }
 
     @Override
     public String toString() {
       return "Camel Case";
     }
+
+    private static boolean isUpper(char c) {
+      return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isLower(char c) {
+      return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isLetter(char c) {
+      return isUpper(c) || isLower(c);
+    }
   }
 
+  /**
+   * Splits names at underscores. Trailing empty tokens are dropped, as with {@link String#split}.
+   */
   private static class UnderscoreNameTokenizer implements NameTokenizer {
-    private static final Pattern underscore = Pattern.compile("_");
-
     public String[] tokenize(String name, NameableType nameableType) {
-      return underscore.split(name);
+      int index = name.indexOf('_');
+      if (index == -1)
+        return new String[] { name };
+
+      List<String> tokens = new ArrayList<String>();
+      int start = 0;
+      do {
+        tokens.add(name.substring(start, index));
+        start = index + 1;
+        index = name.indexOf('_', start);
+      } while (index != -1);
+      tokens.add(name.substring(start));
+
+      int size = tokens.size();
+      while (size > 0 && tokens.get(size - 1).length() == 0)
+        tokens.remove(--size);
+      return tokens.toArray(new String[size]);
     }
 
     @Override
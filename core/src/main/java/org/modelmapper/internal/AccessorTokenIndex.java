@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.modelmapper.spi.Tokens;
+
+/**
+ * An inverted index of the name tokens of a source type's accessors. Inexact matching strategies
+ * match tokens character by character, ignoring case, and can combine consecutive tokens, so a
+ * source property can only be matched to a destination if one of its tokens is a prefix of, or is
+ * prefixed by, one of the destination's tokens. The index finds those accessors through hash
+ * lookups of each destination token and its prefixes.
+ */
+final class AccessorTokenIndex {
+  private final List<Map.Entry<String, Accessor>> entries;
+  /** Positions of the accessors having each token */
+  private final Map<String, BitSet> tokens = new HashMap<String, BitSet>();
+  /** Positions of the accessors having a token that starts with each prefix */
+  private final Map<String, BitSet> prefixes = new HashMap<String, BitSet>();
+
+  AccessorTokenIndex(TypeInfo<?> typeInfo, PropertyNameInfoImpl propertyNameInfo) {
+    entries = new ArrayList<Map.Entry<String, Accessor>>(typeInfo.getAccessors().entrySet());
+    for (int i = 0; i < entries.size(); i++) {
+      Map.Entry<String, Accessor> entry = entries.get(i);
+      for (String token : propertyNameInfo.sourceTokensFor(entry.getKey(), entry.getValue())) {
+        String key = keyFor(token);
+        add(tokens, key, i);
+        for (int length = 0; length <= key.length(); length += 2)
+          add(prefixes, key.substring(0, length), i);
+      }
+    }
+  }
+
+  /**
+   * Returns the type's accessors in order.
+   */
+  List<Map.Entry<String, Accessor>> entries() {
+    return entries;
+  }
+
+  /**
+   * Returns the positions of the accessors that have a token that is a prefix of, or is prefixed
+   * by, any of the {@code destinationTokens}.
+   */
+  BitSet candidatesFor(List<Tokens> destinationTokens) {
+    BitSet candidates = new BitSet(entries.size());
+    for (Tokens destinationPropertyTokens : destinationTokens) {
+      for (String token : destinationPropertyTokens) {
+        String key = keyFor(token);
+        or(candidates, prefixes.get(key));
+        for (int length = 0; length <= key.length(); length += 2)
+          or(candidates, tokens.get(key.substring(0, length)));
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Returns a key for the {@code token} under which tokens whose characters are all equal when
+   * converted to upper case, and when converted to lower case, are equal, two key characters per
+   * token character.
+   */
+  private static String keyFor(String token) {
+    char[] key = new char[token.length() * 2];
+    for (int i = 0; i < token.length(); i++) {
+      char c = token.charAt(i);
+      key[i * 2] = Character.toUpperCase(c);
+      key[i * 2 + 1] = Character.toLowerCase(c);
+    }
+    return new String(key);
+  }
+
+  private static void add(Map<String, BitSet> index, String key, int position) {
+    BitSet positions = index.get(key);
+    if (positions == null) {
+      positions = new BitSet();
+      index.put(key, positions);
+    }
+    positions.set(position);
+  }
+
+  private static void or(BitSet candidates, BitSet positions) {
+    if (positions != null)
+      candidates.or(positions);
+  }
+}
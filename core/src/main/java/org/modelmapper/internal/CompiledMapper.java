@@ -0,0 +1,31 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+/**
+ * Maps the properties of a source object onto a destination object using code that was generated
+ * for a specific TypeMap. Implementations are generated by {@link MapperCompiler}. This interface
+ * is public only so that generated classes, which are defined in the destination type's package,
+ * can implement it.
+ */
+public interface CompiledMapper {
+  /**
+   * Maps the {@code source} onto the {@code destination}.
+   *
+   * @param skipNull whether null source values should be skipped rather than set
+   */
+  void map(Object source, Object destination, boolean skipNull);
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.modelmapper.config.Configuration;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.modelmapper.convention.MatchingStrategies;
+import org.modelmapper.convention.NameTokenizers;
+import org.modelmapper.convention.NameTransformers;
+import org.modelmapper.convention.NamingConventions;
+import org.modelmapper.spi.GeneratedMapper;
+
+/**
+ * Discovers GeneratedMappers that are registered as services by the context class loader and by
+ * ModelMapper's class loader. Discovery happens once per TypeMapStore, the first time a mapper is
+ * requested, so that mappers are neither shared across ModelMappers nor retained after the
+ * ModelMapper that discovered them.
+ */
+final class GeneratedMappers {
+  private volatile Map<TypePair<?, ?>, GeneratedMapper<?, ?>> mappers;
+
+  /**
+   * Returns the GeneratedMapper for the {@code sourceType} and {@code destinationType}, else
+   * {@code null} if none is registered or the registered mapper was not generated for the
+   * {@code configuration}.
+   */
+  @SuppressWarnings("unchecked")
+  <S, D> GeneratedMapper<S, D> get(Class<S> sourceType, Class<D> destinationType,
+      Configuration configuration) {
+    Map<TypePair<?, ?>, GeneratedMapper<?, ?>> mappers = this.mappers;
+    if (mappers == null) {
+      mappers = load();
+      this.mappers = mappers;
+    }
+    if (mappers.isEmpty())
+      return null;
+    GeneratedMapper<?, ?> mapper = mappers.get(TypePair.of(sourceType, destinationType, null));
+    return mapper == null || !isGeneratedFor(mapper, configuration) ? null
+        : (GeneratedMapper<S, D>) mapper;
+  }
+
+  /**
+   * Returns whether the {@code mapper} maps the properties that an implicitly created TypeMap would
+   * map for the {@code configuration}, which requires the configuration to match properties with
+   * the strict strategy and the conventions, tokenizers, transformers and access levels that the
+   * mapper was generated with, and to map them without skipping null values, conditions or providers.
+   */
+  private static boolean isGeneratedFor(GeneratedMapper<?, ?> mapper,
+      Configuration configuration) {
+    return configuration.getMatchingStrategy() == MatchingStrategies.STRICT
+        && configuration.isFieldMatchingEnabled() == mapper.isFieldMatchingEnabled()
+        && (!mapper.isFieldMatchingEnabled()
+            || configuration.getFieldAccessLevel() == AccessLevel.PUBLIC)
+        && configuration.getMethodAccessLevel() == AccessLevel.PUBLIC
+        && configuration.getSourceNamingConvention() == NamingConventions.JAVABEANS_ACCESSOR
+        && configuration.getDestinationNamingConvention() == NamingConventions.JAVABEANS_MUTATOR
+        && configuration.getSourceNameTransformer() == NameTransformers.JAVABEANS_ACCESSOR
+        && configuration.getDestinationNameTransformer() == NameTransformers.JAVABEANS_MUTATOR
+        && configuration.getSourceNameTokenizer() == NameTokenizers.CAMEL_CASE
+        && configuration.getDestinationNameTokenizer() == NameTokenizers.CAMEL_CASE
+        && configuration.isImplicitMappingEnabled()
+        && configuration.getMaxSourceDepth() == 0 && configuration.getMaxDestinationDepth() == 0
+        && configuration.getTraversalPackages().isEmpty()
+        && !configuration.isSkipNullEnabled()
+        && configuration.getPropertyCondition() == null
+        && configuration.getProvider() == null
+        && configuration.getResolveSourceValueInterceptor() == null;
+  }
+
+  private static Map<TypePair<?, ?>, GeneratedMapper<?, ?>> load() {
+    Map<TypePair<?, ?>, GeneratedMapper<?, ?>> mappers = new HashMap<TypePair<?, ?>, GeneratedMapper<?, ?>>();
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    if (contextClassLoader != null)
+      load(contextClassLoader, mappers);
+    ClassLoader classLoader = GeneratedMappers.class.getClassLoader();
+    if (classLoader != null && classLoader != contextClassLoader)
+      load(classLoader, mappers);
+    return mappers;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static void load(ClassLoader classLoader,
+      Map<TypePair<?, ?>, GeneratedMapper<?, ?>> mappers) {
+    Iterator<GeneratedMapper> iterator = ServiceLoader.load(GeneratedMapper.class, classLoader)
+        .iterator();
+    while (true) {
+      try {
+        if (!iterator.hasNext())
+          return;
+        GeneratedMapper<?, ?> mapper = iterator.next();
+        TypePair<?, ?> typePair = TypePair.of(mapper.getSourceType(), mapper.getDestinationType(),
+            null);
+        if (!mappers.containsKey(typePair))
+          mappers.put(typePair, mapper);
+      } catch (ServiceConfigurationError ignore) {
+        // Skip mappers that cannot be loaded by the class loader
+      }
+    }
+  }
+}
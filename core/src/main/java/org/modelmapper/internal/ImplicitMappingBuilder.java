@@ -16,9 +16,12 @@
 package org.modelmapper.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -33,13 +36,13 @@ import org.modelmapper.internal.converter.ConverterStore;
 import org.modelmapper.internal.util.Iterables;
 import org.modelmapper.internal.util.Strings;
 import org.modelmapper.internal.util.Types;
-import org.modelmapper.spi.ConditionalConverter;
 import org.modelmapper.spi.ConditionalConverter.MatchResult;
 import org.modelmapper.spi.Mapping;
 import org.modelmapper.spi.MatchingStrategy;
 import org.modelmapper.spi.NameableType;
 import org.modelmapper.spi.PropertyInfo;
 import org.modelmapper.spi.PropertyMapping;
+import org.modelmapper.spi.Tokens;
 
 /**
  * Builds and populates implicit property mappings for a TypeMap.
@@ -56,6 +59,11 @@ class ImplicitMappingBuilder<S, D> {
   private final InheritingConfiguration configuration;
   private final ConverterStore converterStore;
   private final MatchingStrategy matchingStrategy;
+  /** Maximum source and destination path lengths, 0 when unbounded */
+  private final int maxSourceDepth;
+  private final int maxDestinationDepth;
+  /** Packages whose types are traversed, all when empty */
+  private final List<String> traversalPackages;
 
   /** Mutable state */
   private final Errors errors = new Errors();
@@ -69,6 +77,23 @@ class ImplicitMappingBuilder<S, D> {
   private final Map<PropertyInfo, PropertyMappingImpl> intermediateMappings = new HashMap<PropertyInfo, PropertyMappingImpl>();
   /** Mappings which are to be merged in from a pre-existing TypeMap. */
   private final List<InternalMapping> mergedMappings = new ArrayList<InternalMapping>();
+  /**
+   * Source accessors of each matched source TypeInfo instance keyed by their normalized tokens, in
+   * the order of the type's accessors, when the strict matching strategy is used, else
+   * {@code null}.
+   */
+  private final Map<TypeInfo<?>, Map<List<String>, List<Map.Entry<String, Accessor>>>> accessorIndex;
+  /**
+   * Token indexes of each matched source TypeInfo instance when the standard or loose matching
+   * strategy is used, else {@code null}.
+   */
+  private final Map<TypeInfo<?>, AccessorTokenIndex> tokenIndexes;
+  /** Candidate accessors of each source TypeInfo instance for the current destination */
+  private final Map<TypeInfo<?>, BitSet> candidates = new IdentityHashMap<TypeInfo<?>, BitSet>();
+  /** Tokens of the current destination, else {@code null} if not yet needed */
+  private TypeInfoStore.DestinationTokensKey destinationTokens;
+  /** TypeInfos of the nested types of each source TypeInfo instance that has been walked */
+  private final Map<TypeInfo<?>, List<TypeInfo<?>>> nestedTypeInfos = new IdentityHashMap<TypeInfo<?>, List<TypeInfo<?>>>();
 
   static <S, D> void build(S source, TypeMapImpl<S, D> typeMap, TypeMapStore typeMapStore,
       ConverterStore converterStore) {
@@ -83,7 +108,16 @@ class ImplicitMappingBuilder<S, D> {
     this.configuration = typeMap.configuration;
     sourceTypeInfo = TypeInfoRegistry.typeInfoFor(source, typeMap.getSourceType(), configuration);
     matchingStrategy = configuration.getMatchingStrategy();
+    maxSourceDepth = configuration.getMaxSourceDepth();
+    maxDestinationDepth = configuration.getMaxDestinationDepth();
+    traversalPackages = configuration.getTraversalPackages();
     propertyNameInfo = new PropertyNameInfoImpl(typeMap.getSourceType(), configuration);
+    accessorIndex = matchingStrategy == MatchingStrategies.STRICT
+        ? new IdentityHashMap<TypeInfo<?>, Map<List<String>, List<Map.Entry<String, Accessor>>>>()
+        : null;
+    tokenIndexes = matchingStrategy == MatchingStrategies.STANDARD
+        || matchingStrategy == MatchingStrategies.LOOSE
+            ? new IdentityHashMap<TypeInfo<?>, AccessorTokenIndex>() : null;
   }
 
   void build() {
@@ -105,9 +139,12 @@ class ImplicitMappingBuilder<S, D> {
       // Skip explicit mappings
       Mapping existingMapping = typeMap.mappingFor(destPath);
       if (existingMapping == null) {
-        matchSource(sourceTypeInfo, mutator, false);
+        if (isHierarchyMatchable(sourceTypeInfo))
+          matchSource(sourceTypeInfo, mutator, false);
         propertyNameInfo.clearSource();
         sourceTypes.clear();
+        candidates.clear();
+        destinationTokens = null;
       }
 
       // Use partially matched mappings only if there is no fully matched mapping
@@ -146,6 +183,8 @@ class ImplicitMappingBuilder<S, D> {
           typeMap.addMappingIfAbsent(mapping);
         mergedMappings.clear();
       } else if (!destinationTypes.contains(mutator.getType())
+          && isWithinDepth(propertyNameInfo.getDestinationProperties(), maxDestinationDepth)
+          && isTraversable(mutator.getType())
           && !typeMap.isSkipped(destPath)
           && Types.mightContainsProperties(mutator.getType())
           && !isConvertable(existingMapping)) {
@@ -167,12 +206,21 @@ class ImplicitMappingBuilder<S, D> {
   private void matchSource(TypeInfo<?> sourceTypeInfo, Mutator destinationMutator, boolean hitSameSourceType) {
     sourceTypes.add(sourceTypeInfo.getType());
 
-    for (Map.Entry<String, Accessor> entry : sourceTypeInfo.getAccessors().entrySet()) {
+    BitSet matchable = matchableAccessors(sourceTypeInfo);
+    int position = -1;
+    for (Map.Entry<String, Accessor> entry : accessorsToMatch(sourceTypeInfo)) {
+      position++;
+      boolean candidate = matchable == null || matchable.get(position);
+      // The standard strategy must match each source property in a path, the loose strategy only
+      // the last one
+      if (!candidate && matchingStrategy == MatchingStrategies.STANDARD)
+        continue;
+
       Accessor accessor = entry.getValue();
       propertyNameInfo.pushSource(entry.getKey(), entry.getValue());
       boolean doneMatching = false;
 
-      if (matchingStrategy.matches(propertyNameInfo)) {
+      if (candidate && matchingStrategy.matches(propertyNameInfo)) {
         if (destinationTypes.contains(destinationMutator.getType()))
           mappings.add(new PropertyMappingImpl(propertyNameInfo.getSourceProperties(),
               propertyNameInfo.getDestinationProperties(), true));
@@ -195,22 +243,20 @@ class ImplicitMappingBuilder<S, D> {
                   propertyConverter));
             doneMatching = matchingStrategy.isExact();
           } else {
-            for (ConditionalConverter<?, ?> converter : converterStore.getConverters()) {
-              MatchResult matchResult = converter.match(accessor.getType(),
-                  destinationMutator.getType());
-
-              if (!MatchResult.NONE.equals(matchResult)) {
-                mapping = new PropertyMappingImpl(propertyNameInfo.getSourceProperties(),
-                    propertyNameInfo.getDestinationProperties(), false);
-
-                if (MatchResult.FULL.equals(matchResult)) {
-                  mappings.add(mapping);
-                  doneMatching = matchingStrategy.isExact();
-                  break;
-                } else if (!configuration.isFullTypeMatchingRequired()) {
-                  partiallyMatchedMappings.add(mapping);
-                  break;
-                }
+            MatchResult matchResult = converterStore.getFirstMatchResult(accessor.getType(),
+                destinationMutator.getType());
+
+            if (!MatchResult.NONE.equals(matchResult)) {
+              mapping = new PropertyMappingImpl(propertyNameInfo.getSourceProperties(),
+                  propertyNameInfo.getDestinationProperties(), false);
+
+              if (MatchResult.FULL.equals(matchResult)
+                  || (configuration.isFullTypeMatchingRequired() && converterStore.hasFullMatch(
+                      accessor.getType(), destinationMutator.getType()))) {
+                mappings.add(mapping);
+                doneMatching = matchingStrategy.isExact();
+              } else if (!configuration.isFullTypeMatchingRequired()) {
+                partiallyMatchedMappings.add(mapping);
               }
             }
           }
@@ -225,13 +271,14 @@ class ImplicitMappingBuilder<S, D> {
 
       if (!doneMatching
           && !hitSameSourceType
-          && Types.mightContainsProperties(accessor.getType())) {
-        if (accessor instanceof ValueReaderPropertyInfo)
-          matchSource(accessor.getTypeInfo(configuration), destinationMutator, false);
-        else if (!sourceTypes.contains(accessor.getType()))
-          matchSource(accessor.getTypeInfo(configuration), destinationMutator, false);
-        else
-          matchSource(accessor.getTypeInfo(configuration), destinationMutator, true);
+          && Types.mightContainsProperties(accessor.getType())
+          && isWithinDepth(propertyNameInfo.getSourceProperties(), maxSourceDepth)
+          && (accessor instanceof ValueReaderPropertyInfo || isTraversable(accessor.getType()))) {
+        TypeInfo<?> accessorTypeInfo = accessor.getTypeInfo(configuration);
+        if (isHierarchyMatchable(accessorTypeInfo))
+          matchSource(accessorTypeInfo, destinationMutator,
+              !(accessor instanceof ValueReaderPropertyInfo)
+                  && sourceTypes.contains(accessor.getType()));
       }
 
       propertyNameInfo.popSource();
@@ -244,6 +291,182 @@ class ImplicitMappingBuilder<S, D> {
       sourceTypes.remove(sourceTypeInfo.getType());
   }
 
+  /**
+   * Returns whether the properties of the last of the {@code properties} can be matched without the
+   * path exceeding the {@code maxDepth}.
+   */
+  private static boolean isWithinDepth(List<PropertyInfo> properties, int maxDepth) {
+    return maxDepth == 0 || properties.size() < maxDepth;
+  }
+
+  /**
+   * Returns whether the properties of the {@code type} can be matched, which requires the type to
+   * belong to one of the traversal packages or their subpackages when any are configured.
+   */
+  private boolean isTraversable(Class<?> type) {
+    if (traversalPackages.isEmpty())
+      return true;
+    String typeName = type.getName();
+    for (String packageName : traversalPackages)
+      if (typeName.startsWith(packageName) && typeName.length() > packageName.length()
+          && typeName.charAt(packageName.length()) == '.')
+        return true;
+    return false;
+  }
+
+  /**
+   * Returns the accessors of the {@code sourceTypeInfo} to match against the current destination.
+   * <p>
+   * The strict strategy only matches a source path whose properties each have the same tokens as
+   * the destination property at the same position, so no other accessor, nor any path through it,
+   * can match. The accessors are then looked up by the tokens of the destination property at the
+   * current source depth instead of being walked. Since the skipped accessors would not have
+   * matched, and would not have affected the walk, the results are identical.
+   */
+  private Iterable<Map.Entry<String, Accessor>> accessorsToMatch(TypeInfo<?> sourceTypeInfo) {
+    if (tokenIndexes != null)
+      return tokenIndexFor(sourceTypeInfo).entries();
+    if (accessorIndex == null)
+      return sourceTypeInfo.getAccessors().entrySet();
+
+    int depth = propertyNameInfo.getSourceProperties().size();
+    List<Tokens> destinationTokens = propertyNameInfo.getDestinationPropertyTokens();
+    if (depth >= destinationTokens.size())
+      return Collections.emptyList();
+
+    Map<List<String>, List<Map.Entry<String, Accessor>>> index = accessorIndex.get(sourceTypeInfo);
+    if (index == null) {
+      index = new HashMap<List<String>, List<Map.Entry<String, Accessor>>>();
+      for (Map.Entry<String, Accessor> entry : sourceTypeInfo.getAccessors().entrySet()) {
+        List<String> key = keyFor(propertyNameInfo.sourceTokensFor(entry.getKey(),
+            entry.getValue()));
+        List<Map.Entry<String, Accessor>> entries = index.get(key);
+        if (entries == null) {
+          entries = new ArrayList<Map.Entry<String, Accessor>>(1);
+          index.put(key, entries);
+        }
+        entries.add(entry);
+      }
+      accessorIndex.put(sourceTypeInfo, index);
+    }
+
+    List<Map.Entry<String, Accessor>> entries = index.get(keyFor(destinationTokens.get(depth)));
+    return entries == null ? Collections.<Map.Entry<String, Accessor>>emptyList() : entries;
+  }
+
+  /**
+   * Returns the positions, within the {@code sourceTypeInfo}'s accessors, of the accessors that an
+   * inexact strategy could match to the current destination, else {@code null} if any accessor
+   * could be matched. Accessors that do not share a token, or a token prefix, with the destination
+   * are never matched by the standard and loose strategies.
+   */
+  private BitSet matchableAccessors(TypeInfo<?> sourceTypeInfo) {
+    if (tokenIndexes == null)
+      return null;
+    BitSet matchable = candidates.get(sourceTypeInfo);
+    if (matchable == null) {
+      matchable = tokenIndexFor(sourceTypeInfo).candidatesFor(
+          propertyNameInfo.getDestinationPropertyTokens());
+      candidates.put(sourceTypeInfo, matchable);
+    }
+    return matchable;
+  }
+
+  /**
+   * Returns whether the accessors of the {@code sourceTypeInfo}, or of any type nested within it,
+   * could be matched to the current destination by an inexact strategy. Since no other accessor is
+   * ever matched, a hierarchy without any is not walked. Results are memoized by each TypeInfo for
+   * the destination's tokens, so that types which are nested under many source paths, or that are
+   * mapped to destinations with the same tokens by later TypeMaps, are only explored once.
+   */
+  private boolean isHierarchyMatchable(TypeInfo<?> sourceTypeInfo) {
+    if (tokenIndexes == null)
+      return true;
+    if (destinationTokens == null)
+      destinationTokens = new TypeInfoStore.DestinationTokensKey(
+          configuration.getSourceNameTokenizer(), propertyNameInfo.getDestinationPropertyTokens());
+    Boolean matchable = matchableHierarchyOf(sourceTypeInfo);
+    if (matchable == null) {
+      Map<TypeInfo<?>, Boolean> visited = new IdentityHashMap<TypeInfo<?>, Boolean>();
+      matchable = reachesMatchableAccessor(sourceTypeInfo, visited);
+      if (matchable)
+        setMatchableHierarchy(sourceTypeInfo, true);
+      else
+        // Every visited type only reaches other visited types
+        for (TypeInfo<?> typeInfo : visited.keySet())
+          setMatchableHierarchy(typeInfo, false);
+    }
+    return matchable;
+  }
+
+  private boolean reachesMatchableAccessor(TypeInfo<?> typeInfo, Map<TypeInfo<?>, Boolean> visited) {
+    if (visited.put(typeInfo, Boolean.TRUE) != null)
+      return false;
+    Boolean matchable = matchableHierarchyOf(typeInfo);
+    if (matchable != null)
+      return matchable;
+    if (!matchableAccessors(typeInfo).isEmpty())
+      return true;
+
+    List<TypeInfo<?>> nested = nestedTypeInfosOf(typeInfo);
+    if (nested == null)
+      return true;
+    for (TypeInfo<?> nestedTypeInfo : nested)
+      if (reachesMatchableAccessor(nestedTypeInfo, visited))
+        return true;
+    return false;
+  }
+
+  private Boolean matchableHierarchyOf(TypeInfo<?> typeInfo) {
+    return typeInfo instanceof TypeInfoImpl
+        ? ((TypeInfoImpl<?>) typeInfo).getMatchableHierarchy(destinationTokens) : null;
+  }
+
+  private void setMatchableHierarchy(TypeInfo<?> typeInfo, boolean matchable) {
+    if (typeInfo instanceof TypeInfoImpl)
+      ((TypeInfoImpl<?>) typeInfo).setMatchableHierarchy(destinationTokens, matchable);
+  }
+
+  /**
+   * Returns the TypeInfos of the types nested within the {@code typeInfo}, resolving them once per
+   * build, else {@code null} if they are not known.
+   */
+  private List<TypeInfo<?>> nestedTypeInfosOf(TypeInfo<?> typeInfo) {
+    if (!(typeInfo instanceof TypeInfoImpl))
+      return null;
+    List<TypeInfo<?>> nested = nestedTypeInfos.get(typeInfo);
+    if (nested == null && !nestedTypeInfos.containsKey(typeInfo)) {
+      nested = ((TypeInfoImpl<?>) typeInfo).getNestedTypeInfos();
+      nestedTypeInfos.put(typeInfo, nested);
+    }
+    return nested;
+  }
+
+  private AccessorTokenIndex tokenIndexFor(TypeInfo<?> sourceTypeInfo) {
+    AccessorTokenIndex tokenIndex = tokenIndexes.get(sourceTypeInfo);
+    if (tokenIndex == null) {
+      tokenIndex = new AccessorTokenIndex(sourceTypeInfo, propertyNameInfo);
+      tokenIndexes.put(sourceTypeInfo, tokenIndex);
+    }
+    return tokenIndex;
+  }
+
+  /**
+   * Returns a key for the {@code tokens} under which tokens that are equal ignoring case are
+   * equal, as the strict strategy compares them.
+   */
+  private static List<String> keyFor(Tokens tokens) {
+    String[] key = new String[tokens.size()];
+    for (int i = 0; i < key.length; i++) {
+      String token = tokens.token(i);
+      char[] chars = new char[token.length()];
+      for (int j = 0; j < chars.length; j++)
+        chars[j] = Character.toLowerCase(Character.toUpperCase(token.charAt(j)));
+      key[i] = new String(chars);
+    }
+    return Arrays.asList(key);
+  }
+
   /**
    * Disambiguates the captured mappings by looking for the mapping with property tokens that most
    * closely match the destination. Match closeness is calculated as the total number of matched
@@ -277,10 +500,10 @@ class ImplicitMappingBuilder<S, D> {
     for (int i = 0; i < mapping.getSourceProperties().size(); i++) {
       PropertyInfo source = mapping.getSourceProperties().get(i);
       NameableType nameableType = NameableType.forPropertyType(source.getPropertyType());
-      String[] tokens = configuration.getSourceNameTokenizer().tokenize(source.getName(),
-          nameableType);
-      for (int j = 0; j < tokens.length; j++)
-        sourceTokensMap.put(Pair.of(i, j), tokens[j]);
+      Tokens tokens = configuration.typeInfoStore.tokensFor(configuration.getSourceNameTokenizer(),
+          source.getName(), nameableType);
+      for (int j = 0; j < tokens.size(); j++)
+        sourceTokensMap.put(Pair.of(i, j), tokens.token(j));
     }
     return new SourceTokensMatcher(sourceTokensMap);
   }
@@ -332,7 +555,7 @@ class ImplicitMappingBuilder<S, D> {
    */
   class DestTokenIterator implements Iterator<String> {
     private PropertyMappingImpl mapping;
-    private String[] destTokens = new String[0];
+    private Tokens destTokens = Tokens.of();
     private int total = 0;
     private int destIndex = -1;
     private int pos = -1;
@@ -344,20 +567,20 @@ class ImplicitMappingBuilder<S, D> {
     @Override
     public boolean hasNext() {
       return destIndex < mapping.getDestinationProperties().size() - 1
-          || pos < destTokens.length - 1;
+          || pos < destTokens.size() - 1;
     }
 
     @Override
     public String next() {
-      if (pos == destTokens.length - 1) {
+      if (pos == destTokens.size() - 1) {
         PropertyInfo dest = mapping.getDestinationProperties().get(++destIndex);
         NameableType nameableType = NameableType.forPropertyType(dest.getPropertyType());
-        destTokens = configuration.getDestinationNameTokenizer().tokenize(dest.getName(),
-            nameableType);
+        destTokens = configuration.typeInfoStore.tokensFor(
+            configuration.getDestinationNameTokenizer(), dest.getName(), nameableType);
         pos = -1;
       }
       total++;
-      return destTokens[++pos];
+      return destTokens.token(++pos);
     }
 
     @Override
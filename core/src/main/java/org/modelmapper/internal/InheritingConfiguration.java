@@ -15,7 +15,16 @@
  */
 package org.modelmapper.internal;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.modelmapper.Condition;
 import org.modelmapper.Provider;
@@ -32,6 +41,7 @@ import org.modelmapper.internal.converter.NonMergingCollectionConverter;
 import org.modelmapper.internal.util.Assert;
 import org.modelmapper.internal.valueaccess.ValueAccessStore;
 import org.modelmapper.internal.valuemutate.ValueMutateStore;
+import org.modelmapper.spi.CompilationListener;
 import org.modelmapper.spi.ConditionalConverter;
 import org.modelmapper.spi.MatchingStrategy;
 import org.modelmapper.spi.NameTokenizer;
@@ -51,6 +61,12 @@ public class InheritingConfiguration implements Configuration {
   public final ConverterStore converterStore;
   public final ValueAccessStore valueAccessStore;
   public final ValueMutateStore valueMutateStore;
+  public final TypeInfoStore typeInfoStore;
+  /** Types whose values are copied directly when they are mapped to the same type */
+  private final Set<Class<?>> immutableTypes;
+  /** Counts changes to the fingerprinted settings of the configurations that share these stores */
+  private final AtomicInteger changes;
+  private volatile Fingerprint fingerprint;
   private NameTokenizer destinationNameTokenizer;
   private NameTransformer destinationNameTransformer;
   private NamingConvention destinationNamingConvention;
@@ -69,8 +85,63 @@ public class InheritingConfiguration implements Configuration {
   private Boolean implicitMatchingEnabled;
   private Boolean preferNestedProperties;
   private Boolean skipNullEnabled;
+  private Boolean treeMappingEnabled;
   private Boolean collectionsMergeEnabled;
   private Boolean useOSGiClassLoaderBridging;
+  private Boolean compiledMappingEnabled;
+  private Boolean generatedMappersEnabled;
+  private Executor parallelMappingExecutor;
+  /** Whether parallel mapping was disabled by setting a {@code null} executor */
+  private Boolean parallelMappingDisabled;
+  private Integer parallelMappingThreshold;
+  private Integer compilationThreshold;
+  private Integer maxSourceDepth;
+  private Integer maxDestinationDepth;
+  private List<String> traversalPackages;
+  private Executor compilationExecutor;
+  private CompilationListener compilationListener;
+
+  /**
+   * The settings that equality is determined from, resolved against the parent configuration.
+   * Fingerprints are immutable and are recomputed when the settings of this configuration, or of any
+   * configuration sharing its stores, have changed.
+   */
+  private static final class Fingerprint {
+    private final int changes;
+    private final NameTransformer sourceNameTransformer;
+    private final NameTransformer destinationNameTransformer;
+    private final AccessLevel fieldAccessLevel;
+    private final AccessLevel methodAccessLevel;
+    private final boolean fieldMatchingEnabled;
+    private final int hashCode;
+
+    Fingerprint(int changes, InheritingConfiguration configuration) {
+      this.changes = changes;
+      sourceNameTransformer = configuration.getSourceNameTransformer();
+      destinationNameTransformer = configuration.getDestinationNameTransformer();
+      fieldAccessLevel = configuration.getFieldAccessLevel();
+      methodAccessLevel = configuration.getMethodAccessLevel();
+      fieldMatchingEnabled = configuration.isFieldMatchingEnabled();
+
+      final int prime = 31;
+      int result = 1;
+      result = prime * result + sourceNameTransformer.hashCode();
+      result = prime * result + destinationNameTransformer.hashCode();
+      result = prime * result + fieldAccessLevel.hashCode();
+      result = prime * result + methodAccessLevel.hashCode();
+      result = prime * result + (fieldMatchingEnabled ? 1231 : 1237);
+      hashCode = result;
+    }
+
+    boolean matches(Fingerprint other) {
+      return this == other || hashCode == other.hashCode
+          && fieldAccessLevel == other.fieldAccessLevel
+          && methodAccessLevel == other.methodAccessLevel
+          && fieldMatchingEnabled == other.fieldMatchingEnabled
+          && sourceNameTransformer.equals(other.sourceNameTransformer)
+          && destinationNameTransformer.equals(other.destinationNameTransformer);
+    }
+  }
 
   /**
    * Creates an initial InheritingConfiguration.
@@ -81,6 +152,9 @@ public class InheritingConfiguration implements Configuration {
     converterStore = new ConverterStore();
     valueAccessStore = new ValueAccessStore();
     valueMutateStore = new ValueMutateStore();
+    typeInfoStore = new TypeInfoStore();
+    changes = new AtomicInteger();
+    immutableTypes = defaultImmutableTypes();
     sourceNameTokenizer = NameTokenizers.CAMEL_CASE;
     destinationNameTokenizer = NameTokenizers.CAMEL_CASE;
     sourceNamingConvention = NamingConventions.JAVABEANS_ACCESSOR;
@@ -96,8 +170,16 @@ public class InheritingConfiguration implements Configuration {
     implicitMatchingEnabled = Boolean.TRUE;
     preferNestedProperties = Boolean.TRUE;
     skipNullEnabled = Boolean.FALSE;
+    treeMappingEnabled = Boolean.FALSE;
     useOSGiClassLoaderBridging = Boolean.FALSE;
     collectionsMergeEnabled = Boolean.TRUE;
+    compiledMappingEnabled = Boolean.FALSE;
+    generatedMappersEnabled = Boolean.FALSE;
+    parallelMappingThreshold = 1000;
+    compilationThreshold = 0;
+    maxSourceDepth = 0;
+    maxDestinationDepth = 0;
+    traversalPackages = Collections.emptyList();
   }
 
   /**
@@ -109,6 +191,9 @@ public class InheritingConfiguration implements Configuration {
     converterStore = source.converterStore;
     valueAccessStore = source.valueAccessStore;
     valueMutateStore = source.valueMutateStore;
+    typeInfoStore = source.typeInfoStore;
+    changes = source.changes;
+    immutableTypes = source.immutableTypes;
 
     if (inherit) {
       this.parent = source;
@@ -131,7 +216,19 @@ public class InheritingConfiguration implements Configuration {
       implicitMatchingEnabled = source.implicitMatchingEnabled;
       preferNestedProperties = source.preferNestedProperties;
       skipNullEnabled = source.skipNullEnabled;
+      treeMappingEnabled = source.treeMappingEnabled;
       collectionsMergeEnabled = source.collectionsMergeEnabled;
+      compiledMappingEnabled = source.compiledMappingEnabled;
+      generatedMappersEnabled = source.generatedMappersEnabled;
+      parallelMappingExecutor = source.parallelMappingExecutor;
+      parallelMappingDisabled = source.parallelMappingDisabled;
+      parallelMappingThreshold = source.parallelMappingThreshold;
+      compilationThreshold = source.compilationThreshold;
+      maxSourceDepth = source.maxSourceDepth;
+      maxDestinationDepth = source.maxDestinationDepth;
+      traversalPackages = source.traversalPackages;
+      compilationExecutor = source.compilationExecutor;
+      compilationListener = source.compilationListener;
     }
   }
 
@@ -164,17 +261,7 @@ public class InheritingConfiguration implements Configuration {
       return false;
 
     InheritingConfiguration other = (InheritingConfiguration) obj;
-    if (!getSourceNameTransformer().equals(other.getSourceNameTransformer()))
-      return false;
-    if (!getDestinationNameTransformer().equals(other.getDestinationNameTransformer()))
-      return false;
-    if (getFieldAccessLevel() != other.getFieldAccessLevel())
-      return false;
-    if (getMethodAccessLevel() != other.getMethodAccessLevel())
-      return false;
-    if (isFieldMatchingEnabled() != other.isFieldMatchingEnabled())
-      return false;
-    return true;
+    return fingerprint().matches(other.fingerprint());
   }
 
   @Override
@@ -182,6 +269,11 @@ public class InheritingConfiguration implements Configuration {
     return converterStore.getConverters();
   }
 
+  @Override
+  public Set<Class<?>> getImmutableTypes() {
+    return immutableTypes;
+  }
+
   @Override
   public NameTokenizer getDestinationNameTokenizer() {
     return destinationNameTokenizer == null
@@ -233,6 +325,71 @@ public class InheritingConfiguration implements Configuration {
     return propertyCondition;
   }
 
+  @Override
+  public Executor getParallelMappingExecutor() {
+    if (parallelMappingDisabled == null && parent != null)
+      return parent.getParallelMappingExecutor();
+    return parallelMappingExecutor;
+  }
+
+  @Override
+  public int getParallelMappingThreshold() {
+    return parallelMappingThreshold == null
+        ? Assert.notNull(parent).getParallelMappingThreshold()
+        : parallelMappingThreshold;
+  }
+
+  @Override
+  public int getCompilationThreshold() {
+    return compilationThreshold == null
+        ? Assert.notNull(parent).getCompilationThreshold()
+        : compilationThreshold;
+  }
+
+  @Override
+  public Executor getCompilationExecutor() {
+    if (parent != null)
+      return compilationExecutor == null
+          ? parent.getCompilationExecutor()
+          : compilationExecutor;
+    return compilationExecutor;
+  }
+
+  @Override
+  public CompilationListener getCompilationListener() {
+    if (parent != null)
+      return compilationListener == null
+          ? parent.getCompilationListener()
+          : compilationListener;
+    return compilationListener;
+  }
+
+  @Override
+  public int getTypeInfoCacheLimit() {
+    return typeInfoStore.getLimit();
+  }
+
+  @Override
+  public int getMaxSourceDepth() {
+    return maxSourceDepth == null
+        ? Assert.notNull(parent).getMaxSourceDepth()
+        : maxSourceDepth;
+  }
+
+  @Override
+  public int getMaxDestinationDepth() {
+    return maxDestinationDepth == null
+        ? Assert.notNull(parent).getMaxDestinationDepth()
+        : maxDestinationDepth;
+  }
+
+  @Override
+  public List<String> getTraversalPackages() {
+    return traversalPackages == null
+        ? Assert.notNull(parent).getTraversalPackages()
+        : traversalPackages;
+  }
+
   @Override
   public ResolveSourceValueInterceptor<?> getResolveSourceValueInterceptor() {
     if (parent != null)
@@ -288,14 +445,7 @@ public class InheritingConfiguration implements Configuration {
    */
   @Override
   public int hashCode() {
-    final int prime = 31;
-    int result = 1;
-    result = prime * result + getSourceNameTransformer().hashCode();
-    result = prime * result + getDestinationNameTransformer().hashCode();
-    result = prime * result + getFieldAccessLevel().hashCode();
-    result = prime * result + getMethodAccessLevel().hashCode();
-    result = prime * result + (isFieldMatchingEnabled() ? 1231 : 1237);
-    return result;
+    return fingerprint().hashCode;
   }
 
   @Override
@@ -340,6 +490,13 @@ public class InheritingConfiguration implements Configuration {
         : skipNullEnabled;
   }
 
+  @Override
+  public boolean isTreeMappingEnabled() {
+    return treeMappingEnabled == null
+        ? Assert.notNull(parent).isTreeMappingEnabled()
+        : treeMappingEnabled;
+  }
+
   @Override
   public boolean isUseOSGiClassLoaderBridging() {
     return useOSGiClassLoaderBridging == null
@@ -347,6 +504,20 @@ public class InheritingConfiguration implements Configuration {
         : useOSGiClassLoaderBridging;
   }
 
+  @Override
+  public boolean isCompiledMappingEnabled() {
+    return compiledMappingEnabled == null
+        ? Assert.notNull(parent).isCompiledMappingEnabled()
+        : compiledMappingEnabled;
+  }
+
+  @Override
+  public boolean isGeneratedMappersEnabled() {
+    return generatedMappersEnabled == null
+        ? Assert.notNull(parent).isGeneratedMappersEnabled()
+        : generatedMappersEnabled;
+  }
+
   @Override
   public boolean isDeepCopyEnabled() {
     return !converterStore.hasConverter(AssignableConverter.class);
@@ -372,6 +543,7 @@ public class InheritingConfiguration implements Configuration {
   @Override
   public Configuration setDestinationNameTransformer(NameTransformer nameTransformer) {
     destinationNameTransformer = Assert.notNull(nameTransformer);
+    changes.incrementAndGet();
     return this;
   }
 
@@ -384,12 +556,14 @@ public class InheritingConfiguration implements Configuration {
   @Override
   public Configuration setFieldAccessLevel(AccessLevel accessLevel) {
     fieldAccessLevel = Assert.notNull(accessLevel);
+    changes.incrementAndGet();
     return this;
   }
 
   @Override
   public Configuration setFieldMatchingEnabled(boolean enabled) {
     fieldMatchingEnabled = enabled;
+    changes.incrementAndGet();
     return this;
   }
 
@@ -417,6 +591,12 @@ public class InheritingConfiguration implements Configuration {
     return this;
   }
 
+  @Override
+  public Configuration setTreeMappingEnabled(boolean enabled) {
+    treeMappingEnabled = enabled;
+    return this;
+  }
+
   @Override
   public Configuration setDeepCopyEnabled(boolean enabled) {
     if (enabled && converterStore.hasConverter(AssignableConverter.class))
@@ -445,6 +625,7 @@ public class InheritingConfiguration implements Configuration {
   @Override
   public Configuration setMethodAccessLevel(AccessLevel accessLevel) {
     methodAccessLevel = Assert.notNull(accessLevel);
+    changes.incrementAndGet();
     return this;
   }
 
@@ -454,6 +635,69 @@ public class InheritingConfiguration implements Configuration {
     return this;
   }
 
+  @Override
+  public Configuration setParallelMappingExecutor(Executor executor) {
+    parallelMappingExecutor = executor;
+    parallelMappingDisabled = executor == null;
+    return this;
+  }
+
+  @Override
+  public Configuration setParallelMappingThreshold(int threshold) {
+    Assert.isTrue(threshold > 0, "threshold must be greater than 0");
+    parallelMappingThreshold = threshold;
+    return this;
+  }
+
+  @Override
+  public Configuration setCompilationThreshold(int threshold) {
+    Assert.isTrue(threshold >= 0, "threshold must not be negative");
+    compilationThreshold = threshold;
+    return this;
+  }
+
+  @Override
+  public Configuration setCompilationExecutor(Executor executor) {
+    compilationExecutor = Assert.notNull(executor);
+    return this;
+  }
+
+  @Override
+  public Configuration setCompilationListener(CompilationListener listener) {
+    compilationListener = Assert.notNull(listener);
+    return this;
+  }
+
+  @Override
+  public Configuration setTypeInfoCacheLimit(int limit) {
+    Assert.isTrue(limit >= 0, "limit must not be negative");
+    typeInfoStore.setLimit(limit);
+    return this;
+  }
+
+  @Override
+  public Configuration setMaxSourceDepth(int depth) {
+    Assert.isTrue(depth >= 0, "depth must not be negative");
+    maxSourceDepth = depth;
+    return this;
+  }
+
+  @Override
+  public Configuration setMaxDestinationDepth(int depth) {
+    Assert.isTrue(depth >= 0, "depth must not be negative");
+    maxDestinationDepth = depth;
+    return this;
+  }
+
+  @Override
+  public Configuration setTraversalPackages(String... packageNames) {
+    Assert.notNull(packageNames, "packageNames");
+    for (String packageName : packageNames)
+      Assert.notNull(packageName, "packageName");
+    traversalPackages = Collections.unmodifiableList(Arrays.asList(packageNames.clone()));
+    return this;
+  }
+
   @Override
   public Configuration setResolveSourceValueInterceptor(ResolveSourceValueInterceptor<?> condition) {
     resolveSourceValueInterceptor = Assert.notNull(condition);
@@ -475,6 +719,7 @@ public class InheritingConfiguration implements Configuration {
   @Override
   public Configuration setSourceNameTransformer(NameTransformer nameTransformer) {
     sourceNameTransformer = Assert.notNull(nameTransformer);
+    changes.incrementAndGet();
     return this;
   }
 
@@ -489,4 +734,45 @@ public class InheritingConfiguration implements Configuration {
     this.useOSGiClassLoaderBridging = useOSGiClassLoaderBridging;
     return this;
   }
+
+  @Override
+  public Configuration setCompiledMappingEnabled(boolean enabled) {
+    compiledMappingEnabled = enabled;
+    return this;
+  }
+
+  @Override
+  public Configuration setGeneratedMappersEnabled(boolean enabled) {
+    generatedMappersEnabled = enabled;
+    return this;
+  }
+
+  /**
+   * Returns the fingerprint of this configuration, recomputing it if any configuration sharing
+   * these stores has changed since it was computed.
+   */
+  private Fingerprint fingerprint() {
+    int current = changes.get();
+    Fingerprint result = fingerprint;
+    if (result == null || result.changes != current)
+      fingerprint = result = new Fingerprint(current, this);
+    return result;
+  }
+
+  private static Set<Class<?>> defaultImmutableTypes() {
+    Set<Class<?>> types = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+    Collections.<Class<?>>addAll(types, String.class, Boolean.class, Character.class, Byte.class,
+        Short.class, Integer.class, Long.class, Float.class, Double.class, BigDecimal.class,
+        BigInteger.class, UUID.class);
+    for (String name : new String[] { "Duration", "Instant", "LocalDate", "LocalDateTime",
+        "LocalTime", "MonthDay", "OffsetDateTime", "OffsetTime", "Period", "Year", "YearMonth",
+        "ZonedDateTime", "ZoneOffset" }) {
+      try {
+        types.add(Class.forName("java.time." + name));
+      } catch (ClassNotFoundException ignore) {
+        // Running on a JRE without java.time
+      }
+    }
+    return types;
+  }
 }
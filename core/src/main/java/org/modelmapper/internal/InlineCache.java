@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import org.modelmapper.Converter;
+import org.modelmapper.TypeMap;
+
+/**
+ * Remembers how sources of up to two runtime classes were resolved at a single mapping site, so
+ * that the proxy, TypeMap and Converter lookups for a source are made once per runtime class rather
+ * than for every mapping. Entries are only used while the TypeMapStore and converters are unchanged
+ * since the entry was resolved.
+ */
+final class InlineCache {
+  private volatile Entry first;
+  private volatile Entry second;
+
+  /**
+   * How sources of a runtime class are mapped.
+   */
+  static final class Entry {
+    final Class<?> runtimeType;
+    /** The runtime type with any proxy removed */
+    final Class<Object> sourceType;
+    final String typeMapName;
+    /** The TypeMap that applies, else {@code null} */
+    final TypeMap<Object, Object> typeMap;
+    /** The converter that applies when no TypeMap does, else {@code null} */
+    final Converter<Object, Object> converter;
+    final int typeMapStoreVersion;
+    final int converterStoreVersion;
+
+    Entry(Class<?> runtimeType, Class<Object> sourceType, String typeMapName,
+        TypeMap<Object, Object> typeMap, Converter<Object, Object> converter,
+        int typeMapStoreVersion, int converterStoreVersion) {
+      this.runtimeType = runtimeType;
+      this.sourceType = sourceType;
+      this.typeMapName = typeMapName;
+      this.typeMap = typeMap;
+      this.converter = converter;
+      this.typeMapStoreVersion = typeMapStoreVersion;
+      this.converterStoreVersion = converterStoreVersion;
+    }
+
+    boolean matches(Class<?> runtimeType, String typeMapName, int typeMapStoreVersion,
+        int converterStoreVersion) {
+      return this.runtimeType == runtimeType && this.typeMapStoreVersion == typeMapStoreVersion
+          && this.converterStoreVersion == converterStoreVersion
+          && (this.typeMapName == null ? typeMapName == null : this.typeMapName.equals(typeMapName));
+    }
+  }
+
+  /**
+   * Returns the entry for the {@code runtimeType} and {@code typeMapName} that was resolved at the
+   * given store versions, else {@code null}.
+   */
+  Entry get(Class<?> runtimeType, String typeMapName, int typeMapStoreVersion,
+      int converterStoreVersion) {
+    Entry entry = first;
+    if (entry != null
+        && entry.matches(runtimeType, typeMapName, typeMapStoreVersion, converterStoreVersion))
+      return entry;
+    entry = second;
+    if (entry != null
+        && entry.matches(runtimeType, typeMapName, typeMapStoreVersion, converterStoreVersion))
+      return entry;
+    return null;
+  }
+
+  /**
+   * Adds the {@code entry}, evicting the least recently added entry.
+   */
+  void put(Entry entry) {
+    second = first;
+    first = entry;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates instances of a type through its no-argument constructor. The constructor is resolved and
+ * made accessible once, and is invoked through a Supplier from the {@link LambdaFactory} where one
+ * can be created. A type that cannot be resolved retains the failure, which is thrown for every
+ * instance that is requested rather than resolving the type again.
+ */
+final class Instantiator {
+  private final Constructor<?> constructor;
+  private final LambdaFactory.Supplier supplier;
+  private final Exception failure;
+
+  private Instantiator(Constructor<?> constructor, LambdaFactory.Supplier supplier,
+      Exception failure) {
+    this.constructor = constructor;
+    this.supplier = supplier;
+    this.failure = failure;
+  }
+
+  /**
+   * Returns an Instantiator for the {@code type}.
+   */
+  static Instantiator forType(Class<?> type) {
+    try {
+      Constructor<?> constructor = type.getDeclaredConstructor();
+      if (!constructor.isAccessible())
+        constructor.setAccessible(true);
+      return new Instantiator(constructor, LambdaFactory.supplierFor(constructor), null);
+    } catch (Exception e) {
+      return new Instantiator(null, null, e);
+    }
+  }
+
+  /**
+   * Returns a new instance of the type.
+   *
+   * @throws Exception if the type cannot be instantiated, with failures of the constructor itself
+   *           wrapped in an InvocationTargetException
+   */
+  Object newInstance() throws Exception {
+    if (supplier != null) {
+      try {
+        return supplier.get();
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+    }
+
+    if (failure != null)
+      throw failure;
+    return constructor.newInstance();
+  }
+}
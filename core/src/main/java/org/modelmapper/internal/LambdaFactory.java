@@ -0,0 +1,373 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.modelmapper.internal.util.Primitives;
+
+/**
+ * Creates Getters, Setters and Suppliers that call accessor and mutator methods and no-argument
+ * constructors through classes spun by
+ * {@code java.lang.invoke.LambdaMetafactory}, avoiding the access checks and argument arrays of
+ * reflective invocation. The {@code java.lang.invoke} API is used reflectively so that ModelMapper
+ * can still run where it is not available, in which case, or when a method cannot be bound on the
+ * running JVM, {@code null} is returned and the caller falls back to reflection.
+ * <p>
+ * Lambdas are shared JVM wide, so that a member is bound once for all ModelMappers rather than
+ * spinning a class for it in each of them. The cache is keyed weakly by the member's declaring
+ * class and holds lambdas weakly, since a lambda's class references the declaring class' loader
+ * and would otherwise keep it from being unloaded.
+ */
+final class LambdaFactory {
+  /** Lambdas by declaring class, then by lambda type and member signature */
+  private static final Map<Class<?>, Map<String, WeakReference<Object>>> CACHE = new WeakHashMap<Class<?>, Map<String, WeakReference<Object>>>();
+  private static final Object LOOKUP;
+  /** MethodHandles.privateLookupIn, which is only available as of Java 9 */
+  private static final Method PRIVATE_LOOKUP_IN;
+  private static final Method UNREFLECT;
+  private static final Method UNREFLECT_CONSTRUCTOR;
+  private static final Method METHOD_TYPE;
+  private static final Method METAFACTORY;
+  private static final Method GET_TARGET;
+  private static final Method INVOKE_WITH_ARGUMENTS;
+
+  public interface Getter {
+    Object get(Object subject);
+  }
+
+  public interface Setter {
+    void set(Object subject, Object value);
+  }
+
+  public interface Supplier {
+    Object get();
+  }
+
+  /*
+   * Getters and Setters of primitive values, named after the primitive accessors of Field, which
+   * read and write a property's value without boxing it. Setters may be bound to mutators of a
+   * wider type, in which case the value is widened. They declare Exception so that fields can be
+   * accessed through them as well.
+   */
+
+  public interface BooleanGetter {
+    boolean getBoolean(Object subject) throws Exception;
+  }
+
+  public interface CharGetter {
+    char getChar(Object subject) throws Exception;
+  }
+
+  public interface ByteGetter {
+    byte getByte(Object subject) throws Exception;
+  }
+
+  public interface ShortGetter {
+    short getShort(Object subject) throws Exception;
+  }
+
+  public interface IntGetter {
+    int getInt(Object subject) throws Exception;
+  }
+
+  public interface LongGetter {
+    long getLong(Object subject) throws Exception;
+  }
+
+  public interface FloatGetter {
+    float getFloat(Object subject) throws Exception;
+  }
+
+  public interface DoubleGetter {
+    double getDouble(Object subject) throws Exception;
+  }
+
+  public interface BooleanSetter {
+    void setBoolean(Object subject, boolean value) throws Exception;
+  }
+
+  public interface CharSetter {
+    void setChar(Object subject, char value) throws Exception;
+  }
+
+  public interface ByteSetter {
+    void setByte(Object subject, byte value) throws Exception;
+  }
+
+  public interface ShortSetter {
+    void setShort(Object subject, short value) throws Exception;
+  }
+
+  public interface IntSetter {
+    void setInt(Object subject, int value) throws Exception;
+  }
+
+  public interface LongSetter {
+    void setLong(Object subject, long value) throws Exception;
+  }
+
+  public interface FloatSetter {
+    void setFloat(Object subject, float value) throws Exception;
+  }
+
+  public interface DoubleSetter {
+    void setDouble(Object subject, double value) throws Exception;
+  }
+
+  static {
+    Object lookup = null;
+    Method privateLookupIn = null;
+    Method unreflect = null;
+    Method unreflectConstructor = null;
+    Method methodType = null;
+    Method metafactory = null;
+    Method getTarget = null;
+    Method invokeWithArguments = null;
+    try {
+      Class<?> methodHandlesClass = Class.forName("java.lang.invoke.MethodHandles");
+      Class<?> lookupClass = Class.forName("java.lang.invoke.MethodHandles$Lookup");
+      Class<?> methodTypeClass = Class.forName("java.lang.invoke.MethodType");
+      Class<?> methodHandleClass = Class.forName("java.lang.invoke.MethodHandle");
+      lookup = methodHandlesClass.getMethod("lookup").invoke(null);
+      unreflect = lookupClass.getMethod("unreflect", Method.class);
+      unreflectConstructor = lookupClass.getMethod("unreflectConstructor", Constructor.class);
+      methodType = methodTypeClass.getMethod("methodType", Class.class, Class[].class);
+      metafactory = Class.forName("java.lang.invoke.LambdaMetafactory").getMethod("metafactory",
+          lookupClass, String.class, methodTypeClass, methodTypeClass, methodHandleClass,
+          methodTypeClass);
+      getTarget = Class.forName("java.lang.invoke.CallSite").getMethod("getTarget");
+      invokeWithArguments = methodHandleClass.getMethod("invokeWithArguments", Object[].class);
+      try {
+        privateLookupIn = methodHandlesClass.getMethod("privateLookupIn", Class.class, lookupClass);
+      } catch (NoSuchMethodException ignore) {
+      }
+    } catch (Exception e) {
+      lookup = null;
+    }
+    LOOKUP = lookup;
+    PRIVATE_LOOKUP_IN = privateLookupIn;
+    UNREFLECT = unreflect;
+    UNREFLECT_CONSTRUCTOR = unreflectConstructor;
+    METHOD_TYPE = methodType;
+    METAFACTORY = metafactory;
+    GET_TARGET = getTarget;
+    INVOKE_WITH_ARGUMENTS = invokeWithArguments;
+  }
+
+  private LambdaFactory() {
+  }
+
+  /**
+   * Returns a Getter that invokes the accessor {@code method}, else {@code null} if none can be
+   * created.
+   */
+  static Getter getterFor(Method method) {
+    return (Getter) create(method, Getter.class, "get", new Class<?>[] { Object.class },
+        Object.class, new Class<?>[] { method.getDeclaringClass() },
+        Primitives.wrapperFor(method.getReturnType()));
+  }
+
+  /**
+   * Returns a Setter that invokes the mutator {@code method}, else {@code null} if none can be
+   * created. The Setter of a method with a primitive parameter unboxes values of the parameter's
+   * wrapper type only, and does not widen values of other wrapper types.
+   */
+  static Setter setterFor(Method method) {
+    return (Setter) create(method, Setter.class, "set",
+        new Class<?>[] { Object.class, Object.class }, Void.TYPE,
+        new Class<?>[] { method.getDeclaringClass(),
+            Primitives.wrapperFor(method.getParameterTypes()[0]) }, Void.TYPE);
+  }
+
+  /**
+   * Returns a primitive Getter, such as an {@link IntGetter} for an {@code int} accessor, that
+   * invokes the accessor {@code method}, else {@code null} if the method does not return a primitive
+   * or no Getter can be created.
+   */
+  static Object primitiveGetterFor(Method method) {
+    Class<?> type = method.getReturnType();
+    Class<?> getterType = primitiveLambdaType(type, true);
+    if (getterType == null)
+      return null;
+    return create(method, getterType, "get" + primitiveName(type), new Class<?>[] { Object.class },
+        type, new Class<?>[] { method.getDeclaringClass() }, type);
+  }
+
+  /**
+   * Returns a primitive Setter of the {@code valueType}, such as a {@link LongSetter} for a
+   * {@code long} value, that invokes the mutator {@code method}, else {@code null} if the method
+   * does not accept a primitive that the {@code valueType} widens to or no Setter can be created.
+   */
+  static Object primitiveSetterFor(Method method, Class<?> valueType) {
+    Class<?> setterType = primitiveLambdaType(valueType, false);
+    if (setterType == null || !Primitives.isWidening(valueType, method.getParameterTypes()[0]))
+      return null;
+    return create(method, setterType, "set" + primitiveName(valueType),
+        new Class<?>[] { Object.class, valueType }, Void.TYPE,
+        new Class<?>[] { method.getDeclaringClass(), valueType }, Void.TYPE);
+  }
+
+  /**
+   * Returns a Supplier that invokes the no-argument {@code constructor}, else {@code null} if none
+   * can be created.
+   */
+  static Supplier supplierFor(Constructor<?> constructor) {
+    return (Supplier) create(constructor, Supplier.class, "get", new Class<?>[0], Object.class,
+        new Class<?>[0], constructor.getDeclaringClass());
+  }
+
+  private static Class<?> primitiveLambdaType(Class<?> type, boolean getter) {
+    if (type == Boolean.TYPE)
+      return getter ? BooleanGetter.class : BooleanSetter.class;
+    if (type == Character.TYPE)
+      return getter ? CharGetter.class : CharSetter.class;
+    if (type == Byte.TYPE)
+      return getter ? ByteGetter.class : ByteSetter.class;
+    if (type == Short.TYPE)
+      return getter ? ShortGetter.class : ShortSetter.class;
+    if (type == Integer.TYPE)
+      return getter ? IntGetter.class : IntSetter.class;
+    if (type == Long.TYPE)
+      return getter ? LongGetter.class : LongSetter.class;
+    if (type == Float.TYPE)
+      return getter ? FloatGetter.class : FloatSetter.class;
+    if (type == Double.TYPE)
+      return getter ? DoubleGetter.class : DoubleSetter.class;
+    return null;
+  }
+
+  /**
+   * Returns the name that the primitive {@code type} has in accessors such as {@code getInt}.
+   */
+  private static String primitiveName(Class<?> type) {
+    if (type == Integer.TYPE)
+      return "Int";
+    if (type == Character.TYPE)
+      return "Char";
+    String name = type.getName();
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /**
+   * Returns the lambda of the {@code lambdaType} that calls the {@code member}, which is either a
+   * method or a constructor, creating it if it is not cached.
+   */
+  private static Object create(Member member, Class<?> lambdaType, String lambdaMethodName,
+      Class<?>[] parameterTypes, Class<?> returnType, Class<?>[] instantiatedParameterTypes,
+      Class<?> instantiatedReturnType) {
+    Class<?> declaringClass = member.getDeclaringClass();
+    String key = lambdaType.getName() + ' ' + member;
+    synchronized (CACHE) {
+      Object lambda = cached(declaringClass, key);
+      if (lambda != null)
+        return lambda;
+    }
+
+    Object lambda = spin(member, lambdaType, lambdaMethodName, parameterTypes, returnType,
+        instantiatedParameterTypes, instantiatedReturnType);
+    if (lambda == null)
+      return null;
+
+    synchronized (CACHE) {
+      Object existing = cached(declaringClass, key);
+      if (existing != null)
+        return existing;
+      Map<String, WeakReference<Object>> lambdas = CACHE.get(declaringClass);
+      if (lambdas == null) {
+        lambdas = new HashMap<String, WeakReference<Object>>();
+        CACHE.put(declaringClass, lambdas);
+      }
+      lambdas.put(key, new WeakReference<Object>(lambda));
+      return lambda;
+    }
+  }
+
+  private static Object cached(Class<?> declaringClass, String key) {
+    Map<String, WeakReference<Object>> lambdas = CACHE.get(declaringClass);
+    WeakReference<Object> lambdaRef = lambdas == null ? null : lambdas.get(key);
+    return lambdaRef == null ? null : lambdaRef.get();
+  }
+
+  /**
+   * Creates a lambda of the {@code lambdaType} that calls the {@code member}, which is either a
+   * method or a constructor.
+   */
+  private static Object spin(Member member, Class<?> lambdaType, String lambdaMethodName,
+      Class<?>[] parameterTypes, Class<?> returnType, Class<?>[] instantiatedParameterTypes,
+      Class<?> instantiatedReturnType) {
+    try {
+      Object lookup = lookupFor(member);
+      if (lookup == null)
+        return null;
+
+      Object methodHandle = member instanceof Method ? UNREFLECT.invoke(lookup, member)
+          : UNREFLECT_CONSTRUCTOR.invoke(lookup, member);
+      Object callSite = METAFACTORY.invoke(null, lookup, lambdaMethodName,
+          METHOD_TYPE.invoke(null, lambdaType, new Class<?>[0]),
+          METHOD_TYPE.invoke(null, returnType, parameterTypes), methodHandle,
+          METHOD_TYPE.invoke(null, instantiatedReturnType, instantiatedParameterTypes));
+      return INVOKE_WITH_ARGUMENTS.invoke(GET_TARGET.invoke(callSite), (Object) new Object[0]);
+    } catch (Throwable t) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns a lookup that lambdas calling the {@code member} can be defined with, else
+   * {@code null}. Where privateLookupIn is available, lambdas are defined in the member's declaring
+   * class, else they are defined in this class and can only call public members of public types
+   * that are visible to ModelMapper.
+   */
+  private static Object lookupFor(Member member) throws Exception {
+    if (LOOKUP == null)
+      return null;
+    Class<?> declaringClass = member.getDeclaringClass();
+    if (PRIVATE_LOOKUP_IN != null)
+      return PRIVATE_LOOKUP_IN.invoke(null, declaringClass, LOOKUP);
+
+    if (!Modifier.isPublic(member.getModifiers()) || !isPublicAndVisible(declaringClass))
+      return null;
+    Class<?>[] memberParameterTypes = member instanceof Method
+        ? ((Method) member).getParameterTypes()
+        : ((Constructor<?>) member).getParameterTypes();
+    for (Class<?> parameterType : memberParameterTypes)
+      if (!isPublicAndVisible(parameterType))
+        return null;
+    return LOOKUP;
+  }
+
+  private static boolean isPublicAndVisible(Class<?> type) {
+    while (type.isArray())
+      type = type.getComponentType();
+    if (type.isPrimitive())
+      return true;
+    if (!Modifier.isPublic(type.getModifiers()))
+      return false;
+    try {
+      return Class.forName(type.getName(), false, LambdaFactory.class.getClassLoader()) == type;
+    } catch (Throwable t) {
+      return false;
+    }
+  }
+}
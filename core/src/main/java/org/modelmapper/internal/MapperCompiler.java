@@ -0,0 +1,516 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import org.modelmapper.internal.converter.ConverterStore;
+import org.modelmapper.internal.util.Primitives;
+import org.modelmapper.spi.Mapping;
+import org.modelmapper.spi.PropertyInfo;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Compiles TypeMaps into {@link CompiledMapper} classes that read and write each mapped property
+ * directly rather than through reflection and the MappingEngine.
+ * <p>
+ * A TypeMap is only compiled when every one of its mappings is a plain property transfer: a chain
+ * of accessible source fields or getters ending in a primitive, primitive wrapper, String or enum
+ * value, which is copied, boxed, unboxed or widened into a single accessible destination field or
+ * setter, and for which no condition, converter, provider or user defined TypeMap applies. Since
+ * the transferred values are immutable, the generated code produces the same destination as the
+ * MappingEngine would. TypeMaps that cannot be compiled are left to the MappingEngine.
+ * <p>
+ * Generated classes are cached by destination type and by the transfers they perform, so that
+ * equivalent TypeMaps of any ModelMapper, and TypeMaps recompiled to an earlier shape, share one
+ * class rather than each defining a class that cannot be unloaded until the destination's class
+ * loader is. Classes are held weakly, since their class loader holds them for as long as it lives.
+ */
+final class MapperCompiler implements Opcodes {
+  private static final ByteBuddy BYTEBUDDY = new ByteBuddy(ClassFileVersion.JAVA_V6);
+  private static final String CLASS_NAME_SUFFIX = "$$CompiledMapper$$";
+  private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+  /** Mapper classes by destination type, then by the signature of their transfers */
+  private static final Map<Class<?>, Map<String, WeakReference<Class<? extends CompiledMapper>>>> MAPPER_TYPES = new WeakHashMap<Class<?>, Map<String, WeakReference<Class<? extends CompiledMapper>>>>();
+
+  /** Local variable slots of the generated map(Object, Object, boolean) method */
+  private static final int SOURCE = 1;
+  private static final int DESTINATION = 2;
+  private static final int SKIP_NULL = 3;
+  private static final int RECEIVER = 4;
+  private static final int VALUE = 5;
+  private static final int MAX_LOCALS = 7;
+  private static final int MAX_STACK = 4;
+
+  private MapperCompiler() {
+  }
+
+  /**
+   * Returns the compiled mapper for the {@code typeMap}, else {@code null} if the {@code typeMap}
+   * cannot be compiled.
+   */
+  static Compiled compile(TypeMapImpl<?, ?> typeMap) {
+    Class<?> destinationType = typeMap.getDestinationType();
+    InheritingConfiguration configuration = typeMap.configuration;
+    if (configuration.isUseOSGiClassLoaderBridging() || !canDefineMapperFor(destinationType)
+        || typeMap.getPropertyCondition() != null || typeMap.getPropertyConverter() != null
+        || typeMap.getPropertyProvider() != null)
+      return null;
+
+    List<Transfer> transfers = new ArrayList<Transfer>();
+    for (Mapping mapping : typeMap.getMappings()) {
+      if (mapping.getCondition() == null && mapping.isSkipped())
+        continue;
+      Transfer transfer = transferFor(mapping, destinationType, configuration);
+      if (transfer == null)
+        return null;
+      transfers.add(transfer);
+    }
+
+    try {
+      return new Compiled(mapperTypeFor(destinationType, transfers).newInstance(), transfers);
+    } catch (Exception e) {
+      return null;
+    } catch (LinkageError e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the mapper class that performs the {@code transfers} for the {@code destinationType},
+   * defining it if it is not cached. Classes are defined outside of the cache's lock, so that
+   * compilations do not wait on each other or hold the lock while class loader locks are taken.
+   * Should two threads define a class for the same transfers, the class cached first is used.
+   */
+  private static Class<? extends CompiledMapper> mapperTypeFor(Class<?> destinationType,
+      List<Transfer> transfers) {
+    StringBuilder signature = new StringBuilder();
+    for (Transfer transfer : transfers)
+      transfer.appendSignature(signature);
+    String key = signature.toString();
+
+    synchronized (MAPPER_TYPES) {
+      Class<? extends CompiledMapper> mapperType = cachedMapperType(destinationType, key);
+      if (mapperType != null)
+        return mapperType;
+    }
+
+    Class<? extends CompiledMapper> mapperType = BYTEBUDDY.subclass(CompiledMapper.class)
+        .name(destinationType.getName() + CLASS_NAME_SUFFIX + CLASS_COUNTER.incrementAndGet())
+        .method(named("map"))
+        .intercept(new Implementation.Simple(new MapMethodAppender(transfers)))
+        .make()
+        .load(destinationType.getClassLoader(),
+            ProxyFactory.chooseClassLoadingStrategy(destinationType))
+        .getLoaded();
+
+    synchronized (MAPPER_TYPES) {
+      Class<? extends CompiledMapper> existing = cachedMapperType(destinationType, key);
+      if (existing != null)
+        return existing;
+      Map<String, WeakReference<Class<? extends CompiledMapper>>> mapperTypes = MAPPER_TYPES.get(destinationType);
+      if (mapperTypes == null) {
+        mapperTypes = new HashMap<String, WeakReference<Class<? extends CompiledMapper>>>();
+        MAPPER_TYPES.put(destinationType, mapperTypes);
+      }
+      mapperTypes.put(key, new WeakReference<Class<? extends CompiledMapper>>(mapperType));
+      return mapperType;
+    }
+  }
+
+  private static Class<? extends CompiledMapper> cachedMapperType(Class<?> destinationType,
+      String key) {
+    Map<String, WeakReference<Class<? extends CompiledMapper>>> mapperTypes = MAPPER_TYPES.get(destinationType);
+    WeakReference<Class<? extends CompiledMapper>> mapperTypeRef = mapperTypes == null ? null
+        : mapperTypes.get(key);
+    return mapperTypeRef == null ? null : mapperTypeRef.get();
+  }
+
+  /**
+   * A CompiledMapper along with the transfers it was generated for.
+   */
+  static final class Compiled {
+    final CompiledMapper mapper;
+    private final List<Transfer> transfers;
+
+    Compiled(CompiledMapper mapper, List<Transfer> transfers) {
+      this.mapper = mapper;
+      this.transfers = transfers;
+    }
+
+    /**
+     * Returns whether every value transferred by the mapper is still converted as is for the
+     * {@code configuration}, in which case the mapper remains valid after TypeMaps are added to
+     * the configuration's TypeMapStore.
+     */
+    boolean isConvertedAsIs(InheritingConfiguration configuration) {
+      for (Transfer transfer : transfers)
+        if (!MapperCompiler.isConvertedAsIs(transfer.sourceType, transfer.destinationType,
+            configuration))
+          return false;
+      return true;
+    }
+  }
+
+  private static Transfer transferFor(Mapping mapping, Class<?> destinationType,
+      InheritingConfiguration configuration) {
+    if (!(mapping instanceof PropertyMappingImpl) || mapping.getCondition() != null
+        || mapping.getConverter() != null || mapping.getProvider() != null
+        || mapping.getDestinationProperties().size() != 1)
+      return null;
+
+    Transfer transfer = new Transfer();
+    for (PropertyInfo accessor : ((PropertyMappingImpl) mapping).getSourceProperties()) {
+      Property read = propertyFor(accessor, destinationType);
+      if (read == null)
+        return null;
+      transfer.reads.add(read);
+    }
+
+    transfer.write = propertyFor(mapping.getLastDestinationProperty(), destinationType);
+    if (transfer.write == null || transfer.write.member instanceof Field
+        && Modifier.isFinal(transfer.write.member.getModifiers()))
+      return null;
+
+    Property lastRead = transfer.reads.get(transfer.reads.size() - 1);
+    transfer.sourceType = lastRead.type;
+    transfer.destinationType = transfer.write.type;
+    if (!isTransferable(transfer.sourceType, transfer.destinationType)
+        || !isAccessible(transfer.sourceType, destinationType)
+        || !isAccessible(transfer.destinationType, destinationType)
+        || !isConvertedAsIs(transfer.sourceType, transfer.destinationType, configuration))
+      return null;
+    return transfer;
+  }
+
+  /**
+   * Returns the Property for the {@code propertyInfo}, else {@code null} if the member behind the
+   * {@code propertyInfo} cannot be accessed from a class defined in the package of the
+   * {@code destinationType}.
+   */
+  private static Property propertyFor(PropertyInfo propertyInfo, Class<?> destinationType) {
+    if (!(propertyInfo instanceof PropertyInfoImpl.FieldPropertyInfo
+        || propertyInfo instanceof PropertyInfoImpl.MethodAccessor
+        || propertyInfo instanceof PropertyInfoImpl.MethodMutator))
+      return null;
+
+    Member member = propertyInfo.getMember();
+    int modifiers = member.getModifiers();
+    Class<?> declaringType = member.getDeclaringClass();
+    if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers)
+        || !Modifier.isPublic(modifiers) && !isSamePackage(declaringType, destinationType))
+      return null;
+
+    Class<?> owner = null;
+    if (isAccessible(declaringType, destinationType))
+      owner = declaringType;
+    else if (declaringType.isAssignableFrom(propertyInfo.getInitialType())
+        && isAccessible(propertyInfo.getInitialType(), destinationType))
+      owner = propertyInfo.getInitialType();
+    return owner == null ? null : new Property(owner, member, propertyInfo.getType());
+  }
+
+  /**
+   * Returns whether a value of {@code sourceType} can be transferred to {@code destinationType} by
+   * a copy, a boxing or unboxing conversion, or a widening primitive conversion.
+   */
+  private static boolean isTransferable(Class<?> sourceType, Class<?> destinationType) {
+    if (!isImmutable(sourceType) || !isImmutable(destinationType))
+      return false;
+    if (sourceType.equals(destinationType))
+      return true;
+
+    Class<?> sourcePrimitive = primitiveFor(sourceType);
+    Class<?> destinationPrimitive = primitiveFor(destinationType);
+    return sourcePrimitive != null && destinationPrimitive != null
+        && Primitives.isWidening(sourcePrimitive, destinationPrimitive);
+  }
+
+  /**
+   * Returns whether the MappingEngine would convert values of {@code sourceType} to
+   * {@code destinationType} using a built-in converter rather than a TypeMap or a user defined
+   * converter, in which case the value is transferred as is.
+   */
+  private static boolean isConvertedAsIs(Class<?> sourceType, Class<?> destinationType,
+      InheritingConfiguration configuration) {
+    Class<?> runtimeSourceType = Primitives.wrapperFor(sourceType);
+    ConverterStore converterStore = configuration.converterStore;
+    return configuration.typeMapStore.get(runtimeSourceType, destinationType, null) == null
+        && ConverterStore.isBuiltIn(converterStore.getFirstSupported(runtimeSourceType, destinationType))
+        && ConverterStore.isBuiltIn(converterStore.getFirstSupported(sourceType, destinationType));
+  }
+
+  private static boolean isImmutable(Class<?> type) {
+    return type.isPrimitive() && type != Void.TYPE || Primitives.isPrimitiveWrapper(type)
+        || type == String.class || type.isEnum();
+  }
+
+  private static Class<?> primitiveFor(Class<?> type) {
+    return type.isPrimitive() ? type : Primitives.primitiveFor(type);
+  }
+
+  /**
+   * Returns whether a class can be defined in the {@code type}'s package and class loader that
+   * implements CompiledMapper.
+   */
+  private static boolean canDefineMapperFor(Class<?> type) {
+    ClassLoader classLoader = type.getClassLoader();
+    return classLoader != null && !type.getName().startsWith("java.")
+        && isVisible(CompiledMapper.class, classLoader);
+  }
+
+  /**
+   * Returns whether the {@code type} is accessible from a class defined in the package and class
+   * loader of the {@code destinationType}.
+   */
+  private static boolean isAccessible(Class<?> type, Class<?> destinationType) {
+    if (type.isPrimitive())
+      return true;
+    if (type.isArray())
+      return false;
+    if (Modifier.isPublic(type.getModifiers()))
+      return isVisible(type, destinationType.getClassLoader());
+    return isSamePackage(type, destinationType);
+  }
+
+  private static boolean isVisible(Class<?> type, ClassLoader classLoader) {
+    try {
+      return Class.forName(type.getName(), false, classLoader) == type;
+    } catch (Exception e) {
+      return false;
+    } catch (LinkageError e) {
+      return false;
+    }
+  }
+
+  private static boolean isSamePackage(Class<?> type, Class<?> otherType) {
+    return type.getClassLoader() == otherType.getClassLoader()
+        && packageNameFor(type).equals(packageNameFor(otherType));
+  }
+
+  private static String packageNameFor(Class<?> type) {
+    String name = type.getName();
+    int index = name.lastIndexOf('.');
+    return index == -1 ? "" : name.substring(0, index);
+  }
+
+  /**
+   * An accessible member along with the type through which it is accessed and its resolved type.
+   */
+  private static final class Property {
+    final Class<?> owner;
+    final Member member;
+    final Class<?> type;
+
+    Property(Class<?> owner, Member member, Class<?> type) {
+      this.owner = owner;
+      this.member = member;
+      this.type = type;
+    }
+
+    void appendSignature(StringBuilder signature) {
+      signature.append(owner.getName()).append(' ').append(member).append(' ')
+          .append(type.getName());
+    }
+
+    /** Reads the property from the receiver on top of the stack. */
+    void read(MethodVisitor mv) {
+      mv.visitTypeInsn(CHECKCAST, Type.getInternalName(owner));
+      if (member instanceof Field) {
+        Field field = (Field) member;
+        mv.visitFieldInsn(GETFIELD, Type.getInternalName(owner), field.getName(),
+            Type.getDescriptor(field.getType()));
+      } else
+        invoke(mv, (Method) member);
+
+      Class<?> erasedType = member instanceof Field ? ((Field) member).getType()
+          : ((Method) member).getReturnType();
+      if (!type.isPrimitive() && !type.equals(erasedType))
+        mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+    }
+
+    /** Casts the receiver on top of the stack so that the property can be written. */
+    void prepareWrite(MethodVisitor mv) {
+      mv.visitTypeInsn(CHECKCAST, Type.getInternalName(owner));
+    }
+
+    /** Writes the value on top of the stack to the receiver below it. */
+    void write(MethodVisitor mv) {
+      if (member instanceof Field) {
+        Field field = (Field) member;
+        mv.visitFieldInsn(PUTFIELD, Type.getInternalName(owner), field.getName(),
+            Type.getDescriptor(field.getType()));
+      } else {
+        Method method = (Method) member;
+        invoke(mv, method);
+        Class<?> returnType = method.getReturnType();
+        if (returnType != Void.TYPE)
+          mv.visitInsn(Type.getType(returnType).getSize() == 2 ? POP2 : POP);
+      }
+    }
+
+    private void invoke(MethodVisitor mv, Method method) {
+      mv.visitMethodInsn(owner.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL,
+          Type.getInternalName(owner), method.getName(), Type.getMethodDescriptor(method),
+          owner.isInterface());
+    }
+  }
+
+  /**
+   * Transfers the value at the end of a chain of source properties to a destination property.
+   */
+  private static final class Transfer {
+    final List<Property> reads = new ArrayList<Property>();
+    Property write;
+    Class<?> sourceType;
+    Class<?> destinationType;
+
+    /** Appends a signature that identifies the code emitted for the transfer. */
+    void appendSignature(StringBuilder signature) {
+      for (Property read : reads) {
+        read.appendSignature(signature);
+        signature.append(", ");
+      }
+      signature.append("-> ");
+      write.appendSignature(signature);
+      signature.append("; ");
+    }
+
+    void emit(MethodVisitor mv) {
+      Label nullValue = new Label();
+      Label end = new Label();
+      boolean nullable = false;
+
+      mv.visitVarInsn(ALOAD, SOURCE);
+      for (int i = 0; i < reads.size(); i++) {
+        reads.get(i).read(mv);
+        if (i < reads.size() - 1) {
+          mv.visitVarInsn(ASTORE, RECEIVER);
+          mv.visitVarInsn(ALOAD, RECEIVER);
+          mv.visitJumpInsn(IFNULL, nullValue);
+          mv.visitVarInsn(ALOAD, RECEIVER);
+          nullable = true;
+        }
+      }
+
+      Type valueType = Type.getType(sourceType);
+      mv.visitVarInsn(valueType.getOpcode(ISTORE), VALUE);
+      if (!sourceType.isPrimitive()) {
+        mv.visitVarInsn(ALOAD, VALUE);
+        mv.visitJumpInsn(IFNULL, nullValue);
+        nullable = true;
+      }
+
+      mv.visitVarInsn(ALOAD, DESTINATION);
+      write.prepareWrite(mv);
+      mv.visitVarInsn(valueType.getOpcode(ILOAD), VALUE);
+      convert(mv);
+      write.write(mv);
+
+      if (nullable) {
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(nullValue);
+        mv.visitVarInsn(ILOAD, SKIP_NULL);
+        mv.visitJumpInsn(IFNE, end);
+        mv.visitVarInsn(ALOAD, DESTINATION);
+        write.prepareWrite(mv);
+        pushDefaultValue(mv);
+        write.write(mv);
+        mv.visitLabel(end);
+      }
+    }
+
+    /** Converts the source value on top of the stack to the destination type. */
+    private void convert(MethodVisitor mv) {
+      if (sourceType.equals(destinationType))
+        return;
+
+      Class<?> sourcePrimitive = primitiveFor(sourceType);
+      Class<?> destinationPrimitive = primitiveFor(destinationType);
+      if (!sourceType.isPrimitive())
+        mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(sourceType),
+            sourcePrimitive.getName() + "Value", "()" + Type.getDescriptor(sourcePrimitive), false);
+
+      if (!sourcePrimitive.equals(destinationPrimitive)) {
+        if (sourcePrimitive == Long.TYPE)
+          mv.visitInsn(destinationPrimitive == Float.TYPE ? L2F : L2D);
+        else if (sourcePrimitive == Float.TYPE)
+          mv.visitInsn(F2D);
+        else if (destinationPrimitive == Long.TYPE)
+          mv.visitInsn(I2L);
+        else if (destinationPrimitive == Float.TYPE)
+          mv.visitInsn(I2F);
+        else if (destinationPrimitive == Double.TYPE)
+          mv.visitInsn(I2D);
+      }
+
+      if (!destinationType.isPrimitive())
+        mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(destinationType), "valueOf",
+            "(" + Type.getDescriptor(destinationPrimitive) + ")"
+                + Type.getDescriptor(destinationType), false);
+    }
+
+    /** Pushes the value that the MappingEngine sets for a null source value. */
+    private void pushDefaultValue(MethodVisitor mv) {
+      if (!destinationType.isPrimitive())
+        mv.visitInsn(ACONST_NULL);
+      else if (destinationType == Long.TYPE)
+        mv.visitInsn(LCONST_0);
+      else if (destinationType == Float.TYPE)
+        mv.visitInsn(FCONST_0);
+      else if (destinationType == Double.TYPE)
+        mv.visitInsn(DCONST_0);
+      else
+        mv.visitInsn(ICONST_0);
+    }
+  }
+
+  private static final class MapMethodAppender implements ByteCodeAppender {
+    private final List<Transfer> transfers;
+
+    MapMethodAppender(List<Transfer> transfers) {
+      this.transfers = transfers;
+    }
+
+    @Override
+    public Size apply(MethodVisitor mv, Implementation.Context context,
+        MethodDescription instrumentedMethod) {
+      for (Transfer transfer : transfers)
+        transfer.emit(mv);
+      mv.visitInsn(RETURN);
+      return new Size(MAX_STACK, MAX_LOCALS);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.List;
+
+import org.modelmapper.ConfigurationException;
+import org.modelmapper.Converter;
+import org.modelmapper.Mapper;
+import org.modelmapper.TypeMap;
+import org.modelmapper.TypeToken;
+import org.modelmapper.internal.util.Assert;
+import org.modelmapper.internal.util.Types;
+
+/**
+ * Mapper implementation that is bound to the TypeMap or Converter resolved for its types. Sources
+ * or destinations of other types than the resolved ones are mapped as
+ * {@link org.modelmapper.ModelMapper#map(Object, Class)} would map them, unless the mapper was
+ * obtained from a TypeMap, in which case that TypeMap is always used.
+ */
+final class MapperImpl<S, D> implements Mapper<S, D> {
+  private final MappingEngineImpl engine;
+  private final Class<S> sourceType;
+  private final Class<D> destinationType;
+  private final TypeToken<D> destinationTypeToken;
+  private final String typeMapName;
+  /** TypeMap that applies to the types, else {@code null} */
+  private final TypeMap<S, D> typeMap;
+  /** Converter that applies to the types when no TypeMap does, else {@code null} */
+  private final Converter<S, D> converter;
+  /** Whether the typeMap is used regardless of the types of sources and destinations */
+  private final boolean typeMapFixed;
+
+  MapperImpl(MappingEngineImpl engine, Class<S> sourceType, Class<D> destinationType,
+      String typeMapName, TypeMap<S, D> typeMap, Converter<S, D> converter) {
+    this(engine, sourceType, destinationType, typeMapName, typeMap, converter, false);
+  }
+
+  MapperImpl(MappingEngineImpl engine, TypeMap<S, D> typeMap) {
+    this(engine, typeMap.getSourceType(), typeMap.getDestinationType(), typeMap.getName(),
+        typeMap, null, true);
+  }
+
+  private MapperImpl(MappingEngineImpl engine, Class<S> sourceType, Class<D> destinationType,
+      String typeMapName, TypeMap<S, D> typeMap, Converter<S, D> converter, boolean typeMapFixed) {
+    this.engine = engine;
+    this.sourceType = sourceType;
+    this.destinationType = destinationType;
+    this.destinationTypeToken = TypeToken.of(destinationType);
+    this.typeMapName = typeMapName;
+    this.typeMap = typeMap;
+    this.converter = converter;
+    this.typeMapFixed = typeMapFixed;
+  }
+
+  @Override
+  public Class<S> getSourceType() {
+    return sourceType;
+  }
+
+  @Override
+  public Class<D> getDestinationType() {
+    return destinationType;
+  }
+
+  @Override
+  public D map(S source) {
+    Assert.notNull(source, "source");
+    Class<S> actualSourceType = Types.deProxy(source.getClass());
+    if ((typeMap == null && converter == null)
+        || (!typeMapFixed && actualSourceType != sourceType))
+      return engine.map(source, actualSourceType, null, destinationTypeToken, typeMapName);
+
+    MappingContextImpl<S, D> context = new MappingContextImpl<S, D>(source, actualSourceType,
+        null, destinationType, null, typeMapName, engine);
+    return map(context);
+  }
+
+  @Override
+  public void map(S source, D destination) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destination, "destination");
+    Class<S> actualSourceType = Types.deProxy(source.getClass());
+    Class<D> actualDestinationType = Types.deProxy(destination.getClass());
+    if (typeMap == null || (!typeMapFixed
+        && (actualSourceType != sourceType || actualDestinationType != destinationType))) {
+      engine.map(source, actualSourceType, destination, TypeToken.of(actualDestinationType),
+          typeMapName);
+      return;
+    }
+
+    MappingContextImpl<S, D> context = new MappingContextImpl<S, D>(source, actualSourceType,
+        destination, destinationType, null, typeMapName, engine);
+    map(context);
+  }
+
+  @Override
+  public List<D> mapAll(Iterable<? extends S> source) {
+    Assert.notNull(source, "source");
+    return engine.mapAll(source, destinationTypeToken, typeMapName, sourceType, typeMap,
+        typeMapFixed);
+  }
+
+  private D map(MappingContextImpl<S, D> context) {
+    D result = null;
+    try {
+      result = typeMap != null ? engine.typeMap(context, typeMap)
+          : engine.convert(context, converter);
+      context.setDestination(result, true);
+    } catch (ConfigurationException e) {
+      throw e;
+    } catch (ErrorsException e) {
+      throw context.errors.toMappingException();
+    } catch (Throwable t) {
+      context.errors.errorMapping(context.getSourceType(), destinationType, t);
+    }
+
+    context.errors.throwMappingExceptionIfErrorsExist();
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Mapper[%s -> %s]", sourceType.getSimpleName(),
+        destinationType.getSimpleName());
+  }
+}
@@ -17,7 +17,6 @@ package org.modelmapper.internal;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
@@ -43,12 +42,25 @@ import org.modelmapper.spi.MappingEngine;
  * @author Jonathan Halterman
  */
 public class MappingContextImpl<S, D> implements MappingContext<S, D>, ProvisionRequest<D> {
-  /** Caches previously mapped destination objects by path. */
-  final Map<String, Object> destinationCache;
-  /** Tracks destination objects for each source. Used for circular mapping. */
+  /**
+   * Whether shared source references are reported when tree mapping is enabled, which they are
+   * when assertions are enabled.
+   */
+  private static final boolean CHECK_TREES;
+  /** Caches previously mapped destination objects by path. Created lazily. */
+  private Map<String, Object> destinationCache;
+  /**
+   * Tracks destination objects for each source. Used for circular mapping. {@code null} when tree
+   * mapping is enabled.
+   */
   final Map<Object, Object> sourceToDestination;
-  /** Tracks intermediate destination objects on the path to the destination */
-  final Map<String, Object> intermediateDestinations;
+  /**
+   * Tracks the sources that were mapped via a TypeMap when tree mapping is enabled and checked,
+   * else {@code null}.
+   */
+  private final Map<Object, Object> mappedSources;
+  /** Tracks intermediate destination objects on the path to the destination. Created lazily. */
+  private Map<String, Object> intermediateDestinations;
   final Errors errors;
   private final MappingContextImpl<?, ?> parent;
   private D destination;
@@ -61,12 +73,20 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
   private boolean providedDestination;
   private MappingImpl mapping;
   private final MappingEngineImpl mappingEngine;
-  private final S source;
-  private final Class<S> sourceType;
+  private S source;
+  private Class<S> sourceType;
   private final SourceChain parentSource;
   private TypeMap<S, D> typeMap;
-  /** Tracks destination hierarchy paths that were shaded by a condition */
-  private final List<String> shadedPaths;
+  /** Tracks destination hierarchy paths that were shaded by a condition. Created lazily. */
+  private PathTrie shadedPaths;
+  /** The context whose destinationCache and shadedPaths are used by this context */
+  private final MappingContextImpl<?, ?> valuesContext;
+
+  static {
+    boolean checkTrees = false;
+    assert checkTrees = true;
+    CHECK_TREES = checkTrees;
+  }
 
   /**
    * Create initial MappingContext.
@@ -86,10 +106,10 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
     providedDestination = destination != null;
     this.mappingEngine = mappingEngine;
     errors = new Errors();
-    destinationCache = new HashMap<String, Object>();
-    shadedPaths = new ArrayList<String>();
-    sourceToDestination = new IdentityHashMap<Object, Object>();
-    intermediateDestinations = new HashMap<String, Object>();
+    valuesContext = this;
+    boolean treeMapping = mappingEngine.getConfiguration().isTreeMappingEnabled();
+    sourceToDestination = treeMapping ? null : new IdentityHashMap<Object, Object>();
+    mappedSources = treeMapping && CHECK_TREES ? new IdentityHashMap<Object, Object>() : null;
   }
 
   /**
@@ -104,8 +124,11 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
     this.source = source;
     this.sourceType = sourceType;
     this.destination = destination;
-    this.destinationPath = mapping == null ? context.destinationPath : context.destinationPath
-        + mapping.getPath();
+    if (mapping == null)
+      this.destinationPath = context.destinationPath;
+    else
+      this.destinationPath = context.destinationPath.length() == 0 ? mapping.getPath()
+          : context.destinationPath.concat(mapping.getPath());
     this.destinationType = destinationType;
     this.genericDestinationType = genericDestinationType == null ? destinationType
         : genericDestinationType;
@@ -116,10 +139,61 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
     parentSource = context.parentSource;
     mappingEngine = context.mappingEngine;
     errors = context.errors;
-    destinationCache = inheritValues ? context.destinationCache : new HashMap<String, Object>();
-    shadedPaths = inheritValues ? context.shadedPaths : new ArrayList<String>();
+    valuesContext = inheritValues ? context.valuesContext : this;
     sourceToDestination = context.sourceToDestination;
-    intermediateDestinations = new HashMap<String, Object>();
+    mappedSources = context.mappedSources;
+  }
+
+  /**
+   * Create a copy of the {@code context} that shares no mutable state with it, for mapping some of
+   * the context's elements on another thread. Destinations already mapped for sources are visible
+   * to the copy, which reads them from the {@code context} without copying them, but anything the
+   * copy maps or records is not visible to the {@code context} until it is
+   * {@link #mergeTrackedSources(MappingContextImpl) merged}. The {@code context} must not be
+   * modified while the copy is in use.
+   */
+  MappingContextImpl(MappingContextImpl<S, D> context) {
+    this.parent = context.parent;
+    this.source = context.source;
+    this.sourceType = context.sourceType;
+    this.destination = context.destination;
+    this.destinationPath = context.destinationPath;
+    this.destinationType = context.destinationType;
+    this.genericDestinationType = context.genericDestinationType;
+    this.providedDestination = context.providedDestination;
+    this.typeMap = context.typeMap;
+    this.typeMapName = context.typeMapName;
+    this.mapping = context.mapping;
+    parentSource = new SourceChain(context.parentSource);
+    mappingEngine = context.mappingEngine;
+    errors = new Errors();
+    valuesContext = this;
+    if (context.valuesContext.destinationCache != null)
+      destinationCache = new HashMap<String, Object>(context.valuesContext.destinationCache);
+    if (context.valuesContext.shadedPaths != null)
+      shadedPaths = new PathTrie(context.valuesContext.shadedPaths);
+    sourceToDestination = context.sourceToDestination == null ? null
+        : new OverlayMap(context.sourceToDestination);
+    mappedSources = context.mappedSources == null ? null
+        : new OverlayMap(context.mappedSources);
+  }
+
+  /**
+   * An identity map of the entries put into it, which also reads the entries of a base map.
+   */
+  private static final class OverlayMap extends IdentityHashMap<Object, Object> {
+    private static final long serialVersionUID = 0;
+    private final Map<Object, Object> base;
+
+    OverlayMap(Map<Object, Object> base) {
+      this.base = base;
+    }
+
+    @Override
+    public Object get(Object key) {
+      Object value = super.get(key);
+      return value == null ? base.get(key) : value;
+    }
   }
 
 
@@ -247,17 +321,37 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
 
   @SuppressWarnings("unchecked")
   D destinationForSource() {
-    return (D) sourceToDestination.get(source);
+    return sourceToDestination == null ? null : (D) sourceToDestination.get(source);
+  }
+
+  /**
+   * Returns the destination that was cached for the {@code path}, else {@code null}.
+   */
+  Object cachedDestination(String path) {
+    Map<String, Object> cache = valuesContext.destinationCache;
+    return cache == null ? null : cache.get(path);
+  }
+
+  void cacheDestination(String path, Object destination) {
+    if (valuesContext.destinationCache == null)
+      valuesContext.destinationCache = new HashMap<String, Object>();
+    valuesContext.destinationCache.put(path, destination);
   }
 
   /**
    * Determines whether the {@code subPath} is shaded.
    */
   boolean isShaded(String subPath) {
-    for (String shadedPath : shadedPaths)
-      if (subPath.startsWith(shadedPath))
-        return true;
-    return false;
+    PathTrie shadedPaths = valuesContext.shadedPaths;
+    return shadedPaths != null && shadedPaths.containsPathOrParentOf(subPath);
+  }
+
+  /**
+   * Determines whether the {@code path}, any of its parent paths or any of its sub paths are shaded.
+   */
+  boolean isShadedOrHasShadedSubPaths(String path) {
+    PathTrie shadedPaths = valuesContext.shadedPaths;
+    return shadedPaths != null && shadedPaths.containsPathOrParentOrSubPathOf(path);
   }
 
   TypeMap<?, ?> parentTypeMap() {
@@ -266,8 +360,67 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
 
   void setDestination(D destination, boolean trackForSource) {
     this.destination = destination;
-    if (trackForSource && !Primitives.isPrimitiveWrapper(sourceType))
-      sourceToDestination.put(source, destination);
+    if (trackForSource && !Primitives.isPrimitiveWrapper(sourceType)) {
+      if (sourceToDestination != null)
+        sourceToDestination.put(source, destination);
+      else if (mappedSources != null && typeMap != null)
+        trackMappedSource(source, destination);
+    }
+  }
+
+  /**
+   * Merges the sources tracked by a {@link #MappingContextImpl(MappingContextImpl) copy} of this
+   * context into this context, once the copy is no longer in use. Sources that are already tracked
+   * keep their destination, as they would have if the copy's sources had been mapped by this
+   * context.
+   */
+  void mergeTrackedSources(MappingContextImpl<?, ?> copy) {
+    if (sourceToDestination != null) {
+      for (Map.Entry<Object, Object> entry : copy.sourceToDestination.entrySet())
+        if (sourceToDestination.get(entry.getKey()) == null)
+          sourceToDestination.put(entry.getKey(), entry.getValue());
+    } else if (mappedSources != null) {
+      for (Map.Entry<Object, Object> entry : copy.mappedSources.entrySet())
+        trackMappedSource(entry.getKey(), entry.getValue());
+    }
+  }
+
+  private void trackMappedSource(Object source, Object destination) {
+    Object mappedDestination = mappedSources.get(source);
+    if (mappedDestination == null)
+      mappedSources.put(source, destination);
+    else if (mappedDestination != destination)
+      errors.addMessage(
+          "Tree mapping is enabled, but %s is referenced more than once in the source graph",
+          source);
+  }
+
+  /**
+   * Resets the initial context to map the {@code source}, clearing the state of any previous
+   * mapping so that the context can be reused when mapping many sources.
+   */
+  void reset(S source, Class<S> sourceType) {
+    this.source = source;
+    this.sourceType = sourceType;
+    destination = null;
+    providedDestination = false;
+    typeMap = null;
+    parentSource.clear();
+    if (destinationCache != null)
+      destinationCache.clear();
+    if (shadedPaths != null)
+      shadedPaths.clear();
+    if (sourceToDestination != null)
+      sourceToDestination.clear();
+    if (mappedSources != null)
+      mappedSources.clear();
+    intermediateDestinations = null;
+  }
+
+  void addIntermediateDestination(String path, Object destination) {
+    if (intermediateDestinations == null)
+      intermediateDestinations = new HashMap<String, Object>();
+    intermediateDestinations.put(path, destination);
   }
 
   void addParentSource(String path, Object parentSource) {
@@ -283,7 +436,9 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
    * process.
    */
   void shadePath(String path) {
-    shadedPaths.add(path);
+    if (valuesContext.shadedPaths == null)
+      valuesContext.shadedPaths = new PathTrie();
+    valuesContext.shadedPaths.add(path);
   }
 
   Type genericDestinationPropertyType(Type type) {
@@ -314,7 +469,7 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
       String destPath = destPathBuilder.append(mutator.getName()).append('.').toString();
       Object source = parent.parentSource.getSource(destPath);
       Object next = Objects.firstNonNull(
-          Objects.callable(parent.destinationCache.get(destPath)),
+          Objects.callable(parent.cachedDestination(destPath)),
           parent.getCyclicReferenceByPath(destPath),
           parent.getDestinationValueByMemberName(current, mutator.getName()));
       if (next == null && source != null)
@@ -323,7 +478,7 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
 
       if (next != null) {
         mutator.setValue(current, next);
-        parent.destinationCache.put(destPath, next);
+        parent.cacheDestination(destPath, next);
       }
       current = next;
     }
@@ -351,7 +506,8 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
     return new Callable<Object>() {
       @Override
       public Object call() {
-        return intermediateDestinations.get(destinationPath);
+        return intermediateDestinations == null ? null
+            : intermediateDestinations.get(destinationPath);
       }
     };
   }
@@ -390,6 +546,14 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
     private final Map<String, Object> sources = new HashMap<String, Object>();
     private Object lastSource;
 
+    SourceChain() {
+    }
+
+    SourceChain(SourceChain chain) {
+      sources.putAll(chain.sources);
+      lastSource = chain.lastSource;
+    }
+
     public void addSource(String path, Object source) {
       sources.put(path, source);
       lastSource = source;
@@ -401,5 +565,10 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
         source = lastSource;
       return source;
     }
+
+    public void clear() {
+      sources.clear();
+      lastSource = null;
+    }
   }
 }
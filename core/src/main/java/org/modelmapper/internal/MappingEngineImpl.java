@@ -15,23 +15,19 @@
  */
 package org.modelmapper.internal;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.modelmapper.*;
 import org.modelmapper.internal.converter.ConverterStore;
 import org.modelmapper.internal.util.Iterables;
-import org.modelmapper.internal.util.Objects;
 import org.modelmapper.internal.util.Primitives;
 import org.modelmapper.internal.util.Types;
-import org.modelmapper.spi.ConstantMapping;
-import org.modelmapper.spi.Mapping;
 import org.modelmapper.spi.MappingContext;
 import org.modelmapper.spi.MappingEngine;
-import org.modelmapper.spi.PropertyMapping;
 
 /**
  * MappingEngine implementation that caches ConditionalConverters by source and destination type
@@ -40,8 +36,6 @@ import org.modelmapper.spi.PropertyMapping;
  * @author Jonathan Halterman
  */
 public class MappingEngineImpl implements MappingEngine {
-  /** Cache of conditional converters */
-  private final Map<TypePair<?, ?>, Converter<?, ?>> converterCache = new ConcurrentHashMap<TypePair<?, ?>, Converter<?, ?>>();
   private final InheritingConfiguration configuration;
   private final TypeMapStore typeMapStore;
   private final ConverterStore converterStore;
@@ -76,42 +70,143 @@ public class MappingEngineImpl implements MappingEngine {
     return result;
   }
 
+  /**
+   * Bulk entry point. Maps each of the {@code sources} to a new instance of the destination type,
+   * returning the results in source order.
+   */
+  public <D> List<D> mapAll(Iterable<?> sources, TypeToken<D> destinationTypeToken) {
+    List<D> destinations = sources instanceof Collection ? new ArrayList<D>(
+        ((Collection<?>) sources).size()) : new ArrayList<D>();
+    ElementMapper<D> elementMapper = new ElementMapper<D>(destinationTypeToken);
+    for (Object source : sources)
+      destinations.add(elementMapper.map(source));
+    return destinations;
+  }
+
+  /**
+   * Bulk entry point. Maps each of the {@code sources} to a new instance of the destination type,
+   * returning the results in source order. Sources of the {@code sourceType} are mapped with the
+   * {@code typeMap}, if any, as are all sources if the {@code typeMap} is fixed.
+   */
+  <S, D> List<D> mapAll(Iterable<? extends S> sources, TypeToken<D> destinationTypeToken,
+      String typeMapName, Class<S> sourceType, TypeMap<S, D> typeMap, boolean typeMapFixed) {
+    List<D> destinations = sources instanceof Collection ? new ArrayList<D>(
+        ((Collection<?>) sources).size()) : new ArrayList<D>();
+    @SuppressWarnings("unchecked")
+    ElementMapper<D> elementMapper = new ElementMapper<D>(destinationTypeToken, typeMapName,
+        typeMap == null ? null : sourceType, (TypeMap<Object, D>) typeMap, typeMapFixed);
+    for (Object source : sources)
+      destinations.add(elementMapper.map(source));
+    return destinations;
+  }
+
+  /**
+   * Returns a Mapper that is bound to the TypeMap or else the Converter that applies to the
+   * {@code sourceType} and {@code destinationType}, creating a TypeMap if neither applies. Types
+   * whose properties are read by a ValueReader are not bound, since a TypeMap for them can only be
+   * created from an actual source.
+   */
+  public <S, D> Mapper<S, D> mapperFor(Class<S> sourceType, Class<D> destinationType,
+      String typeMapName) {
+    TypeMap<S, D> typeMap = typeMapStore.get(sourceType, destinationType, typeMapName);
+    Converter<S, D> converter = null;
+    if (typeMap == null) {
+      converter = converterStore.getFirstSupported(sourceType, destinationType);
+      if (converter == null && !Primitives.isPrimitive(sourceType)
+          && !Primitives.isPrimitive(destinationType)
+          && configuration.valueAccessStore.getFirstSupportedReader(sourceType) == null)
+        typeMap = typeMapStore.getOrCreate(null, sourceType, destinationType, typeMapName, this);
+    }
+    return new MapperImpl<S, D>(this, sourceType, destinationType, typeMapName, typeMap,
+        converter);
+  }
+
+  /**
+   * Bulk entry point. Maps each of the {@code sources} to a new instance of the component type of
+   * {@code destinations}, storing the results at the same indexes of {@code destinations}.
+   */
+  public <D> void mapAll(Object[] sources, D[] destinations) {
+    @SuppressWarnings("unchecked")
+    ElementMapper<D> elementMapper = new ElementMapper<D>(
+        TypeToken.<D>of(destinations.getClass().getComponentType()));
+    for (int i = 0; i < sources.length; i++)
+      destinations[i] = elementMapper.map(sources[i]);
+  }
+
+  /**
+   * Lazy bulk entry point. Returns an Iterable whose iterators map each of the {@code sources} to a
+   * new instance of the destination type as it is iterated over.
+   */
+  public <D> Iterable<D> mapLazily(final Iterable<?> sources,
+      final TypeToken<D> destinationTypeToken) {
+    return new Iterable<D>() {
+      @Override
+      public Iterator<D> iterator() {
+        return mapLazily(sources.iterator(), destinationTypeToken);
+      }
+    };
+  }
+
+  /**
+   * Lazy bulk entry point. Returns an Iterator that maps each of the {@code sources} to a new
+   * instance of the destination type as it is iterated over.
+   */
+  public <D> Iterator<D> mapLazily(Iterator<?> sources, TypeToken<D> destinationTypeToken) {
+    return new MappingIterator<D>(sources, destinationTypeToken);
+  }
+
   /**
    * Performs mapping using a TypeMap if one exists, else a converter if one applies, else a newly
    * created TypeMap. Recursive entry point.
    */
   @Override
-  @SuppressWarnings("unchecked")
   public <S, D> D map(MappingContext<S, D> context) {
-    MappingContextImpl<S, D> contextImpl = (MappingContextImpl<S, D>) context;
+    return map((MappingContextImpl<S, D>) context, null);
+  }
+
+  /**
+   * Performs mapping as {@link #map(MappingContext)} does, using the TypeMap or converter from the
+   * {@code resolution} instead of looking them up when a {@code resolution} is given.
+   */
+  @SuppressWarnings("unchecked")
+  private <S, D> D map(MappingContextImpl<S, D> context, InlineCache.Entry resolution) {
     Class<D> destinationType = context.getDestinationType();
 
     // Resolve some circular dependencies
     if (!Iterables.isIterable(destinationType)) {
-      D circularDest = contextImpl.destinationForSource();
-      if (circularDest != null && circularDest.getClass().isAssignableFrom(contextImpl.getDestinationType()))
+      D circularDest = context.destinationForSource();
+      if (circularDest != null && circularDest.getClass().isAssignableFrom(context.getDestinationType()))
         return circularDest;
     }
 
     D destination = null;
-    TypeMap<S, D> typeMap = typeMapStore.get(context.getSourceType(), context.getDestinationType(),
-        context.getTypeMapName());
+    TypeMap<S, D> typeMap;
+    Converter<S, D> converter = null;
+    if (resolution != null) {
+      typeMap = (TypeMap<S, D>) resolution.typeMap;
+      converter = (Converter<S, D>) resolution.converter;
+    } else {
+      typeMap = typeMapStore.get(context.getSourceType(), context.getDestinationType(),
+          context.getTypeMapName());
+      if (typeMap == null)
+        converter = converterFor(context);
+    }
+
     if (typeMap != null) {
-      destination = typeMap(contextImpl, typeMap);
+      destination = typeMap(context, typeMap);
     } else {
-      Converter<S, D> converter = converterFor(context);
       if (converter != null && (context.getDestination() == null || context.getParent() != null))
         destination = convert(context, converter);
       else if (!Primitives.isPrimitive(context.getSourceType()) && !Primitives.isPrimitive(context.getDestinationType())) {
         // Call getOrCreate in case TypeMap was created concurrently
         typeMap = typeMapStore.getOrCreate(context.getSource(), context.getSourceType(),
             context.getDestinationType(), context.getTypeMapName(), this);
-        destination = typeMap(contextImpl, typeMap);
+        destination = typeMap(context, typeMap);
       } else if (context.getDestinationType().isAssignableFrom(context.getSourceType()))
         destination = (D) context.getSource();
     }
 
-    contextImpl.setDestination(destination, true);
+    context.setDestination(destination, true);
     return destination;
   }
 
@@ -142,8 +237,10 @@ public class MappingEngineImpl implements MappingEngine {
       if (converter != null)
         context.setDestination(convert(context, converter), true);
 
-      for (Mapping mapping : typeMap.getMappings())
-        propertyMap(mapping, context);
+      CompiledMapper compiledMapper = compiledMapperFor(context, typeMap);
+      if (compiledMapper == null || !mapCompiled(context, typeMap, compiledMapper))
+        for (MappingPlan.Step step : mappingPlanFor(typeMap).steps)
+          propertyMap(step, context);
 
       converter = typeMap.getPostConverter();
       if (converter != null)
@@ -153,44 +250,181 @@ public class MappingEngineImpl implements MappingEngine {
     return context.getDestination();
   }
 
+  /**
+   * Returns the CompiledMapper to map the {@code context} with, else {@code null} if the
+   * {@code typeMap}'s mappings are to be performed individually.
+   */
+  private <S, D> CompiledMapper compiledMapperFor(MappingContextImpl<S, D> context,
+      TypeMap<S, D> typeMap) {
+    if (!(typeMap instanceof TypeMapImpl) || context.getSource() == null
+        || context.getDestination() == null)
+      return null;
+    TypeMapImpl<S, D> typeMapImpl = (TypeMapImpl<S, D>) typeMap;
+    if (!typeMapImpl.configuration.isCompiledMappingEnabled()
+        || configuration.getPropertyCondition() != null || configuration.getProvider() != null
+        || configuration.getResolveSourceValueInterceptor() != null
+        || context.isShadedOrHasShadedSubPaths(context.destinationPath))
+      return null;
+    return typeMapImpl.getCompiledMapperForMapping();
+  }
+
+  /**
+   * Maps the {@code context} with the {@code compiledMapper}, returning {@code false} if the
+   * compiled mapper could not be linked, in which case the {@code typeMap} is no longer compiled.
+   */
+  private <S, D> boolean mapCompiled(MappingContextImpl<S, D> context, TypeMap<S, D> typeMap,
+      CompiledMapper compiledMapper) {
+    try {
+      compiledMapper.map(context.getSource(), context.getDestination(),
+          configuration.isSkipNullEnabled());
+      return true;
+    } catch (LinkageError e) {
+      ((TypeMapImpl<S, D>) typeMap).disableCompilation();
+      return false;
+    }
+  }
+
+  /**
+   * Returns the MappingPlan for the {@code typeMap}.
+   */
+  private MappingPlan mappingPlanFor(TypeMap<?, ?> typeMap) {
+    if (typeMap instanceof TypeMapImpl)
+      return ((TypeMapImpl<?, ?>) typeMap).getMappingPlan();
+    return new MappingPlan(typeMap, configuration, 0);
+  }
+
+  /**
+   * Returns the {@code path} relative to the {@code context}'s destination as an absolute path.
+   */
+  private static String absolutePath(MappingContextImpl<?, ?> context, String path) {
+    return context.destinationPath.length() == 0 ? path : context.destinationPath.concat(path);
+  }
+
   @SuppressWarnings("unchecked")
-  private <S, D> void propertyMap(Mapping mapping, MappingContextImpl<S, D> context) {
-    MappingImpl mappingImpl = (MappingImpl) mapping;
-    String propertyPath = context.destinationPath + mappingImpl.getPath();
+  private <S, D> void propertyMap(MappingPlan.Step step, MappingContextImpl<S, D> context) {
+    String propertyPath = absolutePath(context, step.path);
     if (context.isShaded(propertyPath))
       return;
-    if (mapping.getCondition() == null && mapping.isSkipped()) // skip()
+    if (step.mapping.getCondition() == null && step.skipped) // skip()
+      return;
+
+    if (step.primitiveTransfer != null && transferPrimitive(context, step))
+      return;
+
+    Object source = resolveSourceValue(context, step);
+    InlineCache.Entry resolution = source == null ? null
+        : resolutionFor(step, source.getClass(), context.getTypeMapName());
+    if (step.directCopy && isDirectCopy(context, step, source, resolution)) {
+      copyValue(context, step, source, propertyPath);
       return;
+    }
 
-    Object source = resolveSourceValue(context, mapping);
-    MappingContextImpl<Object, Object> propertyContext = propertyContextFor(context, source,
-        mappingImpl);
+    MappingContextImpl<Object, Object> propertyContext = propertyContextFor(context, source, step,
+        resolution);
 
-    Condition<Object, Object> condition = (Condition<Object, Object>) Objects.firstNonNull(
-        mapping.getCondition(),
-        context.getTypeMap().getPropertyCondition(),
-        configuration.getPropertyCondition());
+    Condition<Object, Object> condition = step.condition != null ? step.condition
+        : (Condition<Object, Object>) configuration.getPropertyCondition();
     if (condition != null) {
       boolean conditionIsTrue = condition.applies(propertyContext);
-      if (conditionIsTrue && mapping.isSkipped()) // when(condition).skip()
+      if (conditionIsTrue && step.skipped) // when(condition).skip()
         return;
-      else if (!conditionIsTrue && !mapping.isSkipped()) { // when(condition)
+      else if (!conditionIsTrue && !step.skipped) { // when(condition)
         context.shadePath(propertyPath);
         return;
       }
     }
-    setDestinationValue(context, propertyContext, mappingImpl);
+    setDestinationValue(context, propertyContext, step, propertyPath, resolution);
   }
 
-  @SuppressWarnings("unchecked")
-  private Object resolveSourceValue(MappingContextImpl<?, ?> context, Mapping mapping) {
+  /**
+   * Transfers the primitive value of the {@code step} from the {@code context}'s source to its
+   * destination without boxing it, returning {@code false} if the value is to be mapped through a
+   * property context instead, as it is when it could be intercepted, conditioned, provided or
+   * converted by anything other than a built-in converter that widens or copies it.
+   */
+  private boolean transferPrimitive(MappingContextImpl<?, ?> context, MappingPlan.Step step) {
     Object source = context.getSource();
-    if (mapping instanceof PropertyMappingImpl) {
-      StringBuilder destPathBuilder = new StringBuilder().append(context.destinationPath);
-      for (Accessor accessor : (List<Accessor>) ((PropertyMapping) mapping).getSourceProperties()) {
-        destPathBuilder.append(accessor.getName()).append('.');
-        source = accessor.getValue(source);
-        context.addParentSource(destPathBuilder.toString(), source);
+    Object destination = context.getDestination();
+    if (source == null || destination == null || configuration.getPropertyCondition() != null
+        || configuration.getProvider() != null
+        || configuration.getResolveSourceValueInterceptor() != null)
+      return false;
+    InlineCache.Entry resolution = resolutionFor(step, Primitives.wrapperFor(step.sourceType),
+        context.getTypeMapName());
+    if (resolution.typeMap != null || resolution.converter == null
+        || !ConverterStore.isValueCopying(resolution.converter))
+      return false;
+
+    step.primitiveTransfer.transfer(source, destination);
+    return true;
+  }
+
+  /**
+   * Returns whether the {@code source} value can be copied as is for the direct copy {@code step},
+   * which is the case when the source is of the step's type and it would otherwise be mapped by a
+   * built-in converter that returns the source value itself.
+   */
+  private boolean isDirectCopy(MappingContextImpl<?, ?> context, MappingPlan.Step step,
+      Object source, InlineCache.Entry resolution) {
+    if (configuration.getPropertyCondition() != null || configuration.getProvider() != null)
+      return false;
+    if (resolution == null)
+      resolution = resolutionFor(step, step.sourceType, context.getTypeMapName());
+    else if (resolution.runtimeType != step.sourceType
+        && resolution.runtimeType != Primitives.wrapperFor(step.sourceType))
+      return false;
+
+    return resolution.typeMap == null && resolution.converter != null
+        && ConverterStore.isValueCopying(resolution.converter);
+  }
+
+  /**
+   * Sets the {@code source} value of a direct copy {@code step} on the {@code context}'s
+   * destination, as mapping it through a property context would.
+   */
+  private void copyValue(MappingContextImpl<?, ?> context, MappingPlan.Step step, Object source,
+      String propertyPath) {
+    Object destination = context.getDestination();
+    if (destination == null)
+      return;
+    if (source != null || !configuration.isSkipNullEnabled())
+      step.mutator.setValue(destination,
+          source == null ? Primitives.defaultValue(step.mutator.getType()) : source);
+    if (source == null)
+      context.shadePath(propertyPath);
+  }
+
+  /**
+   * Returns how sources of the {@code runtimeType} are mapped by the {@code step}, resolving it
+   * through the step's inline cache.
+   */
+  private InlineCache.Entry resolutionFor(MappingPlan.Step step, Class<?> runtimeType,
+      String typeMapName) {
+    int typeMapStoreVersion = typeMapStore.version();
+    int converterStoreVersion = converterStore.version();
+    InlineCache.Entry resolution = step.inlineCache.get(runtimeType, typeMapName,
+        typeMapStoreVersion, converterStoreVersion);
+    if (resolution == null) {
+      Class<Object> sourceType = Types.deProxy(runtimeType);
+      TypeMap<Object, Object> typeMap = typeMapStore.get(sourceType, step.destinationType,
+          typeMapName);
+      Converter<Object, Object> converter = typeMap == null
+          ? converterStore.<Object, Object>getFirstSupported(sourceType, step.destinationType)
+          : null;
+      resolution = new InlineCache.Entry(runtimeType, sourceType, typeMapName, typeMap, converter,
+          typeMapStoreVersion, converterStoreVersion);
+      step.inlineCache.put(resolution);
+    }
+    return resolution;
+  }
+
+  private Object resolveSourceValue(MappingContextImpl<?, ?> context, MappingPlan.Step step) {
+    Object source = context.getSource();
+    if (step.accessors != null) {
+      for (int i = 0; i < step.accessors.length; i++) {
+        String destPath = absolutePath(context, step.accessorPaths[i]);
+        source = step.accessors[i].getValue(source);
+        context.addParentSource(destPath, source);
 
         ResolveSourceValueInterceptor<?> interceptor = configuration.getResolveSourceValueInterceptor();
 
@@ -200,14 +434,14 @@ public class MappingEngineImpl implements MappingEngine {
 
         if (source == null)
           return null;
-        if (!Iterables.isIterable(source.getClass())) {
+        if (context.sourceToDestination != null && !Iterables.isIterable(source.getClass())) {
           Object circularDest = context.sourceToDestination.get(source);
           if (circularDest != null)
-            context.intermediateDestinations.put(destPathBuilder.toString(), circularDest);
+            context.addIntermediateDestination(destPath, circularDest);
         }
       }
-    } else if (mapping instanceof ConstantMapping) {
-      source = ((ConstantMapping) mapping).getConstant();
+    } else if (step.constantMapping) {
+      source = step.constant;
       context.addParentSource("", source);
     }
     return source;
@@ -215,17 +449,14 @@ public class MappingEngineImpl implements MappingEngine {
 
   /**
    * Sets a mapped or converted destination value in the last mapped mutator for the given
-   * {@code mapping}. The final destination value is resolved by walking the {@code mapping}'s
-   * mutator chain and obtaining each destination value in the chain either from the cache, from a
-   * corresponding accessor, from a provider, or by instantiation, in that order.
+   * {@code step}. The final destination value is resolved by walking the step's mutator chain and
+   * obtaining each destination value in the chain either from the cache, from a corresponding
+   * accessor, from a provider, or by instantiation, in that order.
    */
-  @SuppressWarnings("unchecked")
   private <S, D> void setDestinationValue(MappingContextImpl<S, D> context,
-      MappingContextImpl<Object, Object> propertyContext, MappingImpl mapping) {
-    String destPath = context.destinationPath + mapping.getPath();
-    Converter<Object, Object> converter = (Converter<Object, Object>) Objects.firstNonNull(
-        mapping.getConverter(),
-        context.getTypeMap().getPropertyConverter());
+      MappingContextImpl<Object, Object> propertyContext, MappingPlan.Step step, String destPath,
+      InlineCache.Entry resolution) {
+    Converter<Object, Object> converter = step.converter;
     if (converter != null)
       context.shadePath(destPath);
 
@@ -233,8 +464,8 @@ public class MappingEngineImpl implements MappingEngine {
     if (destination == null)
       return;
 
-    Mutator mutator = (Mutator) mapping.getLastDestinationProperty();
-    Accessor accessor = PropertyInfoRegistry.accessorFor(mutator.getInitialType(), mutator.getName(), configuration);
+    Mutator mutator = step.mutator;
+    Accessor accessor = step.destinationAccessor;
     Object destinationValue = propertyContext.createDestinationViaProvider();
     if (destinationValue == null && propertyContext.isProvidedDestination() && accessor != null) {
       destinationValue = accessor.getValue(destination);
@@ -244,14 +475,14 @@ public class MappingEngineImpl implements MappingEngine {
     if (converter != null)
       destinationValue = convert(propertyContext, converter);
     else if (propertyContext.getSource() != null)
-      destinationValue = map(propertyContext);
+      destinationValue = map(propertyContext, resolution);
     else {
       converter = converterFor(propertyContext);
       if (converter != null)
         destinationValue = convert(propertyContext, converter);
     }
 
-    context.destinationCache.put(destPath, destinationValue);
+    context.cacheDestination(destPath, destinationValue);
     if (destinationValue != null || !configuration.isSkipNullEnabled())
       mutator.setValue(destination,
           destinationValue == null ? Primitives.defaultValue(mutator.getType())
@@ -265,15 +496,11 @@ public class MappingEngineImpl implements MappingEngine {
    */
   @SuppressWarnings({ "rawtypes", "unchecked" })
   private MappingContextImpl<Object, Object> propertyContextFor(MappingContextImpl<?, ?> context,
-      Object source, MappingImpl mapping) {
-    Class<?> sourceType = mapping.getSourceType();
-    if (source != null)
-      sourceType = Types.deProxy(source.getClass());
-    boolean cyclic = mapping instanceof PropertyMapping && ((PropertyMappingImpl) mapping).cyclic;
-    Class<Object> destinationType = (Class<Object>) mapping.getLastDestinationProperty().getType();
-    Type genericDestinationType = context.genericDestinationPropertyType(mapping.getLastDestinationProperty().getGenericType());
-    return new MappingContextImpl(context, source, sourceType, null, destinationType, genericDestinationType,
-        mapping, !cyclic);
+      Object source, MappingPlan.Step step, InlineCache.Entry resolution) {
+    Class<?> sourceType = resolution == null ? step.sourceType : resolution.sourceType;
+    Type genericDestinationType = context.genericDestinationPropertyType(step.genericDestinationType);
+    return new MappingContextImpl(context, source, sourceType, null, step.destinationType,
+        genericDestinationType, step.mapping, !step.cyclic);
   }
 
   private <S, D> D destinationProperty(MappingContextImpl<S, D> context) {
@@ -303,7 +530,7 @@ public class MappingEngineImpl implements MappingEngine {
   /**
    * Performs a mapping using a Converter.
    */
-  private <S, D> D convert(MappingContext<S, D> context, Converter<S, D> converter) {
+  <S, D> D convert(MappingContext<S, D> context, Converter<S, D> converter) {
     try {
       return converter.convert(context);
     } catch (ErrorsException e) {
@@ -316,29 +543,17 @@ public class MappingEngineImpl implements MappingEngine {
   }
 
   /**
-   * Retrieves a converter from the store or from the cache.
+   * Retrieves a converter from the store's dispatch index.
    */
-  @SuppressWarnings("unchecked")
   private <S, D> Converter<S, D> converterFor(MappingContext<S, D> context) {
-    TypePair<?, ?> typePair = TypePair.of(context.getSourceType(), context.getDestinationType(),
-        context.getTypeMapName());
-    Converter<S, D> converter = (Converter<S, D>) converterCache.get(typePair);
-    if (converter == null) {
-      converter = converterStore.getFirstSupported(context.getSourceType(),
-          context.getDestinationType());
-      if (converter != null)
-        converterCache.put(typePair, converter);
-    }
-
-    return converter;
+    return converterStore.getFirstSupported(context.getSourceType(),
+        context.getDestinationType());
   }
 
+  @SuppressWarnings("unchecked")
   private <T> T instantiate(Class<T> type, Errors errors) {
     try {
-      Constructor<T> constructor = type.getDeclaredConstructor();
-      if (!constructor.isAccessible())
-        constructor.setAccessible(true);
-      return constructor.newInstance();
+      return (T) configuration.typeInfoStore.instantiatorFor(type).newInstance();
     } catch (Exception e) {
       errors.errorInstantiatingDestination(type, e);
       return null;
@@ -360,6 +575,118 @@ public class MappingEngineImpl implements MappingEngine {
     return configuration;
   }
 
+  /**
+   * Maps sources, one at a time, to new instances of a destination type. A single initial
+   * context is reset and reused for each source, and the TypeMap that is resolved for a source
+   * type is reused for subsequent sources of the same type. Not threadsafe.
+   */
+  private final class ElementMapper<D> {
+    private final TypeToken<D> destinationTypeToken;
+    private final String typeMapName;
+    private final MappingContextImpl<Object, D> context;
+    /** Whether the initial typeMap is used for sources of any type */
+    private final boolean typeMapFixed;
+    private Class<?> sourceClass;
+    private Class<Object> sourceType;
+    private TypeMap<Object, D> typeMap;
+
+    ElementMapper(TypeToken<D> destinationTypeToken) {
+      this(destinationTypeToken, null, null, null, false);
+    }
+
+    /**
+     * Creates an ElementMapper that maps sources of the {@code sourceClass} with the
+     * {@code typeMap}, or all sources if the {@code typeMap} is fixed.
+     */
+    @SuppressWarnings("unchecked")
+    ElementMapper(TypeToken<D> destinationTypeToken, String typeMapName, Class<?> sourceClass,
+        TypeMap<Object, D> typeMap, boolean typeMapFixed) {
+      this.destinationTypeToken = destinationTypeToken;
+      this.typeMapName = typeMapName;
+      this.sourceClass = sourceClass;
+      this.sourceType = (Class<Object>) sourceClass;
+      this.typeMap = typeMap;
+      this.typeMapFixed = typeMap != null && typeMapFixed;
+      context = new MappingContextImpl<Object, D>(null, Object.class, null,
+          destinationTypeToken.getRawType(), destinationTypeToken.getType(), typeMapName,
+          MappingEngineImpl.this);
+    }
+
+    /**
+     * Maps the {@code source}, returning {@code null} if the {@code source} is null.
+     */
+    D map(Object source) {
+      if (source == null)
+        return null;
+      if (source.getClass() != sourceClass) {
+        sourceClass = source.getClass();
+        sourceType = Types.deProxy(sourceClass);
+        if (!typeMapFixed)
+          typeMap = null;
+      }
+
+      context.reset(source, sourceType);
+      D result = null;
+      try {
+        if (typeMap == null)
+          typeMap = typeMapStore.get(sourceType, context.getDestinationType(), typeMapName);
+        if (typeMap != null) {
+          result = typeMap(context, typeMap);
+          context.setDestination(result, true);
+        } else
+          result = MappingEngineImpl.this.map(context);
+      } catch (ConfigurationException e) {
+        throw e;
+      } catch (ErrorsException e) {
+        throw context.errors.toMappingException();
+      } catch (Throwable t) {
+        context.errors.errorMapping(sourceType, destinationTypeToken.getType(), t);
+      }
+
+      context.errors.throwMappingExceptionIfErrorsExist();
+      return result;
+    }
+  }
+
+  /**
+   * Maps each element of a source Iterator as it is returned. Elements are mapped with an
+   * ElementMapper, which is replaced after a failed mapping so that iteration can continue past it.
+   * Not threadsafe.
+   */
+  private final class MappingIterator<D> implements Iterator<D> {
+    private final Iterator<?> sources;
+    private final TypeToken<D> destinationTypeToken;
+    private ElementMapper<D> elementMapper;
+
+    MappingIterator(Iterator<?> sources, TypeToken<D> destinationTypeToken) {
+      this.sources = sources;
+      this.destinationTypeToken = destinationTypeToken;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return sources.hasNext();
+    }
+
+    @Override
+    public D next() {
+      Object source = sources.next();
+      if (elementMapper == null)
+        elementMapper = new ElementMapper<D>(destinationTypeToken);
+      try {
+        return elementMapper.map(source);
+      } catch (RuntimeException e) {
+        elementMapper = null;
+        throw e;
+      }
+    }
+
+    @Override
+    public void remove() {
+      sources.remove();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   <S, D> D createDestinationViaGlobalProvider(S source, Class<D> requestedType,
       Errors errors) {
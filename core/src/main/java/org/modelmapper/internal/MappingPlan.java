@@ -0,0 +1,131 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.modelmapper.Condition;
+import org.modelmapper.Converter;
+import org.modelmapper.TypeMap;
+import org.modelmapper.spi.ConstantMapping;
+import org.modelmapper.spi.Mapping;
+import org.modelmapper.spi.PropertyInfo;
+
+/**
+ * The mappings of a TypeMap resolved into a flat array of steps, so that everything about a
+ * mapping that does not depend on the objects being mapped is worked out once rather than for
+ * every property of every mapping.
+ */
+final class MappingPlan {
+  final Step[] steps;
+  /** Version of the TypeMap that the plan was resolved from */
+  final int version;
+
+  /**
+   * A single resolved mapping.
+   */
+  static final class Step {
+    final MappingImpl mapping;
+    /** Destination path relative to the TypeMap's destination */
+    final String path;
+    final boolean skipped;
+    /** The mapping's condition, else the TypeMap's property condition */
+    final Condition<Object, Object> condition;
+    /** The mapping's converter, else the TypeMap's property converter */
+    final Converter<Object, Object> converter;
+    /** Source accessors for property mappings, else {@code null} */
+    final Accessor[] accessors;
+    /** Destination paths, relative to the TypeMap's destination, of each source accessor */
+    final String[] accessorPaths;
+    /** Constant for constant mappings */
+    final Object constant;
+    final boolean constantMapping;
+    final Class<?> sourceType;
+    final boolean cyclic;
+    final Mutator mutator;
+    /** Accessor for the last destination property, else {@code null} */
+    final Accessor destinationAccessor;
+    final Class<Object> destinationType;
+    final Type genericDestinationType;
+    /**
+     * Whether the step maps a value of an immutable, primitive or enum type to a top level property
+     * of the same type without a converter, condition or provider, so that the source value can be
+     * copied to the destination
+     */
+    final boolean directCopy;
+    /**
+     * Transfers the value of a top level primitive source property to a top level primitive
+     * property of the same or a wider type without boxing it when the step has no converter,
+     * condition or provider, else {@code null}
+     */
+    final PrimitiveTransfer primitiveTransfer;
+    /** Resolutions of the runtime source types mapped by the step */
+    final InlineCache inlineCache = new InlineCache();
+
+    @SuppressWarnings("unchecked")
+    Step(MappingImpl mapping, TypeMap<?, ?> typeMap, InheritingConfiguration configuration) {
+      this.mapping = mapping;
+      path = mapping.getPath();
+      skipped = mapping.isSkipped();
+      condition = (Condition<Object, Object>) (mapping.getCondition() == null ? typeMap.getPropertyCondition()
+          : mapping.getCondition());
+      converter = (Converter<Object, Object>) (mapping.getConverter() == null ? typeMap.getPropertyConverter()
+          : mapping.getConverter());
+
+      if (mapping instanceof PropertyMappingImpl) {
+        List<? extends PropertyInfo> sourceAccessors = ((PropertyMappingImpl) mapping).getSourceProperties();
+        accessors = new Accessor[sourceAccessors.size()];
+        accessorPaths = new String[accessors.length];
+        StringBuilder pathBuilder = new StringBuilder();
+        for (int i = 0; i < accessors.length; i++) {
+          accessors[i] = (Accessor) sourceAccessors.get(i);
+          accessorPaths[i] = pathBuilder.append(accessors[i].getName()).append('.').toString();
+        }
+        cyclic = ((PropertyMappingImpl) mapping).cyclic;
+      } else {
+        accessors = null;
+        accessorPaths = null;
+        cyclic = false;
+      }
+
+      constantMapping = mapping instanceof ConstantMapping;
+      constant = constantMapping ? ((ConstantMapping) mapping).getConstant() : null;
+      sourceType = mapping.getSourceType();
+      mutator = (Mutator) mapping.getLastDestinationProperty();
+      destinationAccessor = PropertyInfoRegistry.accessorFor(mutator.getInitialType(),
+          mutator.getName(), configuration);
+      destinationType = (Class<Object>) mutator.getType();
+      genericDestinationType = mutator.getGenericType();
+      boolean unconverted = accessors != null && converter == null && condition == null
+          && mapping.getProvider() == null && typeMap.getPropertyProvider() == null
+          && mapping.getDestinationProperties().size() == 1;
+      directCopy = unconverted && sourceType == destinationType
+          && (destinationType.isPrimitive() || destinationType.isEnum()
+              || configuration.getImmutableTypes().contains(destinationType));
+      primitiveTransfer = unconverted && accessors.length == 1 && sourceType.isPrimitive()
+          ? PrimitiveTransfer.create(accessors[0], mutator) : null;
+    }
+  }
+
+  MappingPlan(TypeMap<?, ?> typeMap, InheritingConfiguration configuration, int version) {
+    this.version = version;
+    List<Mapping> mappings = typeMap.getMappings();
+    steps = new Step[mappings.size()];
+    for (int i = 0; i < steps.length; i++)
+      steps[i] = new Step((MappingImpl) mappings.get(i), typeMap, configuration);
+  }
+}
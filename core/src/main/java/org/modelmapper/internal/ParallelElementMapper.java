@@ -0,0 +1,179 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.modelmapper.internal.util.Iterables;
+import org.modelmapper.spi.MappingContext;
+
+/**
+ * Maps the elements of a source collection or array in chunks on the configured parallel mapping
+ * executor. Each chunk is mapped with its own copy of the mapping context so that no mutable
+ * context state is shared between threads. Once all chunks have completed, the errors of every
+ * chunk, and the destinations that each chunk mapped sources to, are merged back into the original
+ * context in chunk order.
+ */
+public final class ParallelElementMapper {
+  private ParallelElementMapper() {
+  }
+
+  /**
+   * Returns whether the {@code length} elements of the {@code context}'s source should be mapped in
+   * parallel.
+   */
+  public static boolean isApplicable(MappingContext<?, ?> context, int length) {
+    if (length < 2 || !(context instanceof MappingContextImpl)
+        || !(context.getMappingEngine() instanceof MappingEngineImpl))
+      return false;
+    InheritingConfiguration configuration = ((MappingEngineImpl) context.getMappingEngine())
+        .getConfiguration();
+    return configuration.getParallelMappingExecutor() != null
+        && length >= configuration.getParallelMappingThreshold();
+  }
+
+  /**
+   * Maps the {@code length} elements of the {@code source} to instances of the
+   * {@code elementType}, mapping onto the element at the same index of the {@code destination}
+   * where one exists, and returns the mapped elements in source order. Source elements that are
+   * {@code null} result in the existing destination element, else {@code null}.
+   *
+   * @throws ErrorsException if mapping any element fails
+   */
+  public static Object[] map(MappingContext<?, ?> context, Object source, Object destination,
+      int length, Class<?> elementType) {
+    MappingContextImpl<?, ?> contextImpl = (MappingContextImpl<?, ?>) context;
+    Executor executor = ((MappingEngineImpl) context.getMappingEngine()).getConfiguration()
+        .getParallelMappingExecutor();
+
+    Object[] sourceElements = new Object[length];
+    int index = 0;
+    for (Iterator<Object> iterator = Iterables.iterator(source); iterator.hasNext()
+        && index < length; index++)
+      sourceElements[index] = iterator.next();
+    Object[] elements = new Object[length];
+    if (destination != null) {
+      index = 0;
+      for (Iterator<Object> iterator = Iterables.iterator(destination); iterator.hasNext()
+          && index < length; index++)
+        elements[index] = iterator.next();
+    }
+
+    // At least two chunks so that the executor takes part even on a single processor
+    int chunkCount = Math.min(Math.max(Runtime.getRuntime().availableProcessors(), 2), length);
+    int chunkSize = (length + chunkCount - 1) / chunkCount;
+    List<Chunk> chunks = new ArrayList<Chunk>(chunkCount);
+    List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>(chunkCount);
+    for (int from = 0; from < length; from += chunkSize) {
+      Chunk chunk = new Chunk(copyOf(contextImpl), sourceElements, elements, from,
+          Math.min(from + chunkSize, length), elementType);
+      chunks.add(chunk);
+      tasks.add(new FutureTask<Void>(chunk));
+    }
+
+    // The first chunk is always mapped by the calling thread
+    for (int i = 1; i < tasks.size(); i++) {
+      try {
+        executor.execute(tasks.get(i));
+      } catch (RejectedExecutionException ignore) {
+        // Mapped by the calling thread below
+      }
+    }
+
+    // Map any chunk that the executor has not started yet, so that mapping cannot stall on it
+    for (FutureTask<Void> task : tasks)
+      task.run();
+
+    Throwable failure = null;
+    for (FutureTask<Void> task : tasks) {
+      try {
+        task.get();
+      } catch (ExecutionException e) {
+        if (failure == null)
+          failure = e.getCause();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        if (failure == null)
+          failure = e;
+        break;
+      }
+    }
+
+    for (Chunk chunk : chunks) {
+      contextImpl.errors.merge(chunk.context.errors);
+      contextImpl.mergeTrackedSources(chunk.context);
+    }
+
+    if (failure instanceof InterruptedException)
+      throw contextImpl.errors.addMessage(failure, "Interrupted while mapping elements in parallel")
+          .toException();
+    if (failure instanceof ErrorsException)
+      throw contextImpl.errors.toException();
+    if (failure instanceof RuntimeException)
+      throw (RuntimeException) failure;
+    if (failure instanceof Error)
+      throw (Error) failure;
+    if (failure != null)
+      throw contextImpl.errors.addMessage(failure, "Failed to map elements in parallel")
+          .toException();
+    return elements;
+  }
+
+  private static <S, D> MappingContextImpl<S, D> copyOf(MappingContextImpl<S, D> context) {
+    return new MappingContextImpl<S, D>(context);
+  }
+
+  private static class Chunk implements Callable<Void> {
+    final MappingContextImpl<?, ?> context;
+    private final Object[] sourceElements;
+    private final Object[] elements;
+    private final int from;
+    private final int to;
+    private final Class<?> elementType;
+
+    Chunk(MappingContextImpl<?, ?> context, Object[] sourceElements, Object[] elements, int from,
+        int to, Class<?> elementType) {
+      this.context = context;
+      this.sourceElements = sourceElements;
+      this.elements = elements;
+      this.from = from;
+      this.to = to;
+      this.elementType = elementType;
+    }
+
+    @Override
+    public Void call() {
+      for (int i = from; i < to; i++) {
+        Object sourceElement = sourceElements[i];
+        if (sourceElement != null) {
+          Object element = elements[i];
+          MappingContext<?, ?> elementContext = element == null
+              ? context.create(sourceElement, elementType)
+              : context.create(sourceElement, element);
+          elements[i] = context.getMappingEngine().map(elementContext);
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+/**
+ * A trie of destination paths, keyed by the {@code .} separated segments of each path. Determining
+ * whether a path is covered by any added path takes time proportional to the path's depth rather
+ * than to the number of added paths, and does not allocate. Not threadsafe.
+ */
+final class PathTrie {
+  private static final Node[] NO_CHILDREN = new Node[0];
+  private Node root = new Node((String) null);
+
+  private static final class Node {
+    final String segment;
+    Node[] children = NO_CHILDREN;
+    int childCount;
+    /** Whether a path ending at this node was added */
+    boolean added;
+
+    Node(String segment) {
+      this.segment = segment;
+    }
+
+    Node(Node node) {
+      segment = node.segment;
+      added = node.added;
+      childCount = node.childCount;
+      children = childCount == 0 ? NO_CHILDREN : new Node[childCount];
+      for (int i = 0; i < childCount; i++)
+        children[i] = new Node(node.children[i]);
+    }
+
+    /**
+     * Returns the child for the segment of the {@code path} from {@code start} to {@code end},
+     * else {@code null}.
+     */
+    Node child(String path, int start, int end) {
+      int length = end - start;
+      for (int i = 0; i < childCount; i++) {
+        String childSegment = children[i].segment;
+        if (childSegment.length() == length && path.regionMatches(start, childSegment, 0, length))
+          return children[i];
+      }
+      return null;
+    }
+
+    Node addChild(String segment) {
+      if (childCount == children.length) {
+        Node[] newChildren = new Node[childCount == 0 ? 2 : childCount * 2];
+        System.arraycopy(children, 0, newChildren, 0, childCount);
+        children = newChildren;
+      }
+      Node child = new Node(segment);
+      children[childCount++] = child;
+      return child;
+    }
+  }
+
+  PathTrie() {
+  }
+
+  /**
+   * Creates a copy of the {@code trie}.
+   */
+  PathTrie(PathTrie trie) {
+    root = new Node(trie.root);
+  }
+
+  void add(String path) {
+    Node node = root;
+    for (int start = 0; start < path.length() && !node.added;) {
+      int end = segmentEnd(path, start);
+      Node child = node.child(path, start, end);
+      node = child == null ? node.addChild(path.substring(start, end)) : child;
+      start = end + 1;
+    }
+    node.added = true;
+  }
+
+  void clear() {
+    root = new Node((String) null);
+  }
+
+  /**
+   * Returns whether the {@code path} or any of its parent paths were added.
+   */
+  boolean containsPathOrParentOf(String path) {
+    return contains(path, false);
+  }
+
+  /**
+   * Returns whether the {@code path}, any of its parent paths or any of its sub paths were added.
+   */
+  boolean containsPathOrParentOrSubPathOf(String path) {
+    return contains(path, true);
+  }
+
+  private boolean contains(String path, boolean matchSubPaths) {
+    Node node = root;
+    if (node.added)
+      return true;
+    for (int start = 0; start < path.length();) {
+      int end = segmentEnd(path, start);
+      node = node.child(path, start, end);
+      if (node == null)
+        return false;
+      if (node.added)
+        return true;
+      start = end + 1;
+    }
+
+    // Every node that was created lies on the way to an added path
+    return matchSubPaths && (node != root || node.childCount > 0);
+  }
+
+  private static int segmentEnd(String path, int start) {
+    int end = path.indexOf('.', start);
+    return end == -1 ? path.length() : end;
+  }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+
+import org.modelmapper.MappingException;
+import org.modelmapper.internal.LambdaFactory.BooleanGetter;
+import org.modelmapper.internal.LambdaFactory.BooleanSetter;
+import org.modelmapper.internal.LambdaFactory.ByteGetter;
+import org.modelmapper.internal.LambdaFactory.ByteSetter;
+import org.modelmapper.internal.LambdaFactory.CharGetter;
+import org.modelmapper.internal.LambdaFactory.CharSetter;
+import org.modelmapper.internal.LambdaFactory.DoubleGetter;
+import org.modelmapper.internal.LambdaFactory.DoubleSetter;
+import org.modelmapper.internal.LambdaFactory.FloatGetter;
+import org.modelmapper.internal.LambdaFactory.FloatSetter;
+import org.modelmapper.internal.LambdaFactory.IntGetter;
+import org.modelmapper.internal.LambdaFactory.IntSetter;
+import org.modelmapper.internal.LambdaFactory.LongGetter;
+import org.modelmapper.internal.LambdaFactory.LongSetter;
+import org.modelmapper.internal.LambdaFactory.ShortGetter;
+import org.modelmapper.internal.LambdaFactory.ShortSetter;
+import org.modelmapper.internal.PropertyInfoImpl.FieldPropertyInfo;
+import org.modelmapper.internal.PropertyInfoImpl.MethodAccessor;
+import org.modelmapper.internal.PropertyInfoImpl.MethodMutator;
+import org.modelmapper.internal.util.Primitives;
+
+/**
+ * Transfers the value of a primitive source property to a destination property of the same or a
+ * wider primitive type without boxing it. Fields are read and written through the primitive
+ * accessors of {@link Field}, and methods through the primitive Getters and Setters of the
+ * {@link LambdaFactory}.
+ */
+abstract class PrimitiveTransfer {
+  private final Member getterMember;
+  private final Member setterMember;
+
+  PrimitiveTransfer(Member getterMember, Member setterMember) {
+    this.getterMember = getterMember;
+    this.setterMember = setterMember;
+  }
+
+  /**
+   * Transfers the property value of the {@code source} to the {@code destination}.
+   *
+   * @throws MappingException if the value cannot be read or written
+   */
+  abstract void transfer(Object source, Object destination);
+
+  /**
+   * Returns a transfer from the {@code accessor} to the {@code mutator}, else {@code null} if the
+   * accessor's type is not a primitive that is the same as or widens to the mutator's type, or if
+   * either property cannot be accessed without boxing.
+   */
+  static PrimitiveTransfer create(Accessor accessor, Mutator mutator) {
+    Class<?> valueType = accessor.getType();
+    if (!Primitives.isWidening(valueType, mutator.getType()))
+      return null;
+    Object getter = getterFor(accessor);
+    Object setter = getter == null ? null : setterFor(mutator, valueType);
+    if (setter == null)
+      return null;
+
+    Member getterMember = ((PropertyInfoImpl<?>) accessor).getMember();
+    Member setterMember = ((PropertyInfoImpl<?>) mutator).getMember();
+    if (valueType == Boolean.TYPE)
+      return new BooleanTransfer(getterMember, getter, setterMember, setter);
+    if (valueType == Character.TYPE)
+      return new CharTransfer(getterMember, getter, setterMember, setter);
+    if (valueType == Byte.TYPE)
+      return new ByteTransfer(getterMember, getter, setterMember, setter);
+    if (valueType == Short.TYPE)
+      return new ShortTransfer(getterMember, getter, setterMember, setter);
+    if (valueType == Integer.TYPE)
+      return new IntTransfer(getterMember, getter, setterMember, setter);
+    if (valueType == Long.TYPE)
+      return new LongTransfer(getterMember, getter, setterMember, setter);
+    if (valueType == Float.TYPE)
+      return new FloatTransfer(getterMember, getter, setterMember, setter);
+    return new DoubleTransfer(getterMember, getter, setterMember, setter);
+  }
+
+  /**
+   * Returns a primitive Getter for the {@code accessor}, else {@code null}.
+   */
+  private static Object getterFor(Accessor accessor) {
+    if (accessor instanceof FieldPropertyInfo) {
+      Field field = ((FieldPropertyInfo) accessor).getMember();
+      return field.getType() == accessor.getType() ? new FieldAccess(field) : null;
+    }
+    if (accessor instanceof MethodAccessor) {
+      Method method = ((MethodAccessor) accessor).getMember();
+      return method.getReturnType() == accessor.getType() ? LambdaFactory.primitiveGetterFor(method)
+          : null;
+    }
+    return null;
+  }
+
+  /**
+   * Returns a primitive Setter of the {@code valueType} for the {@code mutator}, else {@code null}.
+   */
+  private static Object setterFor(Mutator mutator, Class<?> valueType) {
+    if (mutator instanceof FieldPropertyInfo) {
+      Field field = ((FieldPropertyInfo) mutator).getMember();
+      return field.getType() == mutator.getType() ? new FieldAccess(field) : null;
+    }
+    if (mutator instanceof MethodMutator) {
+      Method method = ((MethodMutator) mutator).getMember();
+      return method.getParameterTypes()[0] == mutator.getType()
+          ? LambdaFactory.primitiveSetterFor(method, valueType) : null;
+    }
+    return null;
+  }
+
+  MappingException errorGettingValue(Throwable t) {
+    return new Errors().errorGettingValue(getterMember, causeFor(getterMember, t))
+        .toMappingException();
+  }
+
+  MappingException errorSettingValue(Object value, Throwable t) {
+    return new Errors().errorSettingValue(setterMember, value, causeFor(setterMember, t))
+        .toMappingException();
+  }
+
+  /**
+   * Returns the cause of a failure to access the {@code member}, wrapping failures of methods as
+   * reflective invocations of them would.
+   */
+  private static Throwable causeFor(Member member, Throwable t) {
+    return member instanceof Method ? new InvocationTargetException(t) : t;
+  }
+
+  /**
+   * Accesses a field through the primitive accessors of {@link Field}, which widen values written
+   * to the field as needed.
+   */
+  static final class FieldAccess implements BooleanGetter, BooleanSetter, CharGetter, CharSetter,
+      ByteGetter, ByteSetter, ShortGetter, ShortSetter, IntGetter, IntSetter, LongGetter,
+      LongSetter, FloatGetter, FloatSetter, DoubleGetter, DoubleSetter {
+    private final Field field;
+
+    FieldAccess(Field field) {
+      this.field = field;
+    }
+
+    public boolean getBoolean(Object subject) throws Exception {
+      return field.getBoolean(subject);
+    }
+
+    public char getChar(Object subject) throws Exception {
+      return field.getChar(subject);
+    }
+
+    public byte getByte(Object subject) throws Exception {
+      return field.getByte(subject);
+    }
+
+    public short getShort(Object subject) throws Exception {
+      return field.getShort(subject);
+    }
+
+    public int getInt(Object subject) throws Exception {
+      return field.getInt(subject);
+    }
+
+    public long getLong(Object subject) throws Exception {
+      return field.getLong(subject);
+    }
+
+    public float getFloat(Object subject) throws Exception {
+      return field.getFloat(subject);
+    }
+
+    public double getDouble(Object subject) throws Exception {
+      return field.getDouble(subject);
+    }
+
+    public void setBoolean(Object subject, boolean value) throws Exception {
+      field.setBoolean(subject, value);
+    }
+
+    public void setChar(Object subject, char value) throws Exception {
+      field.setChar(subject, value);
+    }
+
+    public void setByte(Object subject, byte value) throws Exception {
+      field.setByte(subject, value);
+    }
+
+    public void setShort(Object subject, short value) throws Exception {
+      field.setShort(subject, value);
+    }
+
+    public void setInt(Object subject, int value) throws Exception {
+      field.setInt(subject, value);
+    }
+
+    public void setLong(Object subject, long value) throws Exception {
+      field.setLong(subject, value);
+    }
+
+    public void setFloat(Object subject, float value) throws Exception {
+      field.setFloat(subject, value);
+    }
+
+    public void setDouble(Object subject, double value) throws Exception {
+      field.setDouble(subject, value);
+    }
+  }
+
+  static final class BooleanTransfer extends PrimitiveTransfer {
+    private final BooleanGetter getter;
+    private final BooleanSetter setter;
+
+    BooleanTransfer(Member getterMember, Object getter, Member setterMember, Object setter) {
+      super(getterMember, setterMember);
+      this.getter = (BooleanGetter) getter;
+      this.setter = (BooleanSetter) setter;
+    }
+
+    void transfer(Object source, Object destination) {
+      boolean value;
+      try {
+        value = getter.getBoolean(source);
+      } catch (Throwable t) {
+        throw errorGettingValue(t);
+      }
+      try {
+        setter.setBoolean(destination, value);
+      } catch (Throwable t) {
+        throw errorSettingValue(value, t);
+      }
+    }
+  }
+
+  static final class CharTransfer extends PrimitiveTransfer {
+    private final CharGetter getter;
+    private final CharSetter setter;
+
+    CharTransfer(Member getterMember, Object getter, Member setterMember, Object setter) {
+      super(getterMember, setterMember);
+      this.getter = (CharGetter) getter;
+      this.setter = (CharSetter) setter;
+    }
+
+    void transfer(Object source, Object destination) {
+      char value;
+      try {
+        value = getter.getChar(source);
+      } catch (Throwable t) {
+        throw errorGettingValue(t);
+      }
+      try {
+        setter.setChar(destination, value);
+      } catch (Throwable t) {
+        throw errorSettingValue(value, t);
+      }
+    }
+  }
+
+  static final class ByteTransfer extends PrimitiveTransfer {
+    private final ByteGetter getter;
+    private final ByteSetter setter;
+
+    ByteTransfer(Member getterMember, Object getter, Member setterMember, Object setter) {
+      super(getterMember, setterMember);
+      this.getter = (ByteGetter) getter;
+      this.setter = (ByteSetter) setter;
+    }
+
+    void transfer(Object source, Object destination) {
+      byte value;
+      try {
+        value = getter.getByte(source);
+      } catch (Throwable t) {
+        throw errorGettingValue(t);
+      }
+      try {
+        setter.setByte(destination, value);
+      } catch (Throwable t) {
+        throw errorSettingValue(value, t);
+      }
+    }
+  }
+
+  static final class ShortTransfer extends PrimitiveTransfer {
+    private final ShortGetter getter;
+    private final ShortSetter setter;
+
+    ShortTransfer(Member getterMember, Object getter, Member setterMember, Object setter) {
+      super(getterMember, setterMember);
+      this.getter = (ShortGetter) getter;
+      this.setter = (ShortSetter) setter;
+    }
+
+    void transfer(Object source, Object destination) {
+      short value;
+      try {
+        value = getter.getShort(source);
+      } catch (Throwable t) {
+        throw errorGettingValue(t);
+      }
+      try {
+        setter.setShort(destination, value);
+      } catch (Throwable t) {
+        throw errorSettingValue(value, t);
+      }
+    }
+  }
+
+  static final class IntTransfer extends PrimitiveTransfer {
+    private final IntGetter getter;
+    private final IntSetter setter;
+
+    IntTransfer(Member getterMember, Object getter, Member setterMember, Object setter) {
+      super(getterMember, setterMember);
+      this.getter = (IntGetter) getter;
+      this.setter = (IntSetter) setter;
+    }
+
+    void transfer(Object source, Object destination) {
+      int value;
+      try {
+        value = getter.getInt(source);
+      } catch (Throwable t) {
+        throw errorGettingValue(t);
+      }
+      try {
+        setter.setInt(destination, value);
+      } catch (Throwable t) {
+        throw errorSettingValue(value, t);
+      }
+    }
+  }
+
+  static final class LongTransfer extends PrimitiveTransfer {
+    private final LongGetter getter;
+    private final LongSetter setter;
+
+    LongTransfer(Member getterMember, Object getter, Member setterMember, Object setter) {
+      super(getterMember, setterMember);
+      this.getter = (LongGetter) getter;
+      this.setter = (LongSetter) setter;
+    }
+
+    void transfer(Object source, Object destination) {
+      long value;
+      try {
+        value = getter.getLong(source);
+      } catch (Throwable t) {
+        throw errorGettingValue(t);
+      }
+      try {
+        setter.setLong(destination, value);
+      } catch (Throwable t) {
+        throw errorSettingValue(value, t);
+      }
+    }
+  }
+
+  static final class FloatTransfer extends PrimitiveTransfer {
+    private final FloatGetter getter;
+    private final FloatSetter setter;
+
+    FloatTransfer(Member getterMember, Object getter, Member setterMember, Object setter) {
+      super(getterMember, setterMember);
+      this.getter = (FloatGetter) getter;
+      this.setter = (FloatSetter) setter;
+    }
+
+    void transfer(Object source, Object destination) {
+      float value;
+      try {
+        value = getter.getFloat(source);
+      } catch (Throwable t) {
+        throw errorGettingValue(t);
+      }
+      try {
+        setter.setFloat(destination, value);
+      } catch (Throwable t) {
+        throw errorSettingValue(value, t);
+      }
+    }
+  }
+
+  static final class DoubleTransfer extends PrimitiveTransfer {
+    private final DoubleGetter getter;
+    private final DoubleSetter setter;
+
+    DoubleTransfer(Member getterMember, Object getter, Member setterMember, Object setter) {
+      super(getterMember, setterMember);
+      this.getter = (DoubleGetter) getter;
+      this.setter = (DoubleSetter) setter;
+    }
+
+    void transfer(Object source, Object destination) {
+      double value;
+      try {
+        value = getter.getDouble(source);
+      } catch (Throwable t) {
+        throw errorGettingValue(t);
+      }
+      try {
+        setter.setDouble(destination, value);
+      } catch (Throwable t) {
+        throw errorSettingValue(value, t);
+      }
+    }
+  }
+}
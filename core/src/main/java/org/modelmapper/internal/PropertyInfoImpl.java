@@ -17,10 +17,12 @@ package org.modelmapper.internal;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import net.jodah.typetools.TypeResolver;
+import org.modelmapper.internal.util.Primitives;
 import org.modelmapper.spi.PropertyInfo;
 import org.modelmapper.spi.PropertyType;
 import org.modelmapper.spi.ValueReader;
@@ -86,6 +88,14 @@ abstract class PropertyInfoImpl<M extends Member> implements PropertyInfo {
   }
 
   static class MethodAccessor extends AbstractMethodInfo implements Accessor {
+    /**
+     * Bound through the LambdaFactory on first use. Invokes the method directly, else
+     * {@code null} if the method could not be bound and is invoked reflectively.
+     */
+    private LambdaFactory.Getter getter;
+    /** Whether the getter was bound, which publishes it */
+    private volatile boolean bound;
+
     MethodAccessor(Class<?> initialType, Method method, String name) {
       super(initialType, method, name);
     }
@@ -95,6 +105,21 @@ abstract class PropertyInfoImpl<M extends Member> implements PropertyInfo {
     }
 
     public Object getValue(Object subject) {
+      if (!bound) {
+        getter = LambdaFactory.getterFor(member);
+        bound = true;
+      }
+
+      LambdaFactory.Getter getter = this.getter;
+      if (getter != null) {
+        try {
+          return getter.get(subject);
+        } catch (Throwable t) {
+          throw new Errors().errorGettingValue(member, new InvocationTargetException(t))
+              .toMappingException();
+        }
+      }
+
       try {
         return member.invoke(subject);
       } catch (IllegalAccessException e) {
@@ -111,8 +136,24 @@ abstract class PropertyInfoImpl<M extends Member> implements PropertyInfo {
   }
 
   static class MethodMutator extends AbstractMethodInfo implements Mutator {
+    /**
+     * Bound through the LambdaFactory on first use. Invokes the method directly, else
+     * {@code null} if the method could not be bound and is invoked reflectively.
+     */
+    private LambdaFactory.Setter setter;
+    /** Whether the setter was bound, which publishes it */
+    private volatile boolean bound;
+    /**
+     * The wrapper of the method's primitive parameter, else {@code null}. The setter only accepts
+     * values of exactly this type, while other values are invoked reflectively so that they are
+     * widened as before.
+     */
+    private final Class<?> primitiveWrapper;
+
     MethodMutator(Class<?> initialType, Method method, String name) {
       super(initialType, method, name);
+      Class<?> parameterType = method.getParameterTypes()[0];
+      primitiveWrapper = parameterType.isPrimitive() ? Primitives.wrapperFor(parameterType) : null;
     }
 
     public Type getGenericType() {
@@ -120,6 +161,23 @@ abstract class PropertyInfoImpl<M extends Member> implements PropertyInfo {
     }
 
     public void setValue(Object subject, Object value) {
+      if (!bound) {
+        setter = LambdaFactory.setterFor(member);
+        bound = true;
+      }
+
+      LambdaFactory.Setter setter = this.setter;
+      if (setter != null
+          && (primitiveWrapper == null || value != null && value.getClass() == primitiveWrapper)) {
+        try {
+          setter.set(subject, value);
+          return;
+        } catch (Throwable t) {
+          throw new Errors().errorSettingValue(member, value, new InvocationTargetException(t))
+              .toMappingException();
+        }
+      }
+
       try {
         member.invoke(subject, value);
       } catch (Exception e) {
@@ -296,4 +354,4 @@ abstract class PropertyInfoImpl<M extends Member> implements PropertyInfo {
   public String toString() {
     return member == null ? name : member.getDeclaringClass().getSimpleName() + "." + name;
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
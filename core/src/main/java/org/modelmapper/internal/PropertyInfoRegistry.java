@@ -17,92 +17,56 @@ package org.modelmapper.internal;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.modelmapper.config.Configuration;
 import org.modelmapper.internal.PropertyInfoImpl.FieldPropertyInfo;
 import org.modelmapper.internal.PropertyInfoImpl.MethodAccessor;
 import org.modelmapper.internal.PropertyInfoImpl.MethodMutator;
+import org.modelmapper.internal.TypeInfoStore.PropertyKey;
+import org.modelmapper.internal.TypeInfoStore.TypeEntry;
 
 /**
- * Statically stores and retrieves MemberInfo by member and configuration. This registry is designed
- * to return a distinct PropertyInfo instance for each initial type, member and configuration object
- * set.
+ * Stores and retrieves MemberInfo by member and configuration in the configuration's
+ * {@link TypeInfoStore}. This registry is designed to return a distinct PropertyInfo instance for
+ * each initial type, member and configuration object set.
  * 
  * @author Jonathan Halterman
  */
 class PropertyInfoRegistry {
-
-  private static final Map<PropertyInfoKey, Mutator> MUTATOR_CACHE = new ConcurrentHashMap<PropertyInfoKey, Mutator>();
-  private static final Map<PropertyInfoKey, Accessor> ACCESSOR_CACHE = new ConcurrentHashMap<PropertyInfoKey, Accessor>();
-  private static final Map<PropertyInfoKey, FieldPropertyInfo> FIELD_CACHE = new ConcurrentHashMap<PropertyInfoKey, FieldPropertyInfo>();
-
-  private static class PropertyInfoKey {
-    private final Class<?> initialType;
-    private final String propertyName;
-    private final Configuration configuration;
-
-    PropertyInfoKey(Class<?> initialType, String propertyName, Configuration configuration) {
-      this.initialType = initialType;
-      this.propertyName = propertyName;
-      this.configuration = configuration;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o)
-        return true;
-      if (!(o instanceof PropertyInfoKey))
-        return false;
-      PropertyInfoKey other = (PropertyInfoKey) o;
-      return initialType.equals(other.initialType) && propertyName.equals(other.propertyName)
-          && configuration.equals(other.configuration);
-    }
-
-    @Override
-    public int hashCode() {
-      int result = 31 + initialType.hashCode();
-      result = 31 * result + propertyName.hashCode();
-      result = 31 * result + configuration.hashCode();
-      return result;
-    }
-  }
-
   /**
    * Returns an accessor for the {@code accessorName}, else {@code null} if none exists.
    */
   static Accessor accessorFor(Class<?> type, String accessorName, InheritingConfiguration configuration) {
-    PropertyInfoKey key = new PropertyInfoKey(type, accessorName, configuration);
-    if (!ACCESSOR_CACHE.containsKey(key) && !FIELD_CACHE.containsKey(key)) {
+    PropertyKey key = new PropertyKey(accessorName, configuration);
+    TypeEntry entry = configuration.typeInfoStore.entryFor(type);
+    if (!entry.accessors.containsKey(key) && !entry.fields.containsKey(key)) {
       @SuppressWarnings("unchecked")
       Class<Object> uncheckedType = (Class<Object>) type;
-      for (Entry<String, Accessor> entry : TypeInfoRegistry.typeInfoFor(uncheckedType, configuration).getAccessors().entrySet()) {
-        if (entry.getValue().getMember() instanceof Method)
-          accessorFor(type, (Method) entry.getValue().getMember(), configuration, entry.getKey());
-        else if (entry.getValue().getMember() instanceof Field)
-          fieldPropertyFor(type, (Field) entry.getValue().getMember(), configuration, entry.getKey());
+      for (Entry<String, Accessor> accessor : TypeInfoRegistry.typeInfoFor(uncheckedType, configuration).getAccessors().entrySet()) {
+        if (accessor.getValue().getMember() instanceof Method)
+          putIfAbsent(entry.accessors, new PropertyKey(accessor.getKey(), configuration), accessor.getValue());
+        else if (accessor.getValue().getMember() instanceof Field)
+          putIfAbsent(entry.fields, new PropertyKey(accessor.getKey(), configuration), (FieldPropertyInfo) accessor.getValue());
       }
     }
 
-    if (ACCESSOR_CACHE.containsKey(key))
-      return ACCESSOR_CACHE.get(key);
-    return FIELD_CACHE.get(key);
+    Accessor accessor = entry.accessors.get(key);
+    return accessor == null ? entry.fields.get(key) : accessor;
   }
 
   /**
    * Returns an Accessor for the given accessor method. The method must be externally validated to
    * ensure that it accepts zero arguments and does not return void.class.
    */
-  static synchronized Accessor accessorFor(Class<?> type, Method method,
+  static Accessor accessorFor(Class<?> type, Method method,
       Configuration configuration, String name) {
-    PropertyInfoKey key = new PropertyInfoKey(type, name, configuration);
-    Accessor accessor = ACCESSOR_CACHE.get(key);
-    if (accessor == null) {
-      accessor = new MethodAccessor(type, method, name);
-      ACCESSOR_CACHE.put(key, accessor);
-    }
+    PropertyKey key = new PropertyKey(name, configuration);
+    ConcurrentMap<PropertyKey, Accessor> accessors = storeFor(configuration).entryFor(type).accessors;
+    Accessor accessor = accessors.get(key);
+    if (accessor == null)
+      accessor = putIfAbsent(accessors, key, new MethodAccessor(type, method, name));
 
     return accessor;
   }
@@ -110,14 +74,13 @@ class PropertyInfoRegistry {
   /**
    * Returns a FieldPropertyInfo instance for the given field.
    */
-  static synchronized FieldPropertyInfo fieldPropertyFor(Class<?> type, Field field,
+  static FieldPropertyInfo fieldPropertyFor(Class<?> type, Field field,
       Configuration configuration, String name) {
-    PropertyInfoKey key = new PropertyInfoKey(type, name, configuration);
-    FieldPropertyInfo fieldPropertyInfo = FIELD_CACHE.get(key);
-    if (fieldPropertyInfo == null) {
-      fieldPropertyInfo = new FieldPropertyInfo(type, field, name);
-      FIELD_CACHE.put(key, fieldPropertyInfo);
-    }
+    PropertyKey key = new PropertyKey(name, configuration);
+    ConcurrentMap<PropertyKey, FieldPropertyInfo> fields = storeFor(configuration).entryFor(type).fields;
+    FieldPropertyInfo fieldPropertyInfo = fields.get(key);
+    if (fieldPropertyInfo == null)
+      fieldPropertyInfo = putIfAbsent(fields, key, new FieldPropertyInfo(type, field, name));
 
     return fieldPropertyInfo;
   }
@@ -127,37 +90,49 @@ class PropertyInfoRegistry {
    * Returns a Mutator instance for the given mutator method. The method must be externally
    * validated to ensure that it accepts one argument and returns void.class.
    */
-  static synchronized Mutator mutatorFor(Class<?> type, String name, InheritingConfiguration configuration) {
-    PropertyInfoKey key = new PropertyInfoKey(type, name, configuration);
-    if (!MUTATOR_CACHE.containsKey(key) && !FIELD_CACHE.containsKey(key)) {
+  static Mutator mutatorFor(Class<?> type, String name, InheritingConfiguration configuration) {
+    PropertyKey key = new PropertyKey(name, configuration);
+    TypeEntry entry = configuration.typeInfoStore.entryFor(type);
+    if (!entry.mutators.containsKey(key) && !entry.fields.containsKey(key)) {
       @SuppressWarnings("unchecked")
       Class<Object> uncheckedType = (Class<Object>) type;
-      for (Entry<String, Mutator> entry : TypeInfoRegistry.typeInfoFor(uncheckedType, configuration).getMutators().entrySet()) {
-        if (entry.getValue().getMember() instanceof Method)
-          mutatorFor(type, (Method) entry.getValue().getMember(), configuration, entry.getKey());
-        else if (entry.getValue().getMember() instanceof Field)
-          fieldPropertyFor(type, (Field) entry.getValue().getMember(), configuration, entry.getKey());
+      for (Entry<String, Mutator> mutator : TypeInfoRegistry.typeInfoFor(uncheckedType, configuration).getMutators().entrySet()) {
+        if (mutator.getValue().getMember() instanceof Method)
+          putIfAbsent(entry.mutators, new PropertyKey(mutator.getKey(), configuration), mutator.getValue());
+        else if (mutator.getValue().getMember() instanceof Field)
+          putIfAbsent(entry.fields, new PropertyKey(mutator.getKey(), configuration), (FieldPropertyInfo) mutator.getValue());
       }
     }
 
-    if (MUTATOR_CACHE.containsKey(key))
-      return MUTATOR_CACHE.get(key);
-    return FIELD_CACHE.get(key);
+    Mutator mutator = entry.mutators.get(key);
+    return mutator == null ? entry.fields.get(key) : mutator;
   }
 
   /**
    * Returns a Mutator instance for the given mutator method. The method must be externally
    * validated to ensure that it accepts one argument and returns void.class.
    */
-  static synchronized Mutator mutatorFor(Class<?> type, Method method, Configuration configuration,
+  static Mutator mutatorFor(Class<?> type, Method method, Configuration configuration,
       String name) {
-    PropertyInfoKey key = new PropertyInfoKey(type, name, configuration);
-    Mutator mutator = MUTATOR_CACHE.get(key);
-    if (mutator == null) {
-      mutator = new MethodMutator(type, method, name);
-      MUTATOR_CACHE.put(key, mutator);
-    }
+    PropertyKey key = new PropertyKey(name, configuration);
+    ConcurrentMap<PropertyKey, Mutator> mutators = storeFor(configuration).entryFor(type).mutators;
+    Mutator mutator = mutators.get(key);
+    if (mutator == null)
+      mutator = putIfAbsent(mutators, key, new MethodMutator(type, method, name));
 
     return mutator;
   }
+
+  private static TypeInfoStore storeFor(Configuration configuration) {
+    return ((InheritingConfiguration) configuration).typeInfoStore;
+  }
+
+  /**
+   * Stores the {@code value} unless a value has already been stored for the {@code key}, returning
+   * the stored value.
+   */
+  private static <V> V putIfAbsent(ConcurrentMap<PropertyKey, V> map, PropertyKey key, V value) {
+    V existing = map.putIfAbsent(key, value);
+    return existing == null ? value : existing;
+  }
 }
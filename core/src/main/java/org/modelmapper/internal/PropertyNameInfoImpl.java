@@ -34,6 +34,7 @@ import org.modelmapper.spi.Tokens;
 class PropertyNameInfoImpl implements PropertyNameInfo {
   private final Class<?> sourceClass;
   private final Configuration configuration;
+  private final TypeInfoStore typeInfoStore;
   private Tokens sourceClassTokens;
   private Stack<Tokens> sourcePropertyTypeTokens;
   private final Stack<Tokens> sourcePropertyTokens = new Stack<Tokens>();
@@ -47,6 +48,7 @@ class PropertyNameInfoImpl implements PropertyNameInfo {
   PropertyNameInfoImpl(Class<?> sourceClass, Configuration configuration) {
     this.sourceClass = sourceClass;
     this.configuration = configuration;
+    typeInfoStore = ((InheritingConfiguration) configuration).typeInfoStore;
   }
 
   @Override
@@ -64,8 +66,8 @@ class PropertyNameInfoImpl implements PropertyNameInfo {
     if (sourceClassTokens == null) {
       String className = configuration.getSourceNameTransformer().transform(
           sourceClass.getSimpleName(), NameableType.CLASS);
-      sourceClassTokens = Tokens.of(configuration.getSourceNameTokenizer().tokenize(className,
-          NameableType.CLASS));
+      sourceClassTokens = typeInfoStore.tokensFor(configuration.getSourceNameTokenizer(),
+          className, NameableType.CLASS);
     }
 
     return sourceClassTokens;
@@ -120,31 +122,40 @@ class PropertyNameInfoImpl implements PropertyNameInfo {
 
   void pushDestination(String destinationName, Mutator destinationProperty) {
     NameableType nameableType = NameableType.forPropertyType(destinationProperty.getPropertyType());
-    String[] tokens = configuration.getDestinationNameTokenizer().tokenize(
-        destinationName, nameableType);
-    destinationPropertyTokens.push(Tokens.of(tokens));
+    destinationPropertyTokens.push(typeInfoStore.tokensFor(
+        configuration.getDestinationNameTokenizer(), destinationName, nameableType));
     destinationProperties.push(destinationProperty);
   }
 
   void pushSource(String sourceName, Accessor sourceProperty) {
-    NameableType nameableType = NameableType.forPropertyType(sourceProperty.getPropertyType());
-    if (!sourceTokensCache.containsKey(sourceName)) {
-      sourceTokensCache.put(sourceName, Tokens.of(configuration.getSourceNameTokenizer()
-          .tokenize(sourceName, nameableType)));
-    }
-    sourcePropertyTokens.push(sourceTokensCache.get(sourceName));
+    sourcePropertyTokens.push(sourceTokensFor(sourceName, sourceProperty));
     sourceProperties.push(sourceProperty);
     pushSourcePropertyType(sourceProperty);
   }
 
+  /**
+   * Returns the tokens of the source property with the {@code sourceName}, which are cached by
+   * name.
+   */
+  Tokens sourceTokensFor(String sourceName, Accessor sourceProperty) {
+    Tokens tokens = sourceTokensCache.get(sourceName);
+    if (tokens == null) {
+      NameableType nameableType = NameableType.forPropertyType(sourceProperty.getPropertyType());
+      tokens = typeInfoStore.tokensFor(configuration.getSourceNameTokenizer(), sourceName,
+          nameableType);
+      sourceTokensCache.put(sourceName, tokens);
+    }
+    return tokens;
+  }
+
   private void pushSourcePropertyType(PropertyInfo sourceProperty) {
     if (sourcePropertyTypeTokens == null)
       return;
     if (!sourceTypeTokensCache.containsKey(sourceProperty)) {
       String typeName = configuration.getSourceNameTransformer().transform(
           sourceProperty.getType().getSimpleName(), NameableType.CLASS);
-      sourceTypeTokensCache.put(sourceProperty, Tokens.of(configuration.getSourceNameTokenizer()
-          .tokenize(typeName, NameableType.CLASS)));
+      sourceTypeTokensCache.put(sourceProperty, typeInfoStore.tokensFor(
+          configuration.getSourceNameTokenizer(), typeName, NameableType.CLASS));
     }
     sourcePropertyTypeTokens.add(sourceTypeTokensCache.get(sourceProperty));
   }
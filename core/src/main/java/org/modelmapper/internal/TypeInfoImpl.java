@@ -15,9 +15,16 @@
  */
 package org.modelmapper.internal;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.modelmapper.config.Configuration;
+import org.modelmapper.internal.util.Types;
 import org.modelmapper.spi.NameableType;
 
 /**
@@ -32,6 +39,16 @@ class TypeInfoImpl<T> implements TypeInfo<T> {
   private final InheritingConfiguration configuration;
   private volatile Map<String, Accessor> accessors;
   private volatile Map<String, Mutator> mutators;
+  /**
+   * Types of the accessors that might contain properties. TypeInfos are not retained for them so
+   * that they can be evicted from the TypeInfoStore independently of this TypeInfo.
+   */
+  private volatile Class<?>[] nestedTypes;
+  /**
+   * Whether the accessor hierarchy could be matched by an inexact strategy, by destination tokens.
+   * Results are held as long as this TypeInfo is stored in the TypeInfoStore.
+   */
+  private volatile ConcurrentMap<TypeInfoStore.DestinationTokensKey, Boolean> matchableHierarchies;
 
   TypeInfoImpl(T source, Class<T> sourceType, InheritingConfiguration configuration) {
     this.source = source;
@@ -79,6 +96,57 @@ class TypeInfoImpl<T> implements TypeInfo<T> {
     return mutators;
   }
 
+  /**
+   * Gets the TypeInfos of the accessors whose types might contain properties, else {@code null} if
+   * the accessors are read from the source object. The types are lazily initialized, and their
+   * TypeInfos are resolved through the TypeInfoRegistry on each call, so callers that walk the
+   * hierarchy repeatedly should hold on to the result.
+   */
+  List<TypeInfo<?>> getNestedTypeInfos() {
+    if (source != null)
+      return null;
+    Class<?>[] nestedTypes = this.nestedTypes;
+    if (nestedTypes == null) {
+      Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+      for (Accessor accessor : getAccessors().values())
+        if (Types.mightContainsProperties(accessor.getType()))
+          types.add(accessor.getType());
+      this.nestedTypes = nestedTypes = types.toArray(new Class<?>[types.size()]);
+    }
+
+    List<TypeInfo<?>> typeInfos = new ArrayList<TypeInfo<?>>(nestedTypes.length);
+    for (Class<?> nestedType : nestedTypes)
+      typeInfos.add(TypeInfoRegistry.typeInfoFor(nestedType, configuration));
+    return typeInfos;
+  }
+
+  /**
+   * Returns whether the accessor hierarchy could be matched to the destination with the
+   * {@code destinationTokens}, else {@code null} if not known.
+   */
+  Boolean getMatchableHierarchy(TypeInfoStore.DestinationTokensKey destinationTokens) {
+    Map<TypeInfoStore.DestinationTokensKey, Boolean> matchableHierarchies = this.matchableHierarchies;
+    return matchableHierarchies == null ? null : matchableHierarchies.get(destinationTokens);
+  }
+
+  /**
+   * Records whether the accessor hierarchy could be matched to the destination with the
+   * {@code destinationTokens}, unless {@link TypeInfoStore#MATCHABLE_HIERARCHIES_LIMIT} results are
+   * already recorded.
+   */
+  void setMatchableHierarchy(TypeInfoStore.DestinationTokensKey destinationTokens, boolean matchable) {
+    ConcurrentMap<TypeInfoStore.DestinationTokensKey, Boolean> matchableHierarchies = this.matchableHierarchies;
+    if (matchableHierarchies == null)
+      synchronized (this) {
+        matchableHierarchies = this.matchableHierarchies;
+        if (matchableHierarchies == null)
+          this.matchableHierarchies = matchableHierarchies = new ConcurrentHashMap<TypeInfoStore.DestinationTokensKey, Boolean>();
+      }
+
+    if (matchableHierarchies.size() < TypeInfoStore.MATCHABLE_HIERARCHIES_LIMIT)
+      matchableHierarchies.put(destinationTokens, Boolean.valueOf(matchable));
+  }
+
   public Class<T> getType() {
     return type;
   }
@@ -15,45 +15,17 @@
  */
 package org.modelmapper.internal;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.modelmapper.config.Configuration;
 
 /**
- * Statically stores and retrieves TypeInfo instances by type, parent type, and configuration.
+ * Stores and retrieves TypeInfo instances by type and configuration in the configuration's
+ * {@link TypeInfoStore}.
  * 
  * @author Jonathan Halterman
  */
 class TypeInfoRegistry {
-  private static final Map<TypeInfoKey, TypeInfoImpl<?>> cache = new ConcurrentHashMap<TypeInfoKey, TypeInfoImpl<?>>();
-
-  private static class TypeInfoKey {
-    private final Class<?> type;
-    private final Configuration configuration;
-
-    TypeInfoKey(Class<?> type, Configuration configuration) {
-      this.type = type;
-      this.configuration = configuration;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (o == this)
-        return true;
-      if (!(o instanceof TypeInfoKey))
-        return false;
-      TypeInfoKey other = (TypeInfoKey) o;
-      return type.equals(other.type) && configuration.equals(other.configuration);
-    }
-
-    @Override
-    public int hashCode() {
-      int result = 31 * type.hashCode();
-      return 31 * result + configuration.hashCode();
-    }
-  }
-
   @SuppressWarnings("unchecked")
   static <T> TypeInfoImpl<T> typeInfoFor(Accessor accessor, InheritingConfiguration configuration) {
     return TypeInfoRegistry.typeInfoFor(null, (Class<T>) accessor.getType(), configuration);
@@ -71,21 +43,18 @@ class TypeInfoRegistry {
   }
 
   /**
-   * Returns a statically cached TypeInfoImpl instance for the given criteria.
+   * Returns a cached TypeInfoImpl instance for the given criteria.
    */
   @SuppressWarnings("unchecked")
   static <T> TypeInfoImpl<T> typeInfoFor(Class<T> sourceType, InheritingConfiguration configuration) {
-    TypeInfoKey pair = new TypeInfoKey(sourceType, configuration);
-    TypeInfoImpl<T> typeInfo = (TypeInfoImpl<T>) cache.get(pair);
+    ConcurrentMap<Configuration, TypeInfoImpl<?>> typeInfos = configuration.typeInfoStore.entryFor(sourceType).typeInfos;
+    TypeInfoImpl<T> typeInfo = (TypeInfoImpl<T>) typeInfos.get(configuration);
 
     if (typeInfo == null) {
-      synchronized (cache) {
-        typeInfo = (TypeInfoImpl<T>) cache.get(pair);
-        if (typeInfo == null) {
-          typeInfo = new TypeInfoImpl<T>(null, sourceType, configuration);
-          cache.put(pair, typeInfo);
-        }
-      }
+      TypeInfoImpl<T> newTypeInfo = new TypeInfoImpl<T>(null, sourceType, configuration);
+      typeInfo = (TypeInfoImpl<T>) typeInfos.putIfAbsent(configuration, newTypeInfo);
+      if (typeInfo == null)
+        typeInfo = newTypeInfo;
     }
 
     return typeInfo;
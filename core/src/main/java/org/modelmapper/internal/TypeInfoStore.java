@@ -0,0 +1,291 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import org.modelmapper.config.Configuration;
+import org.modelmapper.internal.PropertyInfoImpl.FieldPropertyInfo;
+import org.modelmapper.spi.NameTokenizer;
+import org.modelmapper.spi.NameableType;
+import org.modelmapper.spi.Tokens;
+
+/**
+ * Stores TypeInfo and PropertyInfo instances and Instantiators by type, along with tokenized names,
+ * for a single ModelMapper.
+ * Entries are only referenced by the configuration that owns the store, so types and the class
+ * loaders that define them are not kept reachable once the owning ModelMapper is discarded or
+ * {@link #clear() cleared}.
+ * <p>
+ * Reads do not lock. When a limit is set, types are evicted once the number of stored types exceeds
+ * the limit, using a second chance policy: stored types are swept in the order they were added, and
+ * a type that has been used since it was last swept is kept and swept again later, while the first
+ * unused type is evicted. Reads only mark their type as used, so they neither lock nor write
+ * shared state, and each eviction takes constant time amortized over the additions.
+ */
+public final class TypeInfoStore {
+  private final ConcurrentMap<Class<?>, TypeEntry> entries = new ConcurrentHashMap<Class<?>, TypeEntry>();
+  /** Entries in the order they are swept for eviction */
+  private final Queue<TypeEntry> sweepOrder = new ConcurrentLinkedQueue<TypeEntry>();
+  /** Guards eviction */
+  private final Object lock = new Object();
+  /** Maximum number of stored types, 0 when unbounded */
+  private volatile int limit;
+  /** Tokenized class and property names */
+  private final ConcurrentMap<TokensKey, Tokens> tokens = new ConcurrentHashMap<TokensKey, Tokens>();
+  /**
+   * Maximum number of stored tokenized names, beyond which names are tokenized without being
+   * stored, since ValueReader property names may be derived from the data being mapped
+   */
+  static final int TOKENS_LIMIT = 10000;
+  /**
+   * Maximum number of destinations for which each stored TypeInfo records whether its accessor
+   * hierarchy could be matched
+   */
+  static final int MATCHABLE_HIERARCHIES_LIMIT = 1000;
+
+  /**
+   * Metadata that is stored for a single type.
+   */
+  static final class TypeEntry {
+    final Class<?> type;
+    final ConcurrentMap<Configuration, TypeInfoImpl<?>> typeInfos = new ConcurrentHashMap<Configuration, TypeInfoImpl<?>>();
+    final ConcurrentMap<PropertyKey, Accessor> accessors = new ConcurrentHashMap<PropertyKey, Accessor>();
+    final ConcurrentMap<PropertyKey, Mutator> mutators = new ConcurrentHashMap<PropertyKey, Mutator>();
+    final ConcurrentMap<PropertyKey, FieldPropertyInfo> fields = new ConcurrentHashMap<PropertyKey, FieldPropertyInfo>();
+    /** Creates instances of the type, else {@code null} if not yet resolved */
+    volatile Instantiator instantiator;
+    /** Whether the entry has been used since it was added or last swept */
+    volatile boolean used;
+
+    TypeEntry(Class<?> type) {
+      this.type = type;
+    }
+  }
+
+  static final class PropertyKey {
+    private final String propertyName;
+    private final Configuration configuration;
+
+    PropertyKey(String propertyName, Configuration configuration) {
+      this.propertyName = propertyName;
+      this.configuration = configuration;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o)
+        return true;
+      if (!(o instanceof PropertyKey))
+        return false;
+      PropertyKey other = (PropertyKey) o;
+      return propertyName.equals(other.propertyName) && configuration.equals(other.configuration);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * propertyName.hashCode() + configuration.hashCode();
+    }
+  }
+
+  static final class TokensKey {
+    private final NameTokenizer tokenizer;
+    private final NameableType nameableType;
+    private final String name;
+
+    TokensKey(NameTokenizer tokenizer, NameableType nameableType, String name) {
+      this.tokenizer = tokenizer;
+      this.nameableType = nameableType;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o)
+        return true;
+      if (!(o instanceof TokensKey))
+        return false;
+      TokensKey other = (TokensKey) o;
+      return tokenizer == other.tokenizer && nameableType == other.nameableType
+          && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * System.identityHashCode(tokenizer) + nameableType.hashCode())
+          + name.hashCode();
+    }
+  }
+
+  /**
+   * The tokens of a destination property path along with the tokenizer that source names are
+   * matched with, which together determine which source accessors an inexact strategy could match.
+   */
+  static final class DestinationTokensKey {
+    private final NameTokenizer sourceTokenizer;
+    private final String[][] tokens;
+    private final int hashCode;
+
+    DestinationTokensKey(NameTokenizer sourceTokenizer, List<Tokens> destinationTokens) {
+      this.sourceTokenizer = sourceTokenizer;
+      tokens = new String[destinationTokens.size()][];
+      int result = System.identityHashCode(sourceTokenizer);
+      for (int i = 0; i < tokens.length; i++) {
+        Tokens propertyTokens = destinationTokens.get(i);
+        tokens[i] = new String[propertyTokens.size()];
+        for (int j = 0; j < tokens[i].length; j++) {
+          tokens[i][j] = propertyTokens.token(j);
+          result = 31 * result + tokens[i][j].hashCode();
+        }
+        result = 31 * result + tokens[i].length;
+      }
+      hashCode = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o)
+        return true;
+      if (!(o instanceof DestinationTokensKey))
+        return false;
+      DestinationTokensKey other = (DestinationTokensKey) o;
+      return hashCode == other.hashCode && sourceTokenizer == other.sourceTokenizer
+          && Arrays.deepEquals(tokens, other.tokens);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * Returns the entry for the {@code type}, creating it if necessary.
+   */
+  TypeEntry entryFor(Class<?> type) {
+    TypeEntry entry = entries.get(type);
+    if (entry == null) {
+      TypeEntry newEntry = new TypeEntry(type);
+      entry = entries.putIfAbsent(type, newEntry);
+      if (entry == null) {
+        entry = newEntry;
+        sweepOrder.offer(entry);
+        if (limit > 0)
+          evict(entry);
+        return entry;
+      }
+    }
+
+    if (limit > 0 && !entry.used)
+      entry.used = true;
+    return entry;
+  }
+
+  /**
+   * Returns the Instantiator for the {@code type}, resolving it if necessary.
+   */
+  Instantiator instantiatorFor(Class<?> type) {
+    TypeEntry entry = entryFor(type);
+    Instantiator instantiator = entry.instantiator;
+    if (instantiator == null)
+      entry.instantiator = instantiator = Instantiator.forType(type);
+    return instantiator;
+  }
+
+  /**
+   * Returns the tokens of the {@code name} as tokenized by the {@code tokenizer}, tokenizing the
+   * name if necessary.
+   */
+  Tokens tokensFor(NameTokenizer tokenizer, String name, NameableType nameableType) {
+    TokensKey key = new TokensKey(tokenizer, nameableType, name);
+    Tokens result = tokens.get(key);
+    if (result == null) {
+      result = Tokens.of(tokenizer.tokenize(name, nameableType));
+      if (tokens.size() < TOKENS_LIMIT)
+        tokens.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of types that are currently stored.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the maximum number of stored types, else {@code 0} if the store is unbounded.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Sets the maximum number of stored types. A {@code limit} of {@code 0} makes the store unbounded.
+   */
+  public void setLimit(int limit) {
+    this.limit = limit;
+    if (limit > 0)
+      evict(null);
+  }
+
+  /**
+   * Removes all stored metadata.
+   */
+  public void clear() {
+    // Entries added concurrently are then swept, or dropped if they were cleared
+    sweepOrder.clear();
+    entries.clear();
+    tokens.clear();
+  }
+
+  /**
+   * Evicts entries, other than the {@code retainedEntry}, that have not been used since they were
+   * last swept until the store is within its limit. Entries that have been used are unmarked and
+   * swept again later, and entries that are no longer stored are dropped.
+   */
+  private void evict(TypeEntry retainedEntry) {
+    synchronized (lock) {
+      boolean retainedEntrySwept = false;
+      while (limit > 0 && entries.size() > limit) {
+        TypeEntry entry = sweepOrder.poll();
+        if (entry == null)
+          return;
+        if (entries.get(entry.type) != entry)
+          continue;
+
+        if (entry.used || entry == retainedEntry) {
+          entry.used = false;
+          sweepOrder.offer(entry);
+          if (entry == retainedEntry) {
+            // The other swept entries were all used again since they were last swept
+            if (retainedEntrySwept)
+              return;
+            retainedEntrySwept = true;
+          }
+        } else {
+          entries.remove(entry.type, entry);
+        }
+      }
+    }
+  }
+}
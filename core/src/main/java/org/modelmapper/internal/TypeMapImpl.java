@@ -18,12 +18,14 @@ package org.modelmapper.internal;
 import org.modelmapper.Condition;
 import org.modelmapper.Converter;
 import org.modelmapper.ExpressionMap;
+import org.modelmapper.Mapper;
 import org.modelmapper.PropertyMap;
 import org.modelmapper.Provider;
 import org.modelmapper.TypeMap;
 import org.modelmapper.internal.util.Assert;
 import org.modelmapper.internal.util.Objects;
 import org.modelmapper.internal.util.Types;
+import org.modelmapper.spi.CompilationListener;
 import org.modelmapper.spi.DestinationSetter;
 import org.modelmapper.spi.Mapping;
 import org.modelmapper.spi.PropertyInfo;
@@ -31,6 +33,7 @@ import org.modelmapper.spi.SourceGetter;
 import org.modelmapper.spi.TypeSafeSourceGetter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -39,6 +42,11 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * TypeMap implementation.
@@ -53,6 +61,11 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
   private final MappingEngineImpl engine;
   /** Guarded by "mappings" */
   private final Map<String, InternalMapping> mappings = new TreeMap<String, InternalMapping>();
+  /**
+   * Unmodifiable snapshot of the mappings in path order, else {@code null} if the TypeMap was
+   * modified since the snapshot was taken. Cleared while holding "mappings".
+   */
+  private volatile List<Mapping> mappingsSnapshot;
   private Converter<S, D> converter;
   private Converter<S, D> preConverter;
   private Converter<S, D> postConverter;
@@ -61,6 +74,14 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
   private Converter<?, ?> propertyConverter;
   private Condition<?, ?> propertyCondition;
   private Provider<?> propertyProvider;
+  /** Incremented whenever the TypeMap is modified */
+  private final AtomicInteger version = new AtomicInteger();
+  private final AtomicReference<Compilation> compilation = new AtomicReference<Compilation>();
+  /** Counts the mappings performed while the TypeMap is not compiled */
+  private final AtomicInteger invocations = new AtomicInteger();
+  /** Whether the TypeMap is being compiled, which only one thread does at a time */
+  private final AtomicBoolean compiling = new AtomicBoolean();
+  private volatile MappingPlan mappingPlan;
 
   TypeMapImpl(Class<S> sourceType, Class<D> destinationType, String name,
       InheritingConfiguration configuration, MappingEngineImpl engine) {
@@ -117,9 +138,18 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
 
   @Override
   public List<Mapping> getMappings() {
-    synchronized (mappings) {
-      return new ArrayList<Mapping>(mappings.values());
+    List<Mapping> snapshot = mappingsSnapshot;
+    if (snapshot == null) {
+      synchronized (mappings) {
+        snapshot = mappingsSnapshot;
+        if (snapshot == null) {
+          snapshot = Collections.unmodifiableList(
+              Arrays.<Mapping>asList(mappings.values().toArray(new Mapping[mappings.size()])));
+          mappingsSnapshot = snapshot;
+        }
+      }
     }
+    return snapshot;
   }
 
   @Override
@@ -207,51 +237,64 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
     context.errors.throwMappingExceptionIfErrorsExist();
   }
 
+  @Override
+  public Mapper<S, D> getMapper() {
+    return new MapperImpl<S, D>(engine, this);
+  }
+
   @Override
   public TypeMap<S, D> setCondition(Condition<?, ?> condition) {
     this.condition = Assert.notNull(condition, "condition");
+    invalidate();
     return this;
   }
 
   @Override
   public TypeMap<S, D> setConverter(Converter<S, D> converter) {
     this.converter = Assert.notNull(converter, "converter");
+    invalidate();
     return this;
   }
 
   @Override
   public TypeMap<S, D> setPostConverter(Converter<S, D> converter) {
     this.postConverter = Assert.notNull(converter, "converter");
+    invalidate();
     return this;
   }
 
   @Override
   public TypeMap<S, D> setPreConverter(Converter<S, D> converter) {
     this.preConverter = Assert.notNull(converter, "converter");
+    invalidate();
     return this;
   }
 
   @Override
   public TypeMap<S, D> setPropertyCondition(Condition<?, ?> condition) {
     propertyCondition = Assert.notNull(condition, "condition");
+    invalidate();
     return this;
   }
 
   @Override
   public TypeMap<S, D> setPropertyConverter(Converter<?, ?> converter) {
     propertyConverter = Assert.notNull(converter, "converter");
+    invalidate();
     return this;
   }
 
   @Override
   public TypeMap<S, D> setPropertyProvider(Provider<?> provider) {
     propertyProvider = Assert.notNull(provider, "provider");
+    invalidate();
     return this;
   }
 
   @Override
   public TypeMap<S, D> setProvider(Provider<D> provider) {
     this.provider = Assert.notNull(provider, "provider");
+    invalidate();
     return this;
   }
 
@@ -353,13 +396,16 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
 
   void addMappingIfAbsent(InternalMapping mapping) {
     synchronized (mappings) {
-      if (!mappings.containsKey(mapping.getPath()))
+      if (!mappings.containsKey(mapping.getPath())) {
         mappings.put(mapping.getPath(), mapping);
+        invalidate();
+      }
     }
   }
 
   InternalMapping addMapping(InternalMapping mapping) {
     synchronized (mappings) {
+      invalidate();
       return mappings.put(mapping.getPath(), mapping);
     }
   }
@@ -381,6 +427,135 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
     return mappings.get(path);
   }
 
+  /**
+   * Returns the MappingPlan for the TypeMap's current mappings, resolving it again if the TypeMap
+   * was modified since it was last resolved.
+   */
+  MappingPlan getMappingPlan() {
+    int version = this.version.get();
+    MappingPlan mappingPlan = this.mappingPlan;
+    if (mappingPlan == null || mappingPlan.version != version) {
+      mappingPlan = new MappingPlan(this, configuration, version);
+      this.mappingPlan = mappingPlan;
+    }
+    return mappingPlan;
+  }
+
+  /**
+   * Counts a mapping of the TypeMap and returns its CompiledMapper, else {@code null} if the TypeMap
+   * is to be mapped property by property. The TypeMap is compiled once it has been mapped more
+   * than the configured compilation threshold, on the compilation executor if one is configured.
+   * While another thread compiles the TypeMap, it is mapped property by property.
+   */
+  CompiledMapper getCompiledMapperForMapping() {
+    Compilation compilation = currentCompilation();
+    if (compilation != null)
+      return compilation.mapper;
+    if (invocations.incrementAndGet() <= configuration.getCompilationThreshold()
+        || !compiling.compareAndSet(false, true))
+      return null;
+
+    // Another thread may have compiled the TypeMap since it was last checked
+    compilation = currentCompilation();
+    if (compilation != null) {
+      compiling.set(false);
+      return compilation.mapper;
+    }
+
+    final int version = this.version.get();
+    final int storeVersion = configuration.typeMapStore.version();
+    final int converterStoreVersion = configuration.converterStore.version();
+    Executor executor = configuration.getCompilationExecutor();
+    if (executor == null) {
+      try {
+        return compile(version, storeVersion, converterStoreVersion).mapper;
+      } finally {
+        compiling.set(false);
+      }
+    }
+
+    try {
+      executor.execute(new Runnable() {
+        public void run() {
+          try {
+            compile(version, storeVersion, converterStoreVersion);
+          } finally {
+            compiling.set(false);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      compiling.set(false);
+    }
+
+    return null;
+  }
+
+  /**
+   * Prevents the TypeMap from being compiled until it is next modified. Used when a compiled
+   * mapper turns out to be unusable at runtime.
+   */
+  void disableCompilation() {
+    Compilation previous = compilation.getAndSet(new Compilation(null, version.get(),
+        configuration.typeMapStore.version(), configuration.converterStore.version()));
+    if (previous != null && previous.mapper != null)
+      notifyDeoptimized();
+  }
+
+  /**
+   * Returns the compilation for the TypeMap's current mappings, else {@code null} if the TypeMap
+   * is not compiled. A compilation made before the TypeMap changed is discarded, as is one made
+   * before the TypeMapStore or the ConverterStore changed unless its transferred values are still
+   * converted as is. A compilation that produced no mapper is kept until the TypeMap changes, since
+   * adding TypeMaps or converters cannot make the TypeMap compilable.
+   */
+  private Compilation currentCompilation() {
+    Compilation compilation = this.compilation.get();
+    if (compilation == null)
+      return null;
+    if (compilation.version == version.get()) {
+      int storeVersion = configuration.typeMapStore.version();
+      int converterStoreVersion = configuration.converterStore.version();
+      if (compilation.mapper == null || compilation.storeVersion == storeVersion
+          && compilation.converterStoreVersion == converterStoreVersion)
+        return compilation;
+      if (compilation.compiled != null && compilation.compiled.isConvertedAsIs(configuration)) {
+        Compilation revalidated = new Compilation(compilation.compiled, compilation.version,
+            storeVersion, converterStoreVersion);
+        this.compilation.compareAndSet(compilation, revalidated);
+        return revalidated;
+      }
+    }
+
+    if (this.compilation.compareAndSet(compilation, null) && compilation.mapper != null) {
+      invocations.set(0);
+      notifyDeoptimized();
+    }
+    return null;
+  }
+
+  /**
+   * Compiles the TypeMap, recording the compilation against the {@code version},
+   * {@code storeVersion} and {@code converterStoreVersion} it was made for.
+   */
+  private Compilation compile(int version, int storeVersion, int converterStoreVersion) {
+    Compilation compilation = new Compilation(MapperCompiler.compile(this), version, storeVersion,
+        converterStoreVersion);
+    this.compilation.set(compilation);
+    if (compilation.mapper != null) {
+      CompilationListener listener = configuration.getCompilationListener();
+      if (listener != null)
+        listener.compiled(this);
+    }
+    return compilation;
+  }
+
+  private void notifyDeoptimized() {
+    CompilationListener listener = configuration.getCompilationListener();
+    if (listener != null)
+      listener.deoptimized(this);
+  }
+
   boolean isFullMatching() {
     return getUnmappedProperties().isEmpty()
         || configuration.valueAccessStore.getFirstSupportedReader(sourceType) == null;
@@ -414,6 +589,28 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
     return pathProperties;
   }
 
+  private void invalidate() {
+    mappingsSnapshot = null;
+    version.incrementAndGet();
+  }
+
+  private static final class Compilation {
+    final MapperCompiler.Compiled compiled;
+    final CompiledMapper mapper;
+    final int version;
+    final int storeVersion;
+    final int converterStoreVersion;
+
+    Compilation(MapperCompiler.Compiled compiled, int version, int storeVersion,
+        int converterStoreVersion) {
+      this.compiled = compiled;
+      this.mapper = compiled == null ? null : compiled.mapper;
+      this.version = version;
+      this.storeVersion = storeVersion;
+      this.converterStoreVersion = converterStoreVersion;
+    }
+  }
+
   private static final class Property {
     String prefix;
     TypeInfo<?> typeInfo;
@@ -20,6 +20,7 @@ import org.modelmapper.PropertyMap;
 import org.modelmapper.TypeMap;
 import org.modelmapper.internal.util.Primitives;
 import org.modelmapper.internal.util.Types;
+import org.modelmapper.spi.GeneratedMapper;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -27,6 +28,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author Jonathan Halterman
@@ -34,7 +36,19 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class TypeMapStore {
   private final Map<TypePair<?, ?>, TypeMap<?, ?>> typeMaps = new ConcurrentHashMap<TypePair<?, ?>, TypeMap<?, ?>>();
   private final Map<TypePair<?, ?>, TypeMap<?, ?>> immutableTypeMaps = Collections.unmodifiableMap(typeMaps);
+  /** Guards additions to typeMaps */
   private final Object lock = new Object();
+  /**
+   * Locks that TypeMaps are created under, by type pair, so that TypeMaps for different type pairs
+   * can be created concurrently while a TypeMap for the same type pair is only created once. A lock
+   * is removed once its TypeMap has been created, since threads that acquire it afterwards check
+   * the store again before creating a TypeMap.
+   */
+  final ConcurrentMap<TypePair<?, ?>, Object> creationLocks = new ConcurrentHashMap<TypePair<?, ?>, Object>();
+  /** Incremented under the lock whenever a TypeMap is added to the store */
+  private volatile int version;
+  /** GeneratedMappers that implicitly created TypeMaps are replaced with, if enabled */
+  private final GeneratedMappers generatedMappers = new GeneratedMappers();
   /** Default configuration */
   private final InheritingConfiguration config;
 
@@ -48,15 +62,24 @@ public final class TypeMapStore {
    */
   public <S, D> TypeMap<S, D> create(S source, Class<S> sourceType, Class<D> destinationType,
       String typeMapName, InheritingConfiguration configuration, MappingEngineImpl engine) {
-    synchronized (lock) {
-      TypeMapImpl<S, D> typeMap = new TypeMapImpl<S, D>(sourceType, destinationType, typeMapName,
-          configuration, engine);
-      if (configuration.isImplicitMappingEnabled()
-          && Types.mightContainsProperties(typeMap.getSourceType())
-          && Types.mightContainsProperties(typeMap.getDestinationType()))
-        ImplicitMappingBuilder.build(source, typeMap, config.typeMapStore, config.converterStore);
-      typeMaps.put(TypePair.of(sourceType, destinationType, typeMapName), typeMap);
-      return typeMap;
+    TypePair<S, D> typePair = TypePair.of(sourceType, destinationType, typeMapName);
+    Object creationLock = creationLockFor(typePair);
+    try {
+      synchronized (creationLock) {
+        TypeMapImpl<S, D> typeMap = new TypeMapImpl<S, D>(sourceType, destinationType, typeMapName,
+            configuration, engine);
+        if (configuration.isImplicitMappingEnabled()
+            && Types.mightContainsProperties(typeMap.getSourceType())
+            && Types.mightContainsProperties(typeMap.getDestinationType()))
+          ImplicitMappingBuilder.build(source, typeMap, config.typeMapStore, config.converterStore);
+        synchronized (lock) {
+          typeMaps.put(typePair, typeMap);
+          version++;
+        }
+        return typeMap;
+      }
+    } finally {
+      creationLocks.remove(typePair, creationLock);
     }
   }
 
@@ -70,10 +93,18 @@ public final class TypeMapStore {
       TypeMapImpl<S, D> typeMap = new TypeMapImpl<S, D>(sourceType, destinationType, typeMapName,
           configuration, engine);
       typeMaps.put(TypePair.of(sourceType, destinationType, typeMapName), typeMap);
+      version++;
       return typeMap;
     }
   }
 
+  /**
+   * Returns the version of the store, which changes whenever a TypeMap is added to it.
+   */
+  int version() {
+    return version;
+  }
+
   public Collection<TypeMap<?, ?>> get() {
     return immutableTypeMaps.values();
   }
@@ -109,37 +140,66 @@ public final class TypeMapStore {
 
   /**
    * Gets or creates a TypeMap. If {@code converter} is null, the TypeMap is configured with
-   * implicit mappings, else the {@code converter} is set against the TypeMap.
+   * implicit mappings, else the {@code converter} is set against the TypeMap. An unnamed TypeMap
+   * that is created without a {@code propertyMap} or {@code converter} uses the GeneratedMapper
+   * registered for the type pair, if generated mappers are enabled and the mapper was generated
+   * for the configuration, instead of implicit mappings.
    * 
    * @param propertyMap to add mappings for (nullable)
    * @param converter to set (nullable)
    */
-  @SuppressWarnings("unchecked")
   public <S, D> TypeMap<S, D> getOrCreate(S source, Class<S> sourceType, Class<D> destinationType,
       String typeMapName, PropertyMap<S, D> propertyMap, Converter<S, D> converter,
       MappingEngineImpl engine) {
-    synchronized (lock) {
+    if (propertyMap == null && converter == null) {
       TypeMapImpl<S, D> typeMap = getTypeMap(sourceType, destinationType, typeMapName);
+      if (typeMap != null)
+        return typeMap;
+    }
 
-      if (typeMap == null) {
-        typeMap = new TypeMapImpl<S, D>(sourceType, destinationType, typeMapName, config, engine);
-        if (propertyMap != null)
-          typeMap.addMappings(propertyMap);
-        if (converter == null && config.isImplicitMappingEnabled()
-            && Types.mightContainsProperties(typeMap.getSourceType())
-            && Types.mightContainsProperties(typeMap.getDestinationType()))
-          ImplicitMappingBuilder.build(source, typeMap, config.typeMapStore, config.converterStore);
+    TypePair<S, D> typePair = TypePair.of(sourceType, destinationType, typeMapName);
+    Object creationLock = creationLockFor(typePair);
+    try {
+      synchronized (creationLock) {
+        TypeMapImpl<S, D> typeMap = getTypeMap(sourceType, destinationType, typeMapName);
 
-        if (typeMap.isFullMatching()) {
-          typeMaps.put(TypePair.of(sourceType, destinationType, typeMapName), typeMap);
+        if (typeMap == null && propertyMap == null && converter == null && typeMapName == null
+            && config.isGeneratedMappersEnabled()) {
+          GeneratedMapper<S, D> generatedMapper = generatedMappers.get(sourceType, destinationType,
+              config);
+          if (generatedMapper != null) {
+            typeMap = new TypeMapImpl<S, D>(sourceType, destinationType, null, config, engine);
+            typeMap.setConverter(generatedMapper);
+            return putIfAbsent(typePair, typeMap);
+          }
         }
-      } else if (propertyMap != null) {
-        typeMap.addMappings(propertyMap);
-      }
 
-      if (converter != null)
-        typeMap.setConverter(converter);
-      return typeMap;
+        if (typeMap == null) {
+          typeMap = new TypeMapImpl<S, D>(sourceType, destinationType, typeMapName, config, engine);
+          if (propertyMap != null)
+            typeMap.addMappings(propertyMap);
+          if (converter == null && config.isImplicitMappingEnabled()
+              && Types.mightContainsProperties(typeMap.getSourceType())
+              && Types.mightContainsProperties(typeMap.getDestinationType()))
+            ImplicitMappingBuilder.build(source, typeMap, config.typeMapStore,
+                config.converterStore);
+
+          if (typeMap.isFullMatching()) {
+            TypeMapImpl<S, D> createdTypeMap = typeMap;
+            typeMap = putIfAbsent(typePair, typeMap);
+            if (typeMap != createdTypeMap && propertyMap != null)
+              typeMap.addMappings(propertyMap);
+          }
+        } else if (propertyMap != null) {
+          typeMap.addMappings(propertyMap);
+        }
+
+        if (converter != null)
+          typeMap.setConverter(converter);
+        return typeMap;
+      }
+    } finally {
+      creationLocks.remove(typePair, creationLock);
     }
   }
 
@@ -155,6 +215,7 @@ public final class TypeMapStore {
       if (typeMaps.containsKey(typePair))
         throw new IllegalArgumentException("TypeMap exists in the store: " + typePair.toString());
       typeMaps.put(typePair, typeMap);
+      version++;
     }
   }
 
@@ -170,6 +231,37 @@ public final class TypeMapStore {
       if (typeMaps.containsKey(typePair))
         throw new IllegalArgumentException("TypeMap exists in the store: " + typePair.toString());
       typeMaps.put(typePair, typeMap);
+      version++;
+    }
+  }
+
+  /**
+   * Returns the lock that TypeMaps for the {@code typePair} are created under.
+   */
+  private Object creationLockFor(TypePair<?, ?> typePair) {
+    Object creationLock = creationLocks.get(typePair);
+    if (creationLock == null) {
+      Object newCreationLock = new Object();
+      creationLock = creationLocks.putIfAbsent(typePair, newCreationLock);
+      if (creationLock == null)
+        creationLock = newCreationLock;
+    }
+    return creationLock;
+  }
+
+  /**
+   * Puts the {@code typeMap} into the store unless a TypeMap was put for the {@code typePair}
+   * since it was created, returning the TypeMap that is stored.
+   */
+  @SuppressWarnings("unchecked")
+  private <S, D> TypeMapImpl<S, D> putIfAbsent(TypePair<S, D> typePair, TypeMapImpl<S, D> typeMap) {
+    synchronized (lock) {
+      TypeMapImpl<S, D> existing = (TypeMapImpl<S, D>) typeMaps.get(typePair);
+      if (existing != null)
+        return existing;
+      typeMaps.put(typePair, typeMap);
+      version++;
+      return typeMap;
     }
   }
 
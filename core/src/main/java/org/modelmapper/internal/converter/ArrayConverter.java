@@ -20,6 +20,7 @@ import java.lang.reflect.GenericArrayType;
 import java.util.Collection;
 
 import java.util.Iterator;
+import org.modelmapper.internal.ParallelElementMapper;
 import org.modelmapper.internal.util.Iterables;
 import org.modelmapper.internal.util.Types;
 import org.modelmapper.spi.ConditionalConverter;
@@ -47,19 +48,27 @@ class ArrayConverter implements ConditionalConverter<Object, Object> {
     Object destination = createDestination(context);
 
     Class<?> elementType = getElementType(context);
-    int index = 0;
-    for (Iterator<Object> iterator = Iterables.iterator(source); iterator.hasNext(); index++) {
-      Object sourceElement = iterator.next();
-      Object element = null;
-      if (destinationProvided)
-        element = Iterables.getElement(destination, index);
-      if (sourceElement != null) {
-        MappingContext<?, ?> elementContext = element == null
-            ? context.create(sourceElement, elementType)
-            : context.create(sourceElement, element);
-        element = context.getMappingEngine().map(elementContext);
+    int sourceLength = Iterables.getLength(source);
+    if (ParallelElementMapper.isApplicable(context, sourceLength)) {
+      Object[] elements = ParallelElementMapper.map(context, source,
+          destinationProvided ? destination : null, sourceLength, elementType);
+      for (int index = 0; index < elements.length; index++)
+        Array.set(destination, index, elements[index]);
+    } else {
+      int index = 0;
+      for (Iterator<Object> iterator = Iterables.iterator(source); iterator.hasNext(); index++) {
+        Object sourceElement = iterator.next();
+        Object element = null;
+        if (destinationProvided)
+          element = Iterables.getElement(destination, index);
+        if (sourceElement != null) {
+          MappingContext<?, ?> elementContext = element == null
+              ? context.create(sourceElement, elementType)
+              : context.create(sourceElement, element);
+          element = context.getMappingEngine().map(elementContext);
+        }
+        Array.set(destination, index, element);
       }
-      Array.set(destination, index, element);
     }
 
     return destination;
@@ -15,11 +15,20 @@
  */
 package org.modelmapper.internal.converter;
 
+import org.modelmapper.Converter;
 import org.modelmapper.spi.ConditionalConverter;
 import org.modelmapper.spi.ConditionalConverter.MatchResult;
 
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Jonathan Halterman
@@ -30,15 +39,169 @@ public final class ConverterStore {
           new AssignableConverter(), new StringConverter(), new EnumConverter(), new NumberConverter(),
           new BooleanConverter(), new CharacterConverter(), new DateConverter(),
           new CalendarConverter() };
+  private static final List<ConditionalConverter<?, ?>> DEFAULT_CONVERTERS_LIST = Arrays.asList(DEFAULT_CONVERTERS);
 
-  private final List<ConditionalConverter<?, ?>> converters;
+  private final ConverterList converters;
+  /** Converter matches by source and destination type for the current version of the converters */
+  private volatile DispatchIndex index;
+
+  /**
+   * The converters, which are versioned so that the dispatch index can be rebuilt when they change
+   * through any of the List operations. Iterators traverse a snapshot of the converters, as those of
+   * the underlying copy-on-write list do.
+   */
+  private static final class ConverterList extends AbstractList<ConditionalConverter<?, ?>> {
+    final CopyOnWriteArrayList<ConditionalConverter<?, ?>> delegate;
+    final AtomicInteger version = new AtomicInteger();
+
+    ConverterList(List<ConditionalConverter<?, ?>> converters) {
+      delegate = new CopyOnWriteArrayList<ConditionalConverter<?, ?>>(converters);
+    }
+
+    @Override
+    public ConditionalConverter<?, ?> get(int index) {
+      return delegate.get(index);
+    }
+
+    @Override
+    public int size() {
+      return delegate.size();
+    }
+
+    @Override
+    public Iterator<ConditionalConverter<?, ?>> iterator() {
+      return delegate.iterator();
+    }
+
+    @Override
+    public ListIterator<ConditionalConverter<?, ?>> listIterator() {
+      return delegate.listIterator();
+    }
+
+    @Override
+    public ListIterator<ConditionalConverter<?, ?>> listIterator(int index) {
+      return delegate.listIterator(index);
+    }
+
+    @Override
+    public ConditionalConverter<?, ?> set(int index, ConditionalConverter<?, ?> converter) {
+      try {
+        return delegate.set(index, converter);
+      } finally {
+        version.incrementAndGet();
+      }
+    }
+
+    @Override
+    public void add(int index, ConditionalConverter<?, ?> converter) {
+      try {
+        delegate.add(index, converter);
+      } finally {
+        version.incrementAndGet();
+      }
+    }
+
+    @Override
+    public boolean add(ConditionalConverter<?, ?> converter) {
+      try {
+        return delegate.add(converter);
+      } finally {
+        version.incrementAndGet();
+      }
+    }
+
+    @Override
+    public ConditionalConverter<?, ?> remove(int index) {
+      try {
+        return delegate.remove(index);
+      } finally {
+        version.incrementAndGet();
+      }
+    }
+
+    @Override
+    public boolean remove(Object converter) {
+      try {
+        return delegate.remove(converter);
+      } finally {
+        version.incrementAndGet();
+      }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> converters) {
+      try {
+        return delegate.removeAll(converters);
+      } finally {
+        version.incrementAndGet();
+      }
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> converters) {
+      try {
+        return delegate.retainAll(converters);
+      } finally {
+        version.incrementAndGet();
+      }
+    }
+
+    @Override
+    public void clear() {
+      try {
+        delegate.clear();
+      } finally {
+        version.incrementAndGet();
+      }
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+      try {
+        delegate.subList(fromIndex, toIndex).clear();
+      } finally {
+        version.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * The match of the converters for a source and destination type.
+   */
+  private static final class Match {
+    /** The first converter that fully matches, else the first that partially matches */
+    final ConditionalConverter<?, ?> supported;
+    final MatchResult supportedResult;
+    /** The result of the first converter that matches at all */
+    final MatchResult firstResult;
+
+    Match(ConditionalConverter<?, ?> supported, MatchResult supportedResult,
+        MatchResult firstResult) {
+      this.supported = supported;
+      this.supportedResult = supportedResult;
+      this.firstResult = firstResult;
+    }
+  }
+
+  /**
+   * Matches by source type, then destination type, for one version of the converters.
+   */
+  private static final class DispatchIndex {
+    final int version;
+    final Map<Class<?>, Map<Class<?>, Match>> matches = new ConcurrentHashMap<Class<?>, Map<Class<?>, Match>>();
+
+    DispatchIndex(int version) {
+      this.version = version;
+    }
+  }
 
   public ConverterStore() {
-    this(new CopyOnWriteArrayList<ConditionalConverter<?, ?>>(DEFAULT_CONVERTERS));
+    this(DEFAULT_CONVERTERS_LIST);
   }
 
   ConverterStore(List<ConditionalConverter<?, ?>> converters) {
-    this.converters = converters;
+    this.converters = new ConverterList(converters);
+    index = new DispatchIndex(this.converters.version.get());
   }
 
   /**
@@ -50,17 +213,104 @@ public final class ConverterStore {
   @SuppressWarnings("unchecked")
   public <S, D> ConditionalConverter<S, D> getFirstSupported(Class<?> sourceType,
       Class<?> destinationType) {
-    ConditionalConverter<S, D> firstPartialMatchConverter = null;
+    return (ConditionalConverter<S, D>) matchFor(sourceType, destinationType).supported;
+  }
+
+  /**
+   * Returns the result of the first converter that matches {@code sourceType} and
+   * {@code destinationType} at all, else {@code MatchResult.NONE}.
+   */
+  public MatchResult getFirstMatchResult(Class<?> sourceType, Class<?> destinationType) {
+    return matchFor(sourceType, destinationType).firstResult;
+  }
+
+  /**
+   * Returns whether any converter fully matches {@code sourceType} and {@code destinationType}.
+   */
+  public boolean hasFullMatch(Class<?> sourceType, Class<?> destinationType) {
+    return matchFor(sourceType, destinationType).supportedResult == MatchResult.FULL;
+  }
+
+  /**
+   * Returns whether the {@code converter} is a built-in converter that returns the source value, or
+   * an equal value, when converting a value to its own type or between a primitive type and its
+   * wrapper, and that widens numbers to wider primitive types as a primitive widening conversion
+   * would.
+   */
+  public static boolean isValueCopying(Converter<?, ?> converter) {
+    Class<?> type = converter.getClass();
+    return type == AssignableConverter.class || type == NumberConverter.class
+        || type == BooleanConverter.class || type == CharacterConverter.class;
+  }
+
+  /**
+   * Returns the version of the converters, which changes whenever they are modified.
+   */
+  public int version() {
+    return converters.version.get();
+  }
+
+  /**
+   * Discards the dispatch index so that no types are referenced by it.
+   */
+  public void clearIndex() {
+    index = new DispatchIndex(converters.version.get());
+  }
+
+  /**
+   * Returns the match for the types from the dispatch index, matching the converters against the
+   * types if they are not yet indexed. The index is replaced when the converters have changed.
+   */
+  private Match matchFor(Class<?> sourceType, Class<?> destinationType) {
+    DispatchIndex index = this.index;
+    int version = converters.version.get();
+    if (index.version != version)
+      this.index = index = new DispatchIndex(version);
+
+    Map<Class<?>, Match> matchesBySource = index.matches.get(sourceType);
+    if (matchesBySource == null) {
+      matchesBySource = new ConcurrentHashMap<Class<?>, Match>();
+      index.matches.put(sourceType, matchesBySource);
+    }
+    Match match = matchesBySource.get(destinationType);
+    if (match == null) {
+      match = match(sourceType, destinationType);
+      matchesBySource.put(destinationType, match);
+    }
+    return match;
+  }
 
-    for (ConditionalConverter<?, ?> converter : converters) {
+  private Match match(Class<?> sourceType, Class<?> destinationType) {
+    ConditionalConverter<?, ?> firstPartialMatchConverter = null;
+    MatchResult firstResult = MatchResult.NONE;
+
+    for (ConditionalConverter<?, ?> converter : converters.delegate) {
       MatchResult matchResult = converter.match(sourceType, destinationType);
+      if (firstResult == MatchResult.NONE && matchResult != null)
+        firstResult = matchResult;
       if (matchResult == MatchResult.FULL)
-        return (ConditionalConverter<S, D>) converter;
+        return new Match(converter, MatchResult.FULL, firstResult);
       if (firstPartialMatchConverter == null
           && matchResult == MatchResult.PARTIAL)
-        firstPartialMatchConverter = (ConditionalConverter<S, D>) converter;
+        firstPartialMatchConverter = converter;
     }
-    return firstPartialMatchConverter;
+    return new Match(firstPartialMatchConverter,
+        firstPartialMatchConverter == null ? MatchResult.NONE : MatchResult.PARTIAL, firstResult);
+  }
+
+  /**
+   * Returns whether {@code converter} is an instance of one of the converters built into
+   * ModelMapper, rather than a user supplied converter.
+   */
+  public static boolean isBuiltIn(ConditionalConverter<?, ?> converter) {
+    if (converter == null)
+      return false;
+    if (converter.getClass().equals(NonMergingCollectionConverter.class))
+      return true;
+    for (ConditionalConverter<?, ?> defaultConverter : DEFAULT_CONVERTERS)
+      if (converter.getClass().equals(defaultConverter.getClass()))
+        return true;
+    return false;
   }
 
   public List<ConditionalConverter<?, ?>> getConverters() {
@@ -107,7 +357,7 @@ public final class ConverterStore {
   }
 
   private ConditionalConverter<?, ?> getConverterByType(Class<? extends ConditionalConverter<?, ?>> converterClass) {
-    for (ConditionalConverter<?, ?> converter : converters) {
+    for (ConditionalConverter<?, ?> converter : converters.delegate) {
       if (converter.getClass().equals(converterClass))
         return converter;
     }
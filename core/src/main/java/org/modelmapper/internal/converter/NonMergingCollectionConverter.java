@@ -15,12 +15,14 @@
  */
 package org.modelmapper.internal.converter;
 
+import org.modelmapper.internal.ParallelElementMapper;
 import org.modelmapper.internal.util.Iterables;
 import org.modelmapper.internal.util.MappingContextHelper;
 import org.modelmapper.spi.ConditionalConverter;
 import org.modelmapper.spi.MappingContext;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 
 /**
@@ -41,23 +43,29 @@ public class NonMergingCollectionConverter implements ConditionalConverter<Objec
     if (source == null)
       return null;
 
+    int sourceLength = Iterables.getLength(source);
     Collection<Object> originalDestination = context.getDestination();
     Collection<Object> destination = MappingContextHelper.createCollection(context);
     Class<?> elementType = MappingContextHelper.resolveDestinationGenericType(context);
 
-    int index = 0;
-    for (Iterator<Object> iterator = Iterables.iterator(source); iterator.hasNext(); index++) {
-      Object sourceElement = iterator.next();
-      Object element = null;
-      if (originalDestination != null)
-        element = Iterables.getElement(originalDestination, index);
-      if (sourceElement != null) {
-        MappingContext<?, ?> elementContext = element == null
-            ? context.create(sourceElement, elementType)
-            : context.create(sourceElement, element);
-        element = context.getMappingEngine().map(elementContext);
+    if (ParallelElementMapper.isApplicable(context, sourceLength)) {
+      Collections.addAll(destination, ParallelElementMapper.map(context, source,
+          originalDestination, sourceLength, elementType));
+    } else {
+      int index = 0;
+      for (Iterator<Object> iterator = Iterables.iterator(source); iterator.hasNext(); index++) {
+        Object sourceElement = iterator.next();
+        Object element = null;
+        if (originalDestination != null)
+          element = Iterables.getElement(originalDestination, index);
+        if (sourceElement != null) {
+          MappingContext<?, ?> elementContext = element == null
+              ? context.create(sourceElement, elementType)
+              : context.create(sourceElement, element);
+          element = context.getMappingEngine().map(elementContext);
+        }
+        destination.add(element);
       }
-      destination.add(element);
     }
 
     return destination;
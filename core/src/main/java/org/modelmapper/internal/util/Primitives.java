@@ -29,6 +29,8 @@ public final class Primitives {
   private static Map<Class<?>, Class<?>> primitiveToWrapper;
   private static Map<Class<?>, Class<?>> wrapperToPrimitive;
   private static Map<Class<?>, Object> defaultValue;
+  /** Numeric primitive types in the order in which they widen to one another */
+  private static Map<Class<?>, Integer> numericRank;
   private static Set<String> primitiveWrapperInternalNames;
 
   static {
@@ -62,6 +64,14 @@ public final class Primitives {
     defaultValue.put(Float.TYPE, Float.valueOf(0.0f));
     defaultValue.put(Double.TYPE, Double.valueOf(0.0d));
 
+    numericRank = new HashMap<Class<?>, Integer>();
+    numericRank.put(Byte.TYPE, Integer.valueOf(0));
+    numericRank.put(Short.TYPE, Integer.valueOf(1));
+    numericRank.put(Integer.TYPE, Integer.valueOf(2));
+    numericRank.put(Long.TYPE, Integer.valueOf(3));
+    numericRank.put(Float.TYPE, Integer.valueOf(4));
+    numericRank.put(Double.TYPE, Integer.valueOf(5));
+
     primitiveWrapperInternalNames = new HashSet<String>();
     for (Class<?> wrapper : wrapperToPrimitive.keySet())
       primitiveWrapperInternalNames.add(wrapper.getName().replace('.', '/'));
@@ -101,6 +111,20 @@ public final class Primitives {
     return wrapperToPrimitive.containsKey(type);
   }
 
+  /**
+   * Returns true if {@code from} and {@code to} are the same primitive type, or if {@code from} is
+   * a numeric primitive type that widens to {@code to}, such as {@code int} to {@code long}.
+   */
+  public static boolean isWidening(Class<?> from, Class<?> to) {
+    if (!from.isPrimitive() || from == Void.TYPE)
+      return false;
+    if (from == to)
+      return true;
+    Integer fromRank = numericRank.get(from);
+    Integer toRank = numericRank.get(to);
+    return fromRank != null && toRank != null && fromRank.intValue() <= toRank.intValue();
+  }
+
   /**
    * Returns whether the {@code name} is an internal class name of a primitive wrapper.
    */
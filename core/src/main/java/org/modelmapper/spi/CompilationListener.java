@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.spi;
+
+import org.modelmapper.TypeMap;
+
+/**
+ * Receives notifications when TypeMaps move between being mapped property by property and being
+ * mapped by a compiled mapper. Listeners may be notified from any thread that maps a TypeMap or
+ * from a thread of the configured compilation executor.
+ * 
+ * @see org.modelmapper.config.Configuration#setCompilationListener(CompilationListener)
+ */
+public interface CompilationListener {
+  /**
+   * Called when the {@code typeMap} has been compiled. Subsequent mappings of the {@code typeMap}
+   * use the compiled mapper.
+   */
+  void compiled(TypeMap<?, ?> typeMap);
+
+  /**
+   * Called when a compiled mapper for the {@code typeMap} is discarded because the
+   * {@code typeMap}, or a TypeMap or converter it may depend on, changed, or because the compiled mapper could
+   * not be linked. Subsequent mappings of the {@code typeMap} are performed property by property
+   * until it is compiled again.
+   */
+  void deoptimized(TypeMap<?, ?> typeMap);
+}
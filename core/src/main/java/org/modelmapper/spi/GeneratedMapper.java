@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.spi;
+
+import org.modelmapper.Converter;
+
+/**
+ * A Converter generated at compile time for a source and destination type pair. Implementations
+ * that are registered as {@code META-INF/services/org.modelmapper.spi.GeneratedMapper} services are
+ * discovered at runtime by ModelMappers that have
+ * {@link org.modelmapper.config.Configuration#setGeneratedMappersEnabled(boolean) generated mappers}
+ * enabled, and used in place of TypeMaps that would otherwise be created implicitly for the pair.
+ * Generated mappers match JavaBeans accessors and mutators, and optionally public fields, by their
+ * camel case name tokens, as {@link org.modelmapper.convention.MatchingStrategies#STRICT} matches
+ * them. A mapper is only used when the ModelMapper is configured with the strict strategy, those
+ * conventions, tokenizers and transformers, public access levels, the mapper's field matching, and
+ * default implicit mapping settings, and without skipping null values, a
+ * global property condition or a provider.
+ * 
+ * @param <S> source type
+ * @param <D> destination type
+ */
+public interface GeneratedMapper<S, D> extends Converter<S, D> {
+  /**
+   * Returns the source type that the mapper maps from.
+   */
+  Class<S> getSourceType();
+
+  /**
+   * Returns the destination type that the mapper maps to.
+   */
+  Class<D> getDestinationType();
+
+  /**
+   * Returns whether public fields were matched in addition to accessors and mutators. The mapper
+   * is only used by ModelMappers with the same field matching setting.
+   */
+  boolean isFieldMatchingEnabled();
+}
@@ -0,0 +1,160 @@
+package org.modelmapper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.Test;
+
+@Test
+public class MapperTest extends AbstractTest {
+  public static class Person {
+    String name;
+    String address;
+
+    Person(String name, String address) {
+      this.name = name;
+      this.address = address;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getAddress() {
+      return address;
+    }
+  }
+
+  public static class Employee extends Person {
+    String employer;
+
+    Employee(String name, String address, String employer) {
+      super(name, address);
+      this.employer = employer;
+    }
+
+    public String getEmployer() {
+      return employer;
+    }
+  }
+
+  public static class PersonDTO {
+    String name;
+    String address;
+    String employer;
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public void setAddress(String address) {
+      this.address = address;
+    }
+
+    public void setEmployer(String employer) {
+      this.employer = employer;
+    }
+  }
+
+  public void shouldMapWithMapperFor() {
+    Mapper<Person, PersonDTO> mapper = modelMapper.mapperFor(Person.class, PersonDTO.class);
+    assertNotNull(modelMapper.getTypeMap(Person.class, PersonDTO.class));
+
+    PersonDTO dto = mapper.map(new Person("joe", "main st"));
+    assertEquals(dto.name, "joe");
+    assertEquals(dto.address, "main st");
+
+    PersonDTO existing = new PersonDTO();
+    mapper.map(new Person("bob", "elm st"), existing);
+    assertEquals(existing.name, "bob");
+    assertEquals(existing.address, "elm st");
+  }
+
+  public void shouldMapSubclassSourcesWithTheirOwnTypeMap() {
+    Mapper<Person, PersonDTO> mapper = modelMapper.mapperFor(Person.class, PersonDTO.class);
+
+    assertEquals(mapper.map(new Employee("joe", "main st", "acme")).employer, "acme");
+  }
+
+  public void shouldMapWithTypeMapMapper() {
+    Mapper<Person, PersonDTO> mapper = modelMapper.createTypeMap(Person.class, PersonDTO.class)
+        .getMapper();
+
+    PersonDTO dto = mapper.map(new Employee("joe", "main st", "acme"));
+    assertEquals(dto.name, "joe");
+    assertNull(dto.employer);
+  }
+
+  public void shouldMapWithConverterMapper() {
+    Mapper<String, Integer> mapper = modelMapper.mapperFor(String.class, Integer.class);
+
+    assertEquals(mapper.map("42"), Integer.valueOf(42));
+    assertNull(modelMapper.getTypeMap(String.class, Integer.class));
+  }
+
+  public void shouldReflectTypeMapChangesMadeAfterMapperWasObtained() {
+    Mapper<Person, PersonDTO> mapper = modelMapper.mapperFor(Person.class, PersonDTO.class);
+    modelMapper.getTypeMap(Person.class, PersonDTO.class).addMappings(
+        new PropertyMap<Person, PersonDTO>() {
+          @Override
+          protected void configure() {
+            skip().setAddress(null);
+          }
+        });
+
+    assertNull(mapper.map(new Person("joe", "main st")).address);
+  }
+
+  public void shouldMapAll() {
+    Mapper<Person, PersonDTO> mapper = modelMapper.mapperFor(Person.class, PersonDTO.class);
+
+    List<PersonDTO> dtos = mapper.mapAll(Arrays.asList(new Person("joe", "main st"), null,
+        new Employee("bob", "elm st", "acme")));
+    assertEquals(dtos.size(), 3);
+    assertEquals(dtos.get(0).name, "joe");
+    assertNull(dtos.get(1));
+    assertEquals(dtos.get(2).employer, "acme");
+  }
+
+  public void shouldThrowMappingExceptionOnError() {
+    Mapper<String, Integer> mapper = modelMapper.mapperFor(String.class, Integer.class);
+
+    try {
+      mapper.map("abc");
+      fail();
+    } catch (MappingException e) {
+      assertEquals(e.getErrorMessages().size(), 1);
+    }
+  }
+
+  public void shouldBeSafeToShareAcrossThreads() throws Exception {
+    final Mapper<Person, PersonDTO> mapper = modelMapper.mapperFor(Person.class, PersonDTO.class);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<PersonDTO>> results = new ArrayList<Future<PersonDTO>>();
+      for (int i = 0; i < 100; i++) {
+        final String name = String.valueOf(i);
+        results.add(executor.submit(new Callable<PersonDTO>() {
+          public PersonDTO call() {
+            return mapper.map(new Person(name, name));
+          }
+        }));
+      }
+
+      for (int i = 0; i < 100; i++)
+        assertEquals(results.get(i).get().name, String.valueOf(i));
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
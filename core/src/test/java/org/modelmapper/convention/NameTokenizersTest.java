@@ -2,6 +2,8 @@ package org.modelmapper.convention;
 
 import static org.testng.Assert.assertEquals;
 
+import java.util.regex.Pattern;
+
 import org.testng.annotations.Test;
 
 /**
@@ -31,5 +33,20 @@ public class NameTokenizersTest {
     assertEquals(NameTokenizers.UNDERSCORE.tokenize("Aa_Bb_Cc_Dd", null), new String[] { "Aa",
         "Bb", "Cc", "Dd" });
     assertEquals(NameTokenizers.UNDERSCORE.tokenize("", null), new String[] { "" });
+    assertEquals(NameTokenizers.UNDERSCORE.tokenize("abc", null), new String[] { "abc" });
+  }
+
+  public void shouldTokenizeCamelCaseAsRegex() {
+    Pattern camelCase = Pattern.compile("(?<=[A-Z])(?=[A-Z][a-z])|(?<=[^A-Z])(?=[A-Z])|(?<=[A-Za-z])(?=[^A-Za-z])");
+    for (String name : new String[] { "a", "A", "AB", "ABC", "URLValue", "getURL", "address1Street",
+        "address12", "a1B", "_id", "id_", "my_Field", "a$b", "HTTPServer2Url", "x\u00e9Y",
+        "\u00e9t\u00e9Name", "AbcDEF", "aB", "Ab" })
+      assertEquals(NameTokenizers.CAMEL_CASE.tokenize(name, null), camelCase.split(name), name);
+  }
+
+  public void shouldTokenizeUnderscoreAsRegex() {
+    Pattern underscore = Pattern.compile("_");
+    for (String name : new String[] { "_", "__", "_a", "a_", "a__b", "__a__", "a_b_", "abc" })
+      assertEquals(NameTokenizers.UNDERSCORE.tokenize(name, null), underscore.split(name), name);
   }
 }
@@ -0,0 +1,188 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.Condition;
+import org.modelmapper.spi.ConditionalConverter;
+import org.modelmapper.spi.MappingContext;
+import org.testng.annotations.Test;
+
+@Test
+public class ImmutableTypeCopyTest extends AbstractTest {
+  enum Status {
+    ACTIVE, INACTIVE
+  }
+
+  public static class Money {
+    private final BigDecimal amount;
+
+    public Money(BigDecimal amount) {
+      this.amount = amount;
+    }
+
+    public BigDecimal getAmount() {
+      return amount;
+    }
+  }
+
+  public static class Source {
+    String name = "joe";
+    Integer count = 3;
+    int age = 42;
+    Status status = Status.ACTIVE;
+    BigDecimal balance = new BigDecimal("10.50");
+    UUID id = UUID.randomUUID();
+    Money price = new Money(BigDecimal.ONE);
+
+    public String getName() {
+      return name;
+    }
+
+    public Integer getCount() {
+      return count;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    public BigDecimal getBalance() {
+      return balance;
+    }
+
+    public UUID getId() {
+      return id;
+    }
+
+    public Money getPrice() {
+      return price;
+    }
+  }
+
+  public static class Destination {
+    String name = "unset";
+    Integer count;
+    int age;
+    Status status;
+    BigDecimal balance;
+    UUID id;
+    Money price;
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public void setCount(Integer count) {
+      this.count = count;
+    }
+
+    public void setAge(int age) {
+      this.age = age;
+    }
+
+    public void setStatus(Status status) {
+      this.status = status;
+    }
+
+    public void setBalance(BigDecimal balance) {
+      this.balance = balance;
+    }
+
+    public void setId(UUID id) {
+      this.id = id;
+    }
+
+    public void setPrice(Money price) {
+      this.price = price;
+    }
+  }
+
+  public void shouldCopyImmutableValues() {
+    Source source = new Source();
+    for (int i = 0; i < 2; i++) {
+      Destination destination = modelMapper.map(source, Destination.class);
+
+      assertSame(destination.name, source.name);
+      assertSame(destination.count, source.count);
+      assertEquals(destination.age, 42);
+      assertSame(destination.status, Status.ACTIVE);
+      assertSame(destination.balance, source.balance);
+      assertSame(destination.id, source.id);
+    }
+  }
+
+  public void shouldCopyRegisteredImmutableTypes() {
+    modelMapper.getConfiguration().getImmutableTypes().add(Money.class);
+    assertTrue(modelMapper.getConfiguration().getImmutableTypes().contains(String.class));
+
+    Source source = new Source();
+    assertSame(modelMapper.map(source, Destination.class).price, source.price);
+  }
+
+  public void shouldCopyNullValues() {
+    Source source = new Source();
+    source.name = null;
+    source.count = null;
+
+    Destination destination = modelMapper.map(source, Destination.class);
+    assertNull(destination.name);
+    assertNull(destination.count);
+
+    modelMapper.getConfiguration().setSkipNullEnabled(true);
+    destination = modelMapper.map(source, Destination.class);
+    assertEquals(destination.name, "unset");
+  }
+
+  public void shouldHonorConvertersForImmutableTypes() {
+    modelMapper.map(new Source(), Destination.class);
+    modelMapper.getConfiguration().getConverters().add(0, new ConditionalConverter<Object, Object>() {
+      public MatchResult match(Class<?> sourceType, Class<?> destinationType) {
+        return sourceType == String.class && destinationType == String.class ? MatchResult.FULL
+            : MatchResult.NONE;
+      }
+
+      public Object convert(MappingContext<Object, Object> context) {
+        return ((String) context.getSource()).toUpperCase();
+      }
+    });
+
+    assertEquals(modelMapper.map(new Source(), Destination.class).name, "JOE");
+  }
+
+  public void shouldHonorTypeMapsForImmutableTypes() {
+    modelMapper.map(new Source(), Destination.class);
+    modelMapper.createTypeMap(String.class, String.class).setConverter(
+        new AbstractConverter<String, String>() {
+          @Override
+          protected String convert(String source) {
+            return source + "!";
+          }
+        });
+
+    assertEquals(modelMapper.map(new Source(), Destination.class).name, "joe!");
+  }
+
+  public void shouldHonorPropertyConditions() {
+    modelMapper.getConfiguration().setPropertyCondition(new Condition<Object, Object>() {
+      public boolean applies(MappingContext<Object, Object> context) {
+        return !"joe".equals(context.getSource());
+      }
+    });
+
+    Destination destination = modelMapper.map(new Source(), Destination.class);
+    assertEquals(destination.name, "unset");
+    assertEquals(destination.count, Integer.valueOf(3));
+  }
+}
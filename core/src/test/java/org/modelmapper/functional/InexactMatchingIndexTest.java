@@ -0,0 +1,120 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.modelmapper.convention.MatchingStrategies;
+import org.modelmapper.spi.Mapping;
+import org.modelmapper.spi.MatchingStrategy;
+import org.modelmapper.spi.PropertyInfo;
+import org.modelmapper.spi.PropertyMapping;
+import org.modelmapper.spi.PropertyNameInfo;
+import org.testng.annotations.Test;
+
+/**
+ * Asserts that the standard and loose strategies, which only match accessors found through a
+ * token index, build the same mappings as matching every source accessor does.
+ */
+@Test
+public class InexactMatchingIndexTest {
+  /** Delegates to a strategy without being recognized as it, so that every accessor is matched */
+  static class UnindexedStrategy implements MatchingStrategy {
+    private final MatchingStrategy delegate;
+
+    UnindexedStrategy(MatchingStrategy delegate) {
+      this.delegate = delegate;
+    }
+
+    public boolean isExact() {
+      return delegate.isExact();
+    }
+
+    public boolean matches(PropertyNameInfo propertyNameInfo) {
+      return delegate.matches(propertyNameInfo);
+    }
+  }
+
+  static class Address {
+    String addressLine;
+    String city;
+    String zipCode;
+  }
+
+  static class Customer {
+    String firstName;
+    String lastName;
+    Address address;
+  }
+
+  static class Order {
+    String orderId;
+    Customer customer;
+    Address shipping;
+    int itemCount;
+  }
+
+  static class OrderDto {
+    String orderid;
+    String customerFirstName;
+    String customerLastname;
+    String shippingCity;
+    String zip;
+    String id;
+    int count;
+    String customerAddressCity;
+  }
+
+  private static ModelMapper modelMapper(MatchingStrategy matchingStrategy) {
+    ModelMapper modelMapper = new ModelMapper();
+    modelMapper.getConfiguration()
+        .setFieldMatchingEnabled(true)
+        .setFieldAccessLevel(AccessLevel.PACKAGE_PRIVATE)
+        .setAmbiguityIgnored(true)
+        .setMatchingStrategy(matchingStrategy);
+    return modelMapper;
+  }
+
+  private static List<String> describe(TypeMap<?, ?> typeMap) {
+    List<String> descriptions = new ArrayList<String>();
+    for (Mapping mapping : typeMap.getMappings()) {
+      StringBuilder description = new StringBuilder(mapping.getPath()).append(" <- ");
+      if (mapping instanceof PropertyMapping)
+        for (PropertyInfo sourceProperty : ((PropertyMapping) mapping).getSourceProperties())
+          description.append(sourceProperty.getName()).append('.');
+      descriptions.add(description.toString());
+    }
+    return descriptions;
+  }
+
+  private static void assertMatchesLikeUnindexed(MatchingStrategy matchingStrategy) {
+    TypeMap<Order, OrderDto> indexed = modelMapper(matchingStrategy).createTypeMap(Order.class,
+        OrderDto.class);
+    TypeMap<Order, OrderDto> unindexed = modelMapper(new UnindexedStrategy(matchingStrategy))
+        .createTypeMap(Order.class, OrderDto.class);
+
+    assertEquals(describe(indexed), describe(unindexed));
+  }
+
+  public void shouldMatchStandardLikeUnindexed() {
+    assertMatchesLikeUnindexed(MatchingStrategies.STANDARD);
+  }
+
+  public void shouldMatchLooseLikeUnindexed() {
+    assertMatchesLikeUnindexed(MatchingStrategies.LOOSE);
+  }
+
+  public void shouldMatchCombinedTokens() {
+    TypeMap<Order, OrderDto> typeMap = modelMapper(MatchingStrategies.STANDARD)
+        .createTypeMap(Order.class, OrderDto.class);
+
+    List<String> descriptions = describe(typeMap);
+    assertTrue(descriptions.contains("customerLastname. <- customer.lastName."));
+    assertTrue(descriptions.contains("orderid. <- orderId."));
+  }
+}
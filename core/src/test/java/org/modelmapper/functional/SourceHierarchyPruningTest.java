@@ -0,0 +1,120 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.modelmapper.convention.MatchingStrategies;
+import org.modelmapper.functional.InexactMatchingIndexTest.UnindexedStrategy;
+import org.modelmapper.spi.Mapping;
+import org.modelmapper.spi.MatchingStrategy;
+import org.modelmapper.spi.PropertyInfo;
+import org.modelmapper.spi.PropertyMapping;
+import org.testng.annotations.Test;
+
+/**
+ * Asserts that skipping source hierarchies which cannot match a destination, including value
+ * objects nested under many paths and recursive types, builds the same mappings as walking them.
+ */
+@Test
+public class SourceHierarchyPruningTest {
+  static class Money {
+    String amount;
+    String currency;
+  }
+
+  static class Address {
+    String street;
+    String city;
+    Money deposit;
+  }
+
+  static class Customer {
+    String name;
+    Address home;
+    Address work;
+    Money balance;
+    Customer referrer;
+  }
+
+  static class Order {
+    Customer buyer;
+    Customer seller;
+    Address shipping;
+    Money total;
+  }
+
+  static class OrderDto {
+    String buyerName;
+    String sellerHomeCity;
+    String shippingStreet;
+    String totalAmount;
+    String buyerReferrerName;
+    String workDepositCurrency;
+    String comment;
+  }
+
+  private static ModelMapper modelMapper(MatchingStrategy matchingStrategy) {
+    ModelMapper modelMapper = new ModelMapper();
+    modelMapper.getConfiguration()
+        .setFieldMatchingEnabled(true)
+        .setFieldAccessLevel(AccessLevel.PACKAGE_PRIVATE)
+        .setAmbiguityIgnored(true)
+        .setMatchingStrategy(matchingStrategy);
+    return modelMapper;
+  }
+
+  private static List<String> describe(TypeMap<?, ?> typeMap) {
+    List<String> descriptions = new ArrayList<String>();
+    for (Mapping mapping : typeMap.getMappings()) {
+      StringBuilder description = new StringBuilder(mapping.getPath()).append(" <- ");
+      if (mapping instanceof PropertyMapping)
+        for (PropertyInfo sourceProperty : ((PropertyMapping) mapping).getSourceProperties())
+          description.append(sourceProperty.getName()).append('.');
+      descriptions.add(description.toString());
+    }
+    return descriptions;
+  }
+
+  private static void assertMatchesLikeWalking(MatchingStrategy matchingStrategy) {
+    TypeMap<Order, OrderDto> pruned = modelMapper(matchingStrategy).createTypeMap(Order.class,
+        OrderDto.class);
+    TypeMap<Order, OrderDto> walked = modelMapper(new UnindexedStrategy(matchingStrategy))
+        .createTypeMap(Order.class, OrderDto.class);
+
+    assertEquals(describe(pruned), describe(walked));
+  }
+
+  public void shouldMatchStandardLikeWalking() {
+    assertMatchesLikeWalking(MatchingStrategies.STANDARD);
+  }
+
+  public void shouldMatchLooseLikeWalking() {
+    assertMatchesLikeWalking(MatchingStrategies.LOOSE);
+  }
+
+  public void shouldMapNestedValueObjects() {
+    Order order = new Order();
+    order.buyer = new Customer();
+    order.buyer.name = "joe";
+    order.buyer.referrer = new Customer();
+    order.buyer.referrer.name = "sue";
+    order.seller = new Customer();
+    order.seller.home = new Address();
+    order.seller.home.city = "springfield";
+    order.total = new Money();
+    order.total.amount = "10";
+
+    OrderDto dto = modelMapper(MatchingStrategies.STANDARD).map(order, OrderDto.class);
+
+    assertEquals(dto.buyerName, "joe");
+    assertEquals(dto.buyerReferrerName, "sue");
+    assertEquals(dto.sellerHomeCity, "springfield");
+    assertEquals(dto.totalAmount, "10");
+    assertEquals(dto.comment, null);
+  }
+}
@@ -0,0 +1,145 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+import org.modelmapper.convention.MatchingStrategies;
+import org.modelmapper.spi.Mapping;
+import org.modelmapper.spi.MatchingStrategy;
+import org.modelmapper.spi.PropertyInfo;
+import org.modelmapper.spi.PropertyMapping;
+import org.modelmapper.spi.PropertyNameInfo;
+import org.testng.annotations.Test;
+
+/**
+ * Asserts that strict matching, which looks accessors up by their tokens, builds the same mappings
+ * as walking every source accessor does.
+ */
+@Test
+public class StrictMatchingIndexTest {
+  /** Strict matching that is not recognized as such, so that every source accessor is walked */
+  static class WalkingStrictStrategy implements MatchingStrategy {
+    public boolean isExact() {
+      return true;
+    }
+
+    public boolean matches(PropertyNameInfo propertyNameInfo) {
+      return MatchingStrategies.STRICT.matches(propertyNameInfo);
+    }
+  }
+
+  static class Address {
+    String street;
+    String city;
+  }
+
+  static class Customer {
+    String name;
+    Address address;
+  }
+
+  static class Order {
+    String ID;
+    String customerName;
+    Customer customer;
+    Address billing;
+    Order parent;
+  }
+
+  static class AddressDto {
+    String street;
+    String city;
+  }
+
+  static class CustomerDto {
+    String name;
+    AddressDto address;
+  }
+
+  static class OrderDto {
+    String id;
+    String customerName;
+    CustomerDto customer;
+    AddressDto billing;
+    String billingStreet;
+    OrderDto parent;
+  }
+
+  private static ModelMapper modelMapper(MatchingStrategy matchingStrategy) {
+    ModelMapper modelMapper = new ModelMapper();
+    modelMapper.getConfiguration()
+        .setFieldMatchingEnabled(true)
+        .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PACKAGE_PRIVATE)
+        .setAmbiguityIgnored(true)
+        .setMatchingStrategy(matchingStrategy);
+    return modelMapper;
+  }
+
+  private static List<String> describe(TypeMap<?, ?> typeMap) {
+    List<String> descriptions = new ArrayList<String>();
+    for (Mapping mapping : typeMap.getMappings()) {
+      StringBuilder description = new StringBuilder(mapping.getPath()).append(" <- ");
+      if (mapping instanceof PropertyMapping)
+        for (PropertyInfo sourceProperty : ((PropertyMapping) mapping).getSourceProperties())
+          description.append(sourceProperty.getName()).append('.');
+      descriptions.add(description.toString());
+    }
+    return descriptions;
+  }
+
+  public void shouldMatchLikeWalkingAccessors() {
+    TypeMap<Order, OrderDto> indexed = modelMapper(MatchingStrategies.STRICT)
+        .createTypeMap(Order.class, OrderDto.class);
+    TypeMap<Order, OrderDto> walked = modelMapper(new WalkingStrictStrategy())
+        .createTypeMap(Order.class, OrderDto.class);
+
+    assertEquals(describe(indexed), describe(walked));
+  }
+
+  public void shouldMapLikeWalkingAccessors() {
+    Order order = new Order();
+    order.ID = "1";
+    order.customerName = "Joe";
+    order.customer = new Customer();
+    order.customer.name = "Joe Smith";
+    order.customer.address = new Address();
+    order.customer.address.street = "Main";
+    order.billing = new Address();
+    order.billing.city = "Springfield";
+
+    OrderDto indexed = modelMapper(MatchingStrategies.STRICT).map(order, OrderDto.class);
+    OrderDto walked = modelMapper(new WalkingStrictStrategy()).map(order, OrderDto.class);
+
+    assertEquals(indexed.id, "1");
+    assertEquals(indexed.customerName, walked.customerName);
+    assertEquals(indexed.customer.name, walked.customer.name);
+    assertEquals(indexed.customer.address.street, walked.customer.address.street);
+    assertEquals(indexed.billing.city, walked.billing.city);
+    assertEquals(indexed.billingStreet, walked.billingStreet);
+  }
+
+  public void shouldMatchValueReaderSourcesLikeWalkingAccessors() {
+    Map<String, Object> address = new HashMap<String, Object>();
+    address.put("street", "Main");
+    Map<String, Object> customer = new HashMap<String, Object>();
+    customer.put("name", "Joe Smith");
+    customer.put("address", address);
+    Map<String, Object> order = new HashMap<String, Object>();
+    order.put("id", "1");
+    order.put("customer", customer);
+
+    OrderDto indexed = modelMapper(MatchingStrategies.STRICT).map(order, OrderDto.class);
+    OrderDto walked = modelMapper(new WalkingStrictStrategy()).map(order, OrderDto.class);
+
+    assertEquals(indexed.id, walked.id);
+    assertEquals(indexed.customer.name, walked.customer.name);
+    assertEquals(indexed.customer.address.street, "Main");
+    assertEquals(indexed.customer.address.street, walked.customer.address.street);
+  }
+}
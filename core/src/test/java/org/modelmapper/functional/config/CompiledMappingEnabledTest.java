@@ -0,0 +1,265 @@
+package org.modelmapper.functional.config;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.PropertyMap;
+import org.modelmapper.TypeMap;
+import org.modelmapper.spi.CompilationListener;
+import org.modelmapper.spi.ConditionalConverter;
+import org.modelmapper.spi.MappingContext;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class CompiledMappingEnabledTest extends AbstractTest {
+  enum Color {
+    RED, GREEN
+  }
+
+  static class Address {
+    String street;
+
+    Address(String street) {
+      this.street = street;
+    }
+  }
+
+  static class Source {
+    String name;
+    int age;
+    Integer count;
+    int total;
+    Long serial;
+    boolean active;
+    Color color;
+    Address address;
+  }
+
+  static class Destination {
+    String name;
+    Integer age;
+    int count;
+    long total;
+    long serial;
+    Boolean active;
+    Color color;
+    String addressStreet;
+  }
+
+  public static class Bean {
+    private String value;
+    private short size;
+
+    public String getValue() {
+      return value;
+    }
+
+    public void setValue(String value) {
+      this.value = value;
+    }
+
+    public short getSize() {
+      return size;
+    }
+
+    public void setSize(short size) {
+      this.size = size;
+    }
+  }
+
+  public static class BeanDto {
+    private String value;
+    private double size;
+
+    public String getValue() {
+      return value;
+    }
+
+    public BeanDto setValue(String value) {
+      this.value = value;
+      return this;
+    }
+
+    public double getSize() {
+      return size;
+    }
+
+    public void setSize(double size) {
+      this.size = size;
+    }
+  }
+
+  @BeforeMethod
+  public void enableCompiledMapping() {
+    modelMapper.getConfiguration().setCompiledMappingEnabled(true);
+  }
+
+  private static Source createSource() {
+    Source source = new Source();
+    source.name = "joe";
+    source.age = 42;
+    source.count = 7;
+    source.total = 100;
+    source.serial = 5L;
+    source.active = true;
+    source.color = Color.GREEN;
+    source.address = new Address("main");
+    return source;
+  }
+
+  public void shouldMap() {
+    Destination destination = modelMapper.map(createSource(), Destination.class);
+
+    assertEquals(destination.name, "joe");
+    assertEquals(destination.age, Integer.valueOf(42));
+    assertEquals(destination.count, 7);
+    assertEquals(destination.total, 100L);
+    assertEquals(destination.serial, 5L);
+    assertEquals(destination.active, Boolean.TRUE);
+    assertEquals(destination.color, Color.GREEN);
+    assertEquals(destination.addressStreet, "main");
+  }
+
+  public void shouldMapRepeatedlyToProvidedDestination() {
+    for (int i = 0; i < 3; i++) {
+      Source source = createSource();
+      source.age = i;
+      Destination destination = new Destination();
+      modelMapper.map(source, destination);
+
+      assertEquals(destination.age, Integer.valueOf(i));
+      assertEquals(destination.addressStreet, "main");
+    }
+  }
+
+  public void shouldMapNullValues() {
+    Source source = new Source();
+    Destination destination = new Destination();
+    destination.name = "name";
+    destination.count = 3;
+    destination.serial = 4L;
+    destination.addressStreet = "street";
+    modelMapper.map(source, destination);
+
+    assertNull(destination.name);
+    assertEquals(destination.count, 0);
+    assertEquals(destination.serial, 0L);
+    assertNull(destination.addressStreet);
+  }
+
+  public void shouldSkipNullValues() {
+    modelMapper.getConfiguration().setSkipNullEnabled(true);
+    Source source = new Source();
+    Destination destination = new Destination();
+    destination.name = "name";
+    destination.count = 3;
+    destination.addressStreet = "street";
+    modelMapper.map(source, destination);
+
+    assertEquals(destination.name, "name");
+    assertEquals(destination.count, 3);
+    assertEquals(destination.addressStreet, "street");
+  }
+
+  public void shouldMapAccessorsAndMutators() {
+    Bean bean = new Bean();
+    bean.setValue("value");
+    bean.setSize((short) 3);
+    BeanDto dto = modelMapper.map(bean, BeanDto.class);
+
+    assertEquals(dto.getValue(), "value");
+    assertEquals(dto.getSize(), 3.0d);
+  }
+
+  public void shouldMapTypeMapWithPropertyConverter() {
+    modelMapper.addMappings(new PropertyMap<Bean, BeanDto>() {
+      @Override
+      protected void configure() {
+        using(new AbstractConverter<String, String>() {
+          @Override
+          protected String convert(String source) {
+            return source.toUpperCase();
+          }
+        }).map(source.getValue()).setValue(null);
+      }
+    });
+
+    Bean bean = new Bean();
+    bean.setValue("value");
+    bean.setSize((short) 3);
+    BeanDto dto = modelMapper.map(bean, BeanDto.class);
+
+    assertEquals(dto.getValue(), "VALUE");
+    assertEquals(dto.getSize(), 3.0d);
+  }
+
+  public void shouldMapWithConverterAddedAfterCompilation() {
+    modelMapper.map(createSource(), Destination.class);
+    modelMapper.createTypeMap(Color.class, Color.class).setConverter(
+        new AbstractConverter<Color, Color>() {
+          @Override
+          protected Color convert(Color source) {
+            return Color.RED;
+          }
+        });
+
+    Destination destination = modelMapper.map(createSource(), Destination.class);
+
+    assertEquals(destination.color, Color.RED);
+    assertEquals(destination.name, "joe");
+  }
+
+  public void shouldMapWithConditionalConverterAddedAfterCompilation() {
+    final AtomicInteger deoptimizations = new AtomicInteger();
+    modelMapper.getConfiguration().setCompilationListener(new CompilationListener() {
+      public void compiled(TypeMap<?, ?> typeMap) {
+      }
+
+      public void deoptimized(TypeMap<?, ?> typeMap) {
+        deoptimizations.incrementAndGet();
+      }
+    });
+    modelMapper.map(createSource(), Destination.class);
+    modelMapper.getConfiguration().getConverters().add(0,
+        new ConditionalConverter<String, String>() {
+          public MatchResult match(Class<?> sourceType, Class<?> destinationType) {
+            return sourceType == String.class && destinationType == String.class ? MatchResult.FULL
+                : MatchResult.NONE;
+          }
+
+          public String convert(MappingContext<String, String> context) {
+            return context.getSource() == null ? null : context.getSource().toUpperCase();
+          }
+        });
+
+    Destination destination = modelMapper.map(createSource(), Destination.class);
+
+    assertEquals(destination.name, "JOE");
+    assertEquals(destination.addressStreet, "MAIN");
+    assertEquals(deoptimizations.get(), 1);
+  }
+
+  public void shouldMapTypeMapModifiedAfterCompilation() {
+    Bean bean = new Bean();
+    bean.setValue("value");
+    bean.setSize((short) 3);
+    modelMapper.map(bean, BeanDto.class);
+    modelMapper.getTypeMap(Bean.class, BeanDto.class).addMappings(
+        new PropertyMap<Bean, BeanDto>() {
+          @Override
+          protected void configure() {
+            skip().setValue(null);
+          }
+        });
+
+    BeanDto dto = modelMapper.map(bean, BeanDto.class);
+
+    assertNull(dto.getValue());
+    assertEquals(dto.getSize(), 3.0d);
+  }
+}
@@ -0,0 +1,193 @@
+package org.modelmapper.functional.config;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.TypeMap;
+import org.modelmapper.spi.CompilationListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class TieredCompilationTest extends AbstractTest {
+  private final List<String> events = new ArrayList<String>();
+
+  public static class Source {
+    private String value;
+
+    public String getValue() {
+      return value;
+    }
+
+    public void setValue(String value) {
+      this.value = value;
+    }
+  }
+
+  public static class Destination {
+    private String value;
+
+    public String getValue() {
+      return value;
+    }
+
+    public void setValue(String value) {
+      this.value = value;
+    }
+  }
+
+  static class QueueingExecutor implements Executor {
+    final List<Runnable> tasks = new ArrayList<Runnable>();
+
+    public void execute(Runnable task) {
+      tasks.add(task);
+    }
+  }
+
+  @BeforeMethod
+  public void init() {
+    events.clear();
+    modelMapper.getConfiguration()
+        .setCompiledMappingEnabled(true)
+        .setCompilationThreshold(2)
+        .setCompilationListener(new CompilationListener() {
+          public void compiled(TypeMap<?, ?> typeMap) {
+            events.add("compiled " + typeMap.getSourceType().getSimpleName());
+          }
+
+          public void deoptimized(TypeMap<?, ?> typeMap) {
+            events.add("deoptimized " + typeMap.getSourceType().getSimpleName());
+          }
+        });
+  }
+
+  private void map(String value) {
+    Source source = new Source();
+    source.setValue(value);
+    assertEquals(modelMapper.map(source, Destination.class).getValue(), value);
+  }
+
+  public void shouldCompileOnceThresholdIsCrossed() {
+    map("a");
+    map("b");
+    assertEquals(events.size(), 0);
+
+    map("c");
+    map("d");
+    assertEquals(events, listOf("compiled Source"));
+  }
+
+  public void shouldDeoptimizeWhenTypeMapIsModified() {
+    for (int i = 0; i < 3; i++)
+      map("a");
+    modelMapper.getTypeMap(Source.class, Destination.class).setPreConverter(
+        new AbstractConverter<Source, Destination>() {
+          @Override
+          protected Destination convert(Source source) {
+            return new Destination();
+          }
+        });
+
+    map("b");
+    assertEquals(events, listOf("compiled Source", "deoptimized Source"));
+    map("c");
+    map("d");
+    assertEquals(events, listOf("compiled Source", "deoptimized Source", "compiled Source"));
+  }
+
+  public void shouldCompileOnExecutor() {
+    QueueingExecutor executor = new QueueingExecutor();
+    modelMapper.getConfiguration().setCompilationExecutor(executor);
+
+    for (int i = 0; i < 5; i++)
+      map("a" + i);
+    assertEquals(executor.tasks.size(), 1);
+    assertEquals(events.size(), 0);
+
+    executor.tasks.get(0).run();
+    assertEquals(events, listOf("compiled Source"));
+    map("b");
+    assertEquals(executor.tasks.size(), 1);
+  }
+
+  public void shouldCompileOnceWhenThresholdIsCrossedConcurrently() throws Exception {
+    map("a");
+    map("b");
+    final CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            for (int j = 0; j < 10; j++)
+              map("c" + j);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    start.countDown();
+    for (Thread thread : threads)
+      thread.join();
+    assertEquals(events, listOf("compiled Source"));
+  }
+
+  public void shouldNotRecompileUncompilableTypeMapWhenTypeMapIsAdded() {
+    QueueingExecutor executor = new QueueingExecutor();
+    modelMapper.getConfiguration().setCompilationExecutor(executor);
+    modelMapper.createTypeMap(Source.class, Destination.class).setPropertyConverter(
+        new AbstractConverter<Object, Object>() {
+          @Override
+          protected Object convert(Object source) {
+            return source;
+          }
+        });
+
+    for (int i = 0; i < 3; i++)
+      map("a" + i);
+    assertEquals(executor.tasks.size(), 1);
+    executor.tasks.get(0).run();
+
+    modelMapper.createTypeMap(Destination.class, Source.class);
+    map("b");
+    assertEquals(executor.tasks.size(), 1);
+    assertEquals(events.size(), 0);
+  }
+
+  public void shouldIgnoreRejectedCompilation() {
+    modelMapper.getConfiguration().setCompilationExecutor(new Executor() {
+      public void execute(Runnable command) {
+        throw new RejectedExecutionException();
+      }
+    });
+
+    for (int i = 0; i < 4; i++)
+      map("a" + i);
+    assertEquals(events.size(), 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowOnNegativeThreshold() {
+    modelMapper.getConfiguration().setCompilationThreshold(-1);
+  }
+
+  private static List<String> listOf(String... values) {
+    List<String> list = new ArrayList<String>();
+    for (String value : values)
+      list.add(value);
+    return list;
+  }
+}
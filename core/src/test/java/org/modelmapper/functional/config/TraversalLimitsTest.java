@@ -0,0 +1,130 @@
+package org.modelmapper.functional.config;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.TypeMap;
+import org.modelmapper.config.Configuration;
+import org.modelmapper.spi.Mapping;
+import org.modelmapper.spi.PropertyInfo;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class TraversalLimitsTest extends AbstractTest {
+  static class Address {
+    String city;
+  }
+
+  static class Customer {
+    String name;
+    Address address;
+  }
+
+  static class Order {
+    Customer customer;
+  }
+
+  static class FlatOrder {
+    String customerName;
+    String customerAddressCity;
+  }
+
+  static class AddressDto {
+    String city;
+  }
+
+  static class CustomerDto {
+    String name;
+    AddressDto address;
+  }
+
+  static class OrderDto {
+    CustomerDto customer;
+  }
+
+  @BeforeMethod
+  protected void init() {
+    modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+  }
+
+  private static Set<String> paths(TypeMap<?, ?> typeMap) {
+    Set<String> paths = new HashSet<String>();
+    for (Mapping mapping : typeMap.getMappings()) {
+      StringBuilder path = new StringBuilder();
+      for (PropertyInfo destinationProperty : mapping.getDestinationProperties())
+        path.append(path.length() == 0 ? "" : ".").append(destinationProperty.getName());
+      paths.add(path.toString());
+    }
+    return paths;
+  }
+
+  public void shouldTraverseWithoutLimitsByDefault() {
+    Configuration configuration = modelMapper.getConfiguration();
+    assertEquals(configuration.getMaxSourceDepth(), 0);
+    assertEquals(configuration.getMaxDestinationDepth(), 0);
+    assertEquals(configuration.getTraversalPackages().size(), 0);
+
+    TypeMap<Order, FlatOrder> typeMap = modelMapper.createTypeMap(Order.class, FlatOrder.class);
+    assertTrue(paths(typeMap).contains("customerName"));
+    assertTrue(paths(typeMap).contains("customerAddressCity"));
+  }
+
+  public void shouldLimitSourceDepth() {
+    modelMapper.getConfiguration().setMaxSourceDepth(2);
+    TypeMap<Order, FlatOrder> typeMap = modelMapper.createTypeMap(Order.class, FlatOrder.class);
+
+    assertTrue(paths(typeMap).contains("customerName"));
+    assertFalse(paths(typeMap).contains("customerAddressCity"));
+  }
+
+  public void shouldLimitDestinationDepth() {
+    modelMapper.getConfiguration().setMaxDestinationDepth(2);
+    TypeMap<FlatOrder, OrderDto> typeMap = modelMapper.createTypeMap(FlatOrder.class,
+        OrderDto.class);
+
+    assertTrue(paths(typeMap).contains("customer.name"));
+    assertFalse(paths(typeMap).contains("customer.address.city"));
+  }
+
+  public void shouldTraverseTypesOfTraversalPackages() {
+    modelMapper.getConfiguration().setTraversalPackages("org.modelmapper.functional");
+    TypeMap<Order, FlatOrder> typeMap = modelMapper.createTypeMap(Order.class, FlatOrder.class);
+
+    assertTrue(paths(typeMap).contains("customerAddressCity"));
+  }
+
+  public void shouldNotTraverseTypesOfOtherPackages() {
+    modelMapper.getConfiguration().setTraversalPackages("org.modelmapper.functional.conf");
+    TypeMap<Order, FlatOrder> sourceTypeMap = modelMapper.createTypeMap(Order.class,
+        FlatOrder.class);
+    TypeMap<FlatOrder, OrderDto> destinationTypeMap = modelMapper.createTypeMap(FlatOrder.class,
+        OrderDto.class);
+
+    assertFalse(paths(sourceTypeMap).contains("customerName"));
+    assertFalse(paths(destinationTypeMap).contains("customer.name"));
+  }
+
+  public void shouldCopyLimits() {
+    Configuration configuration = modelMapper.getConfiguration()
+        .setMaxSourceDepth(3)
+        .setMaxDestinationDepth(4)
+        .setTraversalPackages("com.acme")
+        .copy();
+
+    assertEquals(configuration.getMaxSourceDepth(), 3);
+    assertEquals(configuration.getMaxDestinationDepth(), 4);
+    assertEquals(configuration.getTraversalPackages(), Arrays.asList("com.acme"));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowOnNegativeDepth() {
+    modelMapper.getConfiguration().setMaxSourceDepth(-1);
+  }
+}
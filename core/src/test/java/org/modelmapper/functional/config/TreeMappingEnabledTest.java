@@ -0,0 +1,128 @@
+package org.modelmapper.functional.config;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.MappingException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class TreeMappingEnabledTest extends AbstractTest {
+  static class Order {
+    Customer customer;
+    Customer billTo;
+    List<Line> lines;
+    String status;
+  }
+
+  static class Customer {
+    String name;
+
+    Customer(String name) {
+      this.name = name;
+    }
+  }
+
+  static class Line {
+    String product;
+
+    Line(String product) {
+      this.product = product;
+    }
+  }
+
+  static class OrderDTO {
+    CustomerDTO customer;
+    CustomerDTO billTo;
+    List<LineDTO> lines;
+    String status;
+  }
+
+  static class CustomerDTO {
+    String name;
+  }
+
+  static class LineDTO {
+    String product;
+  }
+
+  @BeforeMethod
+  protected void init() {
+    modelMapper.getConfiguration().setFieldMatchingEnabled(true).setTreeMappingEnabled(true);
+  }
+
+  public void shouldMapTree() {
+    Order order = new Order();
+    order.customer = new Customer("joe");
+    order.billTo = new Customer("bob");
+    order.lines = Arrays.asList(new Line("a"), new Line("b"));
+    order.status = "open";
+
+    OrderDTO dto = modelMapper.map(order, OrderDTO.class);
+
+    assertEquals(dto.customer.name, "joe");
+    assertEquals(dto.billTo.name, "bob");
+    assertEquals(dto.lines.size(), 2);
+    assertEquals(dto.lines.get(1).product, "b");
+    assertEquals(dto.status, "open");
+  }
+
+  public void shouldAllowSharedImmutableValues() {
+    Order order = new Order();
+    order.customer = new Customer("open");
+    order.status = "open";
+    order.lines = Arrays.asList(new Line("open"), new Line("open"));
+
+    assertEquals(modelMapper.map(order, OrderDTO.class).lines.get(1).product, "open");
+  }
+
+  public void shouldReportSharedReferencesWhenAssertionsAreEnabled() {
+    boolean assertionsEnabled = false;
+    assert assertionsEnabled = true;
+
+    Order order = new Order();
+    Line line = new Line("a");
+    order.lines = Arrays.asList(line, line);
+
+    try {
+      OrderDTO dto = modelMapper.map(order, OrderDTO.class);
+      assertTrue(!assertionsEnabled);
+      assertNotSame(dto.lines.get(0), dto.lines.get(1));
+    } catch (MappingException e) {
+      assertTrue(assertionsEnabled);
+      assertTrue(e.getMessage().contains("referenced more than once"));
+    }
+  }
+
+  public void shouldMapSharedReferencesToSameDestinationWhenDisabled() {
+    modelMapper.getConfiguration().setTreeMappingEnabled(false);
+    Order order = new Order();
+    Line line = new Line("a");
+    order.lines = Arrays.asList(line, line);
+
+    OrderDTO dto = modelMapper.map(order, OrderDTO.class);
+    assertSame(dto.lines.get(0), dto.lines.get(1));
+  }
+
+  public void shouldNotTrackSourcesAcrossMappings() {
+    Customer customer = new Customer("joe");
+    Order order = new Order();
+    order.customer = customer;
+
+    assertEquals(modelMapper.map(order, OrderDTO.class).customer.name, "joe");
+    assertEquals(modelMapper.map(order, OrderDTO.class).customer.name, "joe");
+    try {
+      modelMapper.mapAll(Arrays.asList(order, order), OrderDTO.class);
+    } catch (MappingException e) {
+      fail();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package org.modelmapper.functional.iterable;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.MappingException;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional")
+public class MapAllTest extends AbstractTest {
+  static class Source {
+    String value;
+
+    Source(String value) {
+      this.value = value;
+    }
+  }
+
+  static class SubSource extends Source {
+    String extra;
+
+    SubSource(String value, String extra) {
+      super(value);
+      this.extra = extra;
+    }
+  }
+
+  static class Dest {
+    Integer value;
+    String extra;
+  }
+
+  public void shouldMapIterable() {
+    List<Dest> dests = modelMapper.mapAll(
+        new LinkedHashSet<Source>(Arrays.asList(new Source("1"), new Source("2"))), Dest.class);
+
+    assertEquals(dests.size(), 2);
+    assertEquals(dests.get(0).value, Integer.valueOf(1));
+    assertEquals(dests.get(1).value, Integer.valueOf(2));
+  }
+
+  public void shouldMapNullsAndDifferentElementTypes() {
+    List<Dest> dests = modelMapper.mapAll(
+        Arrays.asList(new Source("1"), null, new SubSource("3", "x"), new Source("4")), Dest.class);
+
+    assertEquals(dests.size(), 4);
+    assertEquals(dests.get(0).value, Integer.valueOf(1));
+    assertNull(dests.get(0).extra);
+    assertNull(dests.get(1));
+    assertEquals(dests.get(2).value, Integer.valueOf(3));
+    assertEquals(dests.get(2).extra, "x");
+    assertEquals(dests.get(3).value, Integer.valueOf(4));
+  }
+
+  public void shouldMapSameSourceToDistinctDestinations() {
+    Source source = new Source("1");
+    List<Dest> dests = modelMapper.mapAll(Arrays.asList(source, source), Dest.class);
+
+    assertNotSame(dests.get(0), dests.get(1));
+    assertEquals(dests.get(1).value, Integer.valueOf(1));
+  }
+
+  public void shouldMapWithConverter() {
+    modelMapper.addConverter(new AbstractConverter<Source, Dest>() {
+      @Override
+      protected Dest convert(Source source) {
+        Dest dest = new Dest();
+        dest.extra = source.value + "!";
+        return dest;
+      }
+    });
+
+    List<Dest> dests = modelMapper.mapAll(Arrays.asList(new Source("1"), new Source("2")),
+        Dest.class);
+
+    assertEquals(dests.get(0).extra, "1!");
+    assertEquals(dests.get(1).extra, "2!");
+  }
+
+  public void shouldMapIntoArray() {
+    Dest[] dests = new Dest[3];
+    Dest[] result = modelMapper.mapAll(new Source[] { new Source("1"), new Source("2") }, dests);
+
+    assertSame(result, dests);
+    assertEquals(dests[0].value, Integer.valueOf(1));
+    assertEquals(dests[1].value, Integer.valueOf(2));
+    assertNull(dests[2]);
+  }
+
+  public void shouldMapIntoNewArrayWhenDestinationIsTooSmall() {
+    Dest[] result = modelMapper.mapAll(new Object[] { new Source("1"), new Source("2") },
+        new Dest[0]);
+
+    assertEquals(result.length, 2);
+    assertEquals(result[1].value, Integer.valueOf(2));
+  }
+
+  public void shouldThrowOnMappingError() {
+    try {
+      modelMapper.mapAll(Arrays.asList(new Source("1"), new Source("x")), Dest.class);
+      fail();
+    } catch (MappingException e) {
+      assertEquals(e.getErrorMessages().size(), 1);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package org.modelmapper.functional.iterable;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.MappingException;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional")
+public class MapLazilyTest extends AbstractTest {
+  static class Source {
+    String value;
+
+    Source(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+  }
+
+  static class Dest {
+    Integer value;
+
+    public void setValue(Integer value) {
+      this.value = value;
+    }
+  }
+
+  /** Counts the elements that have been returned. */
+  static class CountingIterator implements Iterator<Source> {
+    final Iterator<Source> delegate;
+    int count;
+
+    CountingIterator(Iterator<Source> delegate) {
+      this.delegate = delegate;
+    }
+
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    public Source next() {
+      count++;
+      return delegate.next();
+    }
+
+    public void remove() {
+      delegate.remove();
+    }
+  }
+
+  public void shouldMapElementsAsTheyAreIterated() {
+    CountingIterator sources = new CountingIterator(
+        Arrays.asList(new Source("1"), null, new Source("3")).iterator());
+    Iterator<Dest> dests = modelMapper.mapLazily(sources, Dest.class);
+    assertEquals(sources.count, 0);
+
+    assertEquals(dests.next().value, Integer.valueOf(1));
+    assertEquals(sources.count, 1);
+    assertNull(dests.next());
+    assertEquals(dests.next().value, Integer.valueOf(3));
+    assertFalse(dests.hasNext());
+  }
+
+  public void shouldIterateMoreThanOnce() {
+    Iterable<Dest> dests = modelMapper.mapLazily(
+        Arrays.asList(new Source("1"), new Source("2")), Dest.class);
+
+    for (int i = 0; i < 2; i++) {
+      int expected = 1;
+      for (Dest dest : dests)
+        assertEquals(dest.value, Integer.valueOf(expected++));
+      assertEquals(expected, 3);
+    }
+  }
+
+  public void shouldRemoveFromSource() {
+    List<Source> sources = new ArrayList<Source>(Arrays.asList(new Source("1"), new Source("2")));
+    Iterator<Dest> dests = modelMapper.mapLazily(sources, Dest.class).iterator();
+    dests.next();
+    dests.remove();
+
+    assertEquals(sources.size(), 1);
+    assertEquals(sources.get(0).value, "2");
+  }
+
+  public void shouldContinueAfterFailedElement() {
+    Iterator<Dest> dests = modelMapper.mapLazily(
+        Arrays.asList(new Source("a"), new Source("2")).iterator(), Dest.class);
+
+    try {
+      dests.next();
+      fail();
+    } catch (MappingException e) {
+      assertEquals(e.getErrorMessages().size(), 1);
+    }
+
+    assertTrue(dests.hasNext());
+    assertEquals(dests.next().value, Integer.valueOf(2));
+  }
+}
@@ -0,0 +1,166 @@
+package org.modelmapper.functional.iterable;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.MappingException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional")
+public class ParallelMappingTest extends AbstractTest {
+  private static final int SIZE = 2000;
+  private ExecutorService executor;
+
+  static class Item {
+    String value;
+
+    Item(String value) {
+      this.value = value;
+    }
+  }
+
+  static class ItemDTO {
+    Integer value;
+  }
+
+  static class Source {
+    List<Item> items;
+    Item[] itemArray;
+    Item selected;
+  }
+
+  static class Dest {
+    List<ItemDTO> items;
+    ItemDTO[] itemArray;
+    ItemDTO selected;
+  }
+
+  @BeforeMethod
+  protected void init() {
+    executor = Executors.newFixedThreadPool(4);
+    modelMapper.getConfiguration()
+        .setFieldMatchingEnabled(true)
+        .setParallelMappingExecutor(executor)
+        .setParallelMappingThreshold(100);
+  }
+
+  @AfterMethod
+  protected void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static Source createSource() {
+    Source source = new Source();
+    source.items = new ArrayList<Item>();
+    source.itemArray = new Item[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      source.items.add(i == 5 ? null : new Item(String.valueOf(i)));
+      source.itemArray[i] = new Item(String.valueOf(i));
+    }
+    return source;
+  }
+
+  public void shouldMapElementsInSourceOrder() {
+    Dest dest = modelMapper.map(createSource(), Dest.class);
+
+    assertEquals(dest.items.size(), SIZE);
+    assertEquals(dest.itemArray.length, SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      if (i == 5)
+        assertNull(dest.items.get(i));
+      else
+        assertEquals(dest.items.get(i).value, Integer.valueOf(i));
+      assertEquals(dest.itemArray[i].value, Integer.valueOf(i));
+    }
+  }
+
+  public void shouldMergeOntoExistingElements() {
+    Source source = createSource();
+    Dest dest = new Dest();
+    dest.items = new ArrayList<ItemDTO>();
+    for (int i = 0; i < SIZE + 1; i++)
+      dest.items.add(new ItemDTO());
+    ItemDTO first = dest.items.get(0);
+    ItemDTO last = dest.items.get(SIZE);
+
+    modelMapper.map(source, dest);
+
+    assertEquals(dest.items.size(), SIZE + 1);
+    assertSame(dest.items.get(0), first);
+    assertEquals(first.value, Integer.valueOf(0));
+    assertEquals(dest.items.get(SIZE - 1).value, Integer.valueOf(SIZE - 1));
+    assertSame(dest.items.get(SIZE), last);
+  }
+
+  public void shouldMapSequentiallyBelowThreshold() {
+    modelMapper.getConfiguration().setParallelMappingThreshold(SIZE + 1);
+    final List<Thread> threads = new ArrayList<Thread>();
+    modelMapper.addConverter(new AbstractConverter<Item, ItemDTO>() {
+      @Override
+      protected ItemDTO convert(Item source) {
+        synchronized (threads) {
+          threads.add(Thread.currentThread());
+        }
+        return new ItemDTO();
+      }
+    });
+
+    modelMapper.map(createSource(), Dest.class);
+
+    for (Thread thread : threads)
+      assertSame(thread, Thread.currentThread());
+  }
+
+  public void shouldAggregateErrorsFromAllChunks() {
+    Source source = createSource();
+    source.items.set(1, new Item("a"));
+    source.items.set(SIZE - 1, new Item("b"));
+
+    try {
+      modelMapper.map(source, Dest.class);
+      fail();
+    } catch (MappingException e) {
+      assertEquals(e.getErrorMessages().size(), 2);
+    }
+  }
+
+  public void shouldMapSequentiallyOnceDisabled() {
+    modelMapper.getConfiguration().setParallelMappingExecutor(null);
+    final List<Thread> threads = new ArrayList<Thread>();
+    modelMapper.addConverter(new AbstractConverter<Item, ItemDTO>() {
+      @Override
+      protected ItemDTO convert(Item source) {
+        synchronized (threads) {
+          threads.add(Thread.currentThread());
+        }
+        return new ItemDTO();
+      }
+    });
+
+    modelMapper.map(createSource(), Dest.class);
+
+    assertNull(modelMapper.getConfiguration().getParallelMappingExecutor());
+    for (Thread thread : threads)
+      assertSame(thread, Thread.currentThread());
+  }
+
+  public void shouldShareDestinationsMappedInParallel() {
+    Source source = createSource();
+    source.selected = source.items.get(SIZE - 1);
+
+    Dest dest = modelMapper.map(source, Dest.class);
+
+    assertSame(dest.selected, dest.items.get(SIZE - 1));
+  }
+}
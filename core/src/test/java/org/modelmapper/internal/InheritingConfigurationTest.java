@@ -52,6 +52,21 @@ public class InheritingConfigurationTest {
     assertFalse(config1.equals(config2));
   }
   
+  public void testEqualsAndHashCodeReflectParentChanges() {
+    InheritingConfiguration parent = new InheritingConfiguration();
+    InheritingConfiguration child = new InheritingConfiguration(parent, true);
+    InheritingConfiguration other = new InheritingConfiguration();
+
+    assertEquals(child, other);
+    assertEquals(child.hashCode(), other.hashCode());
+    parent.setFieldAccessLevel(AccessLevel.PRIVATE);
+    assertFalse(child.equals(other));
+    assertEquals(child.hashCode(), parent.hashCode());
+    other.setFieldAccessLevel(AccessLevel.PRIVATE);
+    assertEquals(child, other);
+    assertEquals(child.hashCode(), other.hashCode());
+  }
+
   public void testFullMatchingRequiredDefualtsToFalse() {
 	  InheritingConfiguration config = new InheritingConfiguration();
 	  assertFalse(config.isFullTypeMatchingRequired());
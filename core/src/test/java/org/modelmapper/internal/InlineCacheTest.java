@@ -0,0 +1,163 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.PropertyMap;
+import org.modelmapper.spi.ConditionalConverter;
+import org.modelmapper.spi.MappingContext;
+import org.testng.annotations.Test;
+
+@Test
+public class InlineCacheTest extends AbstractTest {
+  public static class Animal {
+    private String name;
+
+    public Animal() {
+    }
+
+    Animal(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  public static class Dog extends Animal {
+    Dog(String name) {
+      super(name);
+    }
+  }
+
+  public static class Cat extends Animal {
+    Cat(String name) {
+      super(name);
+    }
+  }
+
+  public static class Bird extends Animal {
+    Bird(String name) {
+      super(name);
+    }
+  }
+
+  public static class Owner {
+    private Animal pet;
+
+    Owner(Animal pet) {
+      this.pet = pet;
+    }
+
+    public Animal getPet() {
+      return pet;
+    }
+  }
+
+  public static class PetDto {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  public static class OwnerDto {
+    private PetDto pet;
+
+    public PetDto getPet() {
+      return pet;
+    }
+
+    public void setPet(PetDto pet) {
+      this.pet = pet;
+    }
+  }
+
+  private static InlineCache.Entry entry(Class<?> type, String typeMapName, int version) {
+    @SuppressWarnings("unchecked")
+    Class<Object> sourceType = (Class<Object>) type;
+    return new InlineCache.Entry(type, sourceType, typeMapName, null, null, version, 0);
+  }
+
+  public void shouldRememberTwoMostRecentTypes() {
+    InlineCache cache = new InlineCache();
+    InlineCache.Entry dog = entry(Dog.class, null, 1);
+    InlineCache.Entry cat = entry(Cat.class, null, 1);
+    cache.put(dog);
+    cache.put(cat);
+
+    assertSame(cache.get(Dog.class, null, 1, 0), dog);
+    assertSame(cache.get(Cat.class, null, 1, 0), cat);
+
+    cache.put(entry(Bird.class, null, 1));
+    assertNull(cache.get(Dog.class, null, 1, 0));
+    assertSame(cache.get(Cat.class, null, 1, 0), cat);
+  }
+
+  public void shouldMissForOtherVersionsOrTypeMapNames() {
+    InlineCache cache = new InlineCache();
+    cache.put(entry(Dog.class, "name", 1));
+
+    assertNull(cache.get(Dog.class, "name", 2, 0));
+    assertNull(cache.get(Dog.class, "name", 1, 1));
+    assertNull(cache.get(Dog.class, null, 1, 0));
+    assertEquals(cache.get(Dog.class, "name", 1, 0).runtimeType, Dog.class);
+  }
+
+  public void shouldMapPolymorphicProperties() {
+    Animal[] pets = { new Dog("rex"), new Cat("tom"), new Bird("tweety"), new Dog("fido") };
+    for (int i = 0; i < 3; i++)
+      for (Animal pet : pets)
+        assertEquals(modelMapper.map(new Owner(pet), OwnerDto.class).getPet().getName(),
+            pet.getName());
+  }
+
+  public void shouldResolveAgainWhenTypeMapIsAdded() {
+    ConditionalConverter<Object, Object> dogConverter = new ConditionalConverter<Object, Object>() {
+      public MatchResult match(Class<?> sourceType, Class<?> destinationType) {
+        return sourceType == Dog.class && destinationType == PetDto.class ? MatchResult.FULL
+            : MatchResult.NONE;
+      }
+
+      public Object convert(MappingContext<Object, Object> context) {
+        PetDto dto = new PetDto();
+        dto.setName("converted " + ((Dog) context.getSource()).getName());
+        return dto;
+      }
+    };
+    modelMapper.getConfiguration().getConverters().add(0, dogConverter);
+    modelMapper.emptyTypeMap(Owner.class, OwnerDto.class).addMappings(
+        new PropertyMap<Owner, OwnerDto>() {
+          @Override
+          protected void configure() {
+            map(source.getPet()).setPet(null);
+          }
+        });
+    assertEquals(modelMapper.map(new Owner(new Dog("rex")), OwnerDto.class).getPet().getName(),
+        "converted rex");
+
+    modelMapper.createTypeMap(Dog.class, PetDto.class).setConverter(
+        new AbstractConverter<Dog, PetDto>() {
+          @Override
+          protected PetDto convert(Dog source) {
+            PetDto dto = new PetDto();
+            dto.setName("dog " + source.getName());
+            return dto;
+          }
+        });
+
+    assertEquals(modelMapper.map(new Owner(new Dog("rex")), OwnerDto.class).getPet().getName(),
+        "dog rex");
+    assertEquals(modelMapper.map(new Owner(new Cat("tom")), OwnerDto.class).getPet().getName(),
+        "tom");
+  }
+}
@@ -0,0 +1,73 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+
+import org.testng.annotations.Test;
+
+@Test
+public class InstantiatorTest {
+  public static class PublicType {
+  }
+
+  static class PrivateConstructorType {
+    private PrivateConstructorType() {
+    }
+  }
+
+  public static class FailingType {
+    public FailingType() {
+      throw new IllegalStateException("failed");
+    }
+  }
+
+  interface InterfaceType {
+  }
+
+  public void shouldInstantiateTypes() throws Exception {
+    assertEquals(Instantiator.forType(PublicType.class).newInstance().getClass(), PublicType.class);
+    assertEquals(Instantiator.forType(PrivateConstructorType.class).newInstance().getClass(),
+        PrivateConstructorType.class);
+    assertEquals(Instantiator.forType(ArrayList.class).newInstance().getClass(), ArrayList.class);
+  }
+
+  public void shouldCreateNewInstances() throws Exception {
+    Instantiator instantiator = Instantiator.forType(PublicType.class);
+    assertTrue(instantiator.newInstance() != instantiator.newInstance());
+  }
+
+  public void shouldWrapConstructorFailures() throws Exception {
+    try {
+      Instantiator.forType(FailingType.class).newInstance();
+      fail();
+    } catch (InvocationTargetException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  public void shouldRetainResolutionFailures() {
+    Instantiator instantiator = Instantiator.forType(InterfaceType.class);
+    Exception first = null;
+    for (int i = 0; i < 2; i++) {
+      try {
+        instantiator.newInstance();
+        fail();
+      } catch (Exception e) {
+        assertTrue(e instanceof NoSuchMethodException);
+        if (first == null)
+          first = e;
+        assertSame(e, first);
+      }
+    }
+  }
+
+  public void shouldStoreInstantiatorsByType() {
+    TypeInfoStore store = new TypeInfoStore();
+    assertSame(store.instantiatorFor(PublicType.class), store.instantiatorFor(PublicType.class));
+  }
+}
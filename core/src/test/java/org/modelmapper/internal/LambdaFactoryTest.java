@@ -0,0 +1,141 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import org.modelmapper.MappingException;
+import org.modelmapper.internal.PropertyInfoImpl.MethodAccessor;
+import org.modelmapper.internal.PropertyInfoImpl.MethodMutator;
+import org.testng.annotations.Test;
+
+@Test
+public class LambdaFactoryTest {
+  public static class Person {
+    private String name;
+    private int age;
+    private long id;
+    private double weight;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public Person setAge(int age) {
+      this.age = age;
+      return this;
+    }
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public double getWeight() {
+      return weight;
+    }
+
+    public void setWeight(double weight) {
+      this.weight = weight;
+    }
+
+    public String getFailure() {
+      throw new IllegalStateException();
+    }
+  }
+
+  static class PackagePrivatePerson {
+    String name;
+
+    String getName() {
+      return name;
+    }
+
+    void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  public void shouldGetAndSetThroughLambdas() throws Exception {
+    LambdaFactory.Getter nameGetter = LambdaFactory.getterFor(Person.class.getMethod("getName"));
+    LambdaFactory.Setter nameSetter = LambdaFactory.setterFor(
+        Person.class.getMethod("setName", String.class));
+    assertNotNull(nameGetter);
+    assertNotNull(nameSetter);
+
+    Person person = new Person();
+    nameSetter.set(person, "joe");
+    assertEquals(nameGetter.get(person), "joe");
+  }
+
+  public void shouldShareLambdasForTheSameMember() throws Exception {
+    LambdaFactory.Getter nameGetter = LambdaFactory.getterFor(Person.class.getMethod("getName"));
+    assertSame(LambdaFactory.getterFor(Person.class.getMethod("getName")), nameGetter);
+    assertNotSame(LambdaFactory.primitiveGetterFor(Person.class.getMethod("getAge")),
+        LambdaFactory.getterFor(Person.class.getMethod("getAge")));
+  }
+
+  public void shouldGetAndSetPrimitivesThroughLambdas() throws Exception {
+    LambdaFactory.Getter ageGetter = LambdaFactory.getterFor(Person.class.getMethod("getAge"));
+    LambdaFactory.Setter ageSetter = LambdaFactory.setterFor(
+        Person.class.getMethod("setAge", int.class));
+    assertNotNull(ageGetter);
+    assertNotNull(ageSetter);
+
+    Person person = new Person();
+    ageSetter.set(person, 42);
+    assertEquals(ageGetter.get(person), Integer.valueOf(42));
+  }
+
+  public void shouldGetAndSetWithOrWithoutLambdas() throws Exception {
+    MethodAccessor accessor = new MethodAccessor(PackagePrivatePerson.class,
+        PackagePrivatePerson.class.getDeclaredMethod("getName"), "name");
+    MethodMutator mutator = new MethodMutator(PackagePrivatePerson.class,
+        PackagePrivatePerson.class.getDeclaredMethod("setName", String.class), "name");
+
+    PackagePrivatePerson person = new PackagePrivatePerson();
+    mutator.setValue(person, "joe");
+    assertEquals(accessor.getValue(person), "joe");
+  }
+
+  public void shouldWidenNarrowerWrappers() throws Exception {
+    MethodMutator idMutator = new MethodMutator(Person.class,
+        Person.class.getMethod("setId", long.class), "id");
+    MethodMutator weightMutator = new MethodMutator(Person.class,
+        Person.class.getMethod("setWeight", double.class), "weight");
+
+    Person person = new Person();
+    idMutator.setValue(person, Integer.valueOf(7));
+    weightMutator.setValue(person, Integer.valueOf(3));
+    assertEquals(person.getId(), 7L);
+    assertEquals(person.getWeight(), 3.0d);
+
+    idMutator.setValue(person, Long.valueOf(8));
+    assertEquals(person.getId(), 8L);
+  }
+
+  public void shouldWrapExceptionsThrownThroughLambdas() throws Exception {
+    MethodAccessor accessor = new MethodAccessor(Person.class,
+        Person.class.getMethod("getFailure"), "failure");
+
+    try {
+      accessor.getValue(new Person());
+      fail();
+    } catch (MappingException e) {
+      assertEquals(e.getCause().getCause().getClass(), IllegalStateException.class);
+    }
+  }
+}
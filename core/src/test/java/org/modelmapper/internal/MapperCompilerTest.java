@@ -0,0 +1,123 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.Fixtures;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.testng.annotations.Test;
+
+@Test
+public class MapperCompilerTest extends AbstractTest {
+  static class Source {
+    String name;
+    int age;
+    Inner inner;
+  }
+
+  static class Inner {
+    Integer value;
+  }
+
+  static class Destination {
+    String name;
+    long age;
+    int innerValue;
+  }
+
+  static class PrivateSource {
+    private String name;
+  }
+
+  static class PrivateDestination {
+    private String name;
+  }
+
+  private CompiledMapper compiledMapperFor(Class<?> sourceType, Class<?> destinationType) {
+    return ((TypeMapImpl<?, ?>) modelMapper.getTypeMap(sourceType, destinationType))
+        .getCompiledMapperForMapping();
+  }
+
+  public void shouldCompileTypeMap() {
+    modelMapper.createTypeMap(Source.class, Destination.class);
+    assertNotNull(compiledMapperFor(Source.class, Destination.class));
+  }
+
+  public void shouldReuseCompiledMapperUntilTypeMapIsModified() {
+    modelMapper.createTypeMap(Source.class, Destination.class);
+    CompiledMapper compiledMapper = compiledMapperFor(Source.class, Destination.class);
+    assertSame(compiledMapperFor(Source.class, Destination.class), compiledMapper);
+
+    modelMapper.getTypeMap(Source.class, Destination.class).setPreConverter(
+        new AbstractConverter<Source, Destination>() {
+          @Override
+          protected Destination convert(Source source) {
+            return new Destination();
+          }
+        });
+    CompiledMapper recompiledMapper = compiledMapperFor(Source.class, Destination.class);
+    assertNotNull(recompiledMapper);
+    assertNotSame(recompiledMapper, compiledMapper);
+  }
+
+  public void shouldKeepCompiledMapperWhenUnrelatedTypeMapIsAdded() {
+    modelMapper.createTypeMap(Source.class, Destination.class);
+    CompiledMapper compiledMapper = compiledMapperFor(Source.class, Destination.class);
+
+    modelMapper.createTypeMap(Destination.class, Source.class);
+    assertSame(compiledMapperFor(Source.class, Destination.class), compiledMapper);
+  }
+
+  public void shouldRecompileWhenTypeMapForTransferredValueIsAdded() {
+    modelMapper.createTypeMap(Source.class, Destination.class);
+    CompiledMapper compiledMapper = compiledMapperFor(Source.class, Destination.class);
+
+    modelMapper.createTypeMap(String.class, String.class);
+    CompiledMapper recompiledMapper = compiledMapperFor(Source.class, Destination.class);
+    assertNotSame(recompiledMapper, compiledMapper);
+  }
+
+  public void shouldShareMapperClassForEquivalentTypeMaps() {
+    modelMapper.createTypeMap(Source.class, Destination.class);
+    CompiledMapper compiledMapper = compiledMapperFor(Source.class, Destination.class);
+
+    ModelMapper otherModelMapper = Fixtures.createModelMapper();
+    otherModelMapper.createTypeMap(Source.class, Destination.class);
+    CompiledMapper otherCompiledMapper = ((TypeMapImpl<?, ?>) otherModelMapper.getTypeMap(
+        Source.class, Destination.class)).getCompiledMapperForMapping();
+    assertSame(otherCompiledMapper.getClass(), compiledMapper.getClass());
+  }
+
+  public void shouldNotCompileTypeMapWithPropertyConverter() {
+    modelMapper.createTypeMap(Source.class, Destination.class).setPropertyConverter(
+        new AbstractConverter<Object, Object>() {
+          @Override
+          protected Object convert(Object source) {
+            return source;
+          }
+        });
+    assertNull(compiledMapperFor(Source.class, Destination.class));
+  }
+
+  public void shouldNotCompileTypeMapWhenUserConverterApplies() {
+    modelMapper.addConverter(new AbstractConverter<String, String>() {
+      @Override
+      protected String convert(String source) {
+        return source;
+      }
+    });
+    modelMapper.createTypeMap(Source.class, Destination.class);
+    assertNull(compiledMapperFor(Source.class, Destination.class));
+  }
+
+  public void shouldNotCompileTypeMapWithPrivateMembers() {
+    modelMapper.getConfiguration().setFieldAccessLevel(AccessLevel.PRIVATE);
+    modelMapper.createTypeMap(PrivateSource.class, PrivateDestination.class);
+    assertNull(compiledMapperFor(PrivateSource.class, PrivateDestination.class));
+  }
+}
@@ -0,0 +1,111 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.Conditions;
+import org.modelmapper.Converter;
+import org.modelmapper.PropertyMap;
+import org.testng.annotations.Test;
+
+@Test
+public class MappingPlanTest extends AbstractTest {
+  static class Source {
+    String name;
+    Inner inner;
+  }
+
+  static class Inner {
+    String value;
+  }
+
+  public static class Destination {
+    String name;
+    String innerValue;
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public void setInnerValue(String innerValue) {
+      this.innerValue = innerValue;
+    }
+  }
+
+  private static final Converter<String, String> UPPER_CASE = new AbstractConverter<String, String>() {
+    @Override
+    protected String convert(String source) {
+      return source == null ? null : source.toUpperCase();
+    }
+  };
+
+  private MappingPlan mappingPlanFor(Class<?> sourceType, Class<?> destinationType) {
+    return ((TypeMapImpl<?, ?>) modelMapper.getTypeMap(sourceType, destinationType))
+        .getMappingPlan();
+  }
+
+  private static MappingPlan.Step stepFor(MappingPlan plan, String path) {
+    for (MappingPlan.Step step : plan.steps)
+      if (step.path.equals(path))
+        return step;
+    return null;
+  }
+
+  public void shouldResolveSteps() {
+    modelMapper.createTypeMap(Source.class, Destination.class);
+    MappingPlan plan = mappingPlanFor(Source.class, Destination.class);
+
+    assertEquals(plan.steps.length, 2);
+    MappingPlan.Step step = stepFor(plan, "innerValue.");
+    assertEquals(step.accessors.length, 2);
+    assertEquals(step.accessorPaths, new String[] { "inner.", "inner.value." });
+    assertEquals(step.destinationType, String.class);
+    assertNotNull(step.mutator);
+    assertNull(step.converter);
+    assertNull(step.condition);
+  }
+
+  public void shouldReusePlanUntilTypeMapIsModified() {
+    modelMapper.createTypeMap(Source.class, Destination.class);
+    MappingPlan plan = mappingPlanFor(Source.class, Destination.class);
+    assertSame(mappingPlanFor(Source.class, Destination.class), plan);
+
+    modelMapper.getTypeMap(Source.class, Destination.class)
+        .setPropertyCondition(Conditions.isNotNull());
+    MappingPlan newPlan = mappingPlanFor(Source.class, Destination.class);
+    assertNotSame(newPlan, plan);
+    assertNotNull(stepFor(newPlan, "name.").condition);
+  }
+
+  public void shouldResolvePropertyConverter() {
+    modelMapper.createTypeMap(Source.class, Destination.class).setPropertyConverter(UPPER_CASE);
+
+    assertSame(stepFor(mappingPlanFor(Source.class, Destination.class), "name.").converter,
+        UPPER_CASE);
+  }
+
+  public void shouldMapWithPlanResolvedAgainAfterAddMappings() {
+    Source source = new Source();
+    source.name = "joe";
+    source.inner = new Inner();
+    source.inner.value = "value";
+    assertEquals(modelMapper.map(source, Destination.class).name, "joe");
+
+    modelMapper.getTypeMap(Source.class, Destination.class).addMappings(
+        new PropertyMap<Source, Destination>() {
+          @Override
+          protected void configure() {
+            using(UPPER_CASE).map(source.name).setName(null);
+          }
+        });
+
+    Destination destination = modelMapper.map(source, Destination.class);
+    assertEquals(destination.name, "JOE");
+    assertEquals(destination.innerValue, "value");
+  }
+}
@@ -0,0 +1,47 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+@Test
+public class PathTrieTest {
+  public void shouldMatchPathsAndSubPathsOfAddedPaths() {
+    PathTrie trie = new PathTrie();
+    trie.add("customer.address.");
+    trie.add("name.");
+
+    assertTrue(trie.containsPathOrParentOf("customer.address."));
+    assertTrue(trie.containsPathOrParentOf("customer.address.street."));
+    assertTrue(trie.containsPathOrParentOf("name."));
+    assertFalse(trie.containsPathOrParentOf("customer."));
+    assertFalse(trie.containsPathOrParentOf("customer.addresses."));
+    assertFalse(trie.containsPathOrParentOf("names."));
+    assertFalse(trie.containsPathOrParentOf(""));
+  }
+
+  public void shouldMatchParentPathsOfAddedPaths() {
+    PathTrie trie = new PathTrie();
+    trie.add("customer.address.");
+
+    assertTrue(trie.containsPathOrParentOrSubPathOf("customer."));
+    assertTrue(trie.containsPathOrParentOrSubPathOf(""));
+    assertTrue(trie.containsPathOrParentOrSubPathOf("customer.address.street."));
+    assertFalse(trie.containsPathOrParentOrSubPathOf("cust."));
+    assertFalse(new PathTrie().containsPathOrParentOrSubPathOf(""));
+  }
+
+  public void shouldCopyAndClear() {
+    PathTrie trie = new PathTrie();
+    for (int i = 0; i < 10; i++)
+      trie.add("a.b" + i + ".");
+    PathTrie copy = new PathTrie(trie);
+    trie.clear();
+
+    assertFalse(trie.containsPathOrParentOf("a.b9.c."));
+    assertTrue(copy.containsPathOrParentOf("a.b9.c."));
+    copy.add("a.");
+    assertTrue(copy.containsPathOrParentOf("a.x."));
+  }
+}
@@ -0,0 +1,185 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.lang.reflect.Field;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.MappingException;
+import org.testng.annotations.Test;
+
+@Test
+public class PrimitiveTransferTest extends AbstractTest {
+  public static class Quote {
+    private int size = 7;
+    private float price = 1.5f;
+    private boolean active = true;
+    private char side = 'B';
+    private long volume = Long.MAX_VALUE;
+
+    public int getSize() {
+      return size;
+    }
+
+    public float getPrice() {
+      return price;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public char getSide() {
+      return side;
+    }
+
+    public long getVolume() {
+      return volume;
+    }
+  }
+
+  public static class QuoteDto {
+    private long size;
+    private double price;
+    private boolean active;
+    private char side;
+    private long volume;
+
+    public void setSize(long size) {
+      this.size = size;
+    }
+
+    public void setPrice(double price) {
+      this.price = price;
+    }
+
+    public void setActive(boolean active) {
+      this.active = active;
+    }
+
+    public void setSide(char side) {
+      this.side = side;
+    }
+
+    public void setVolume(long volume) {
+      this.volume = volume;
+    }
+  }
+
+  public static class NarrowQuoteDto {
+    private int volume;
+
+    public void setVolume(int volume) {
+      this.volume = volume;
+    }
+  }
+
+  public static class FailingQuote {
+    public int getSize() {
+      throw new IllegalStateException("size");
+    }
+  }
+
+  public static class SizeDto {
+    private long size;
+
+    public void setSize(long size) {
+      this.size = size;
+    }
+  }
+
+  private InheritingConfiguration configuration() {
+    return (InheritingConfiguration) modelMapper.getConfiguration();
+  }
+
+  private PrimitiveTransfer transferFor(Class<?> sourceType, Class<?> destinationType,
+      String name) {
+    return PrimitiveTransfer.create(
+        PropertyInfoRegistry.accessorFor(sourceType, name, configuration()),
+        PropertyInfoRegistry.mutatorFor(destinationType, name, configuration()));
+  }
+
+  public void shouldCreateTransfersForSameAndWiderPrimitiveTypes() {
+    assertNotNull(transferFor(Quote.class, QuoteDto.class, "size"));
+    assertNotNull(transferFor(Quote.class, QuoteDto.class, "price"));
+    assertNotNull(transferFor(Quote.class, QuoteDto.class, "active"));
+    assertNotNull(transferFor(Quote.class, QuoteDto.class, "side"));
+    assertNull(transferFor(Quote.class, NarrowQuoteDto.class, "volume"));
+  }
+
+  public void shouldTransferPrimitiveValues() {
+    Quote quote = new Quote();
+    QuoteDto dto = new QuoteDto();
+    transferFor(Quote.class, QuoteDto.class, "size").transfer(quote, dto);
+    transferFor(Quote.class, QuoteDto.class, "price").transfer(quote, dto);
+
+    assertEquals(dto.size, 7L);
+    assertEquals(dto.price, 1.5d);
+  }
+
+  public void shouldTransferFields() {
+    Quote quote = new Quote();
+    QuoteDto dto = new QuoteDto();
+    PrimitiveTransfer transfer = PrimitiveTransfer.create(
+        new PropertyInfoImpl.FieldPropertyInfo(Quote.class, field(Quote.class, "size"), "size"),
+        new PropertyInfoImpl.FieldPropertyInfo(QuoteDto.class, field(QuoteDto.class, "size"),
+            "size"));
+    transfer.transfer(quote, dto);
+
+    assertEquals(dto.size, 7L);
+  }
+
+  public void shouldMapPrimitives() {
+    QuoteDto dto = modelMapper.map(new Quote(), QuoteDto.class);
+
+    assertEquals(dto.size, 7L);
+    assertEquals(dto.price, 1.5d);
+    assertTrue(dto.active);
+    assertEquals(dto.side, 'B');
+    assertEquals(dto.volume, Long.MAX_VALUE);
+    TypeMapImpl<?, ?> typeMap = (TypeMapImpl<?, ?>) modelMapper.getTypeMap(Quote.class,
+        QuoteDto.class);
+    for (MappingPlan.Step step : typeMap.getMappingPlan().steps)
+      assertNotNull(step.primitiveTransfer);
+  }
+
+  public void shouldConvertNarrowingPrimitives() {
+    try {
+      modelMapper.map(new Quote(), NarrowQuoteDto.class);
+      fail();
+    } catch (MappingException e) {
+    }
+  }
+
+  public void shouldUseCustomConverters() {
+    modelMapper.addConverter(new AbstractConverter<Integer, Long>() {
+      protected Long convert(Integer source) {
+        return source.longValue() * 2;
+      }
+    }, Integer.class, Long.TYPE);
+
+    assertEquals(modelMapper.map(new Quote(), QuoteDto.class).size, 14L);
+  }
+
+  public void shouldReportFailuresToGetValues() {
+    try {
+      modelMapper.map(new FailingQuote(), SizeDto.class);
+      fail();
+    } catch (MappingException e) {
+      assertTrue(e.getCause().getMessage().contains("Failed to get value"));
+    }
+  }
+
+  private static Field field(Class<?> type, String name) {
+    try {
+      return type.getDeclaredField(name);
+    } catch (NoSuchFieldException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
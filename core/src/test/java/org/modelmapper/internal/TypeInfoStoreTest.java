@@ -0,0 +1,190 @@
+package org.modelmapper.internal;
+
+import java.util.Arrays;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.NameTokenizers;
+import org.modelmapper.spi.NameableType;
+import org.modelmapper.spi.Tokens;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+@Test
+public class TypeInfoStoreTest extends AbstractTest {
+  private InheritingConfiguration config;
+  private TypeInfoStore store;
+
+  static class Source {
+    String name;
+    Address address;
+
+    public String getName() {
+      return name;
+    }
+
+    public Address getAddress() {
+      return address;
+    }
+  }
+
+  static class Address {
+    String street;
+
+    public String getStreet() {
+      return street;
+    }
+  }
+
+  static class Destination {
+    String name;
+    String addressStreet;
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public void setAddressStreet(String addressStreet) {
+      this.addressStreet = addressStreet;
+    }
+  }
+
+  static class Note {
+    String text;
+
+    public void setText(String text) {
+      this.text = text;
+    }
+  }
+
+  @BeforeMethod
+  protected void init() {
+    config = (InheritingConfiguration) modelMapper.getConfiguration();
+    store = config.typeInfoStore;
+  }
+
+  private Source source() {
+    Source source = new Source();
+    source.name = "joe";
+    source.address = new Address();
+    source.address.street = "main";
+    return source;
+  }
+
+  public void shouldNotShareMetadataBetweenModelMappers() {
+    TypeInfoImpl<Source> typeInfo = TypeInfoRegistry.typeInfoFor(Source.class, config);
+    InheritingConfiguration otherConfig = (InheritingConfiguration) new ModelMapper().getConfiguration();
+
+    assertSame(TypeInfoRegistry.typeInfoFor(Source.class, config), typeInfo);
+    assertNotSame(TypeInfoRegistry.typeInfoFor(Source.class, otherConfig), typeInfo);
+    assertEquals(otherConfig.typeInfoStore.size(), 1);
+  }
+
+  public void shouldReleaseMetadataOnClose() {
+    modelMapper.map(source(), Destination.class);
+    assertTrue(store.size() > 0);
+
+    modelMapper.close();
+    assertEquals(store.size(), 0);
+
+    Destination destination = modelMapper.map(source(), Destination.class);
+    assertEquals(destination.name, "joe");
+    assertEquals(destination.addressStreet, "main");
+  }
+
+  public void shouldEvictTypesNotUsedRecently() {
+    modelMapper.getConfiguration().setTypeInfoCacheLimit(2);
+    TypeInfoImpl<Source> sourceInfo = TypeInfoRegistry.typeInfoFor(Source.class, config);
+    TypeInfoImpl<Address> addressInfo = TypeInfoRegistry.typeInfoFor(Address.class, config);
+    TypeInfoImpl<Destination> destinationInfo = TypeInfoRegistry.typeInfoFor(Destination.class,
+        config);
+    assertEquals(store.size(), 2);
+
+    TypeInfoRegistry.typeInfoFor(Address.class, config);
+    assertNotSame(TypeInfoRegistry.typeInfoFor(Source.class, config), sourceInfo);
+    assertEquals(store.size(), 2);
+    assertSame(TypeInfoRegistry.typeInfoFor(Address.class, config), addressInfo);
+    assertNotSame(TypeInfoRegistry.typeInfoFor(Destination.class, config), destinationInfo);
+  }
+
+  public void shouldNotRetainNestedTypeInfosOfEvictedTypes() {
+    TypeInfoImpl<Source> sourceInfo = TypeInfoRegistry.typeInfoFor(Source.class, config);
+    TypeInfo<?> addressInfo = sourceInfo.getNestedTypeInfos().get(0);
+    assertEquals(sourceInfo.getNestedTypeInfos().size(), 1);
+    assertSame(addressInfo, TypeInfoRegistry.typeInfoFor(Address.class, config));
+
+    store.clear();
+    assertNotSame(sourceInfo.getNestedTypeInfos().get(0), addressInfo);
+    assertSame(sourceInfo.getNestedTypeInfos().get(0),
+        TypeInfoRegistry.typeInfoFor(Address.class, config));
+  }
+
+  public void shouldMemoizeMatchableHierarchiesAcrossTypeMaps() {
+    TypeInfoStore.DestinationTokensKey name = new TypeInfoStore.DestinationTokensKey(
+        NameTokenizers.CAMEL_CASE, Arrays.asList(Tokens.of("name")));
+    TypeInfoStore.DestinationTokensKey text = new TypeInfoStore.DestinationTokensKey(
+        NameTokenizers.CAMEL_CASE, Arrays.asList(Tokens.of("text")));
+    modelMapper.createTypeMap(Source.class, Destination.class);
+    modelMapper.createTypeMap(Source.class, Note.class);
+
+    TypeInfoImpl<Source> sourceInfo = TypeInfoRegistry.typeInfoFor(Source.class, config);
+    TypeInfoImpl<Address> addressInfo = TypeInfoRegistry.typeInfoFor(Address.class, config);
+    assertEquals(sourceInfo.getMatchableHierarchy(name), Boolean.TRUE);
+    assertEquals(sourceInfo.getMatchableHierarchy(text), Boolean.FALSE);
+    assertEquals(addressInfo.getMatchableHierarchy(text), Boolean.FALSE);
+    assertNull(sourceInfo.getMatchableHierarchy(new TypeInfoStore.DestinationTokensKey(
+        NameTokenizers.UNDERSCORE, Arrays.asList(Tokens.of("text")))));
+
+    store.clear();
+    assertNull(TypeInfoRegistry.typeInfoFor(Source.class, config).getMatchableHierarchy(text));
+  }
+
+  public void shouldMapWithinLimit() {
+    modelMapper.getConfiguration().setTypeInfoCacheLimit(1);
+    Destination destination = modelMapper.map(source(), Destination.class);
+
+    assertEquals(destination.name, "joe");
+    assertEquals(destination.addressStreet, "main");
+    assertEquals(store.size(), 1);
+  }
+
+  public void shouldEvictWhenLimitIsLowered() {
+    modelMapper.map(source(), Destination.class);
+    modelMapper.getConfiguration().setTypeInfoCacheLimit(1);
+
+    assertEquals(store.size(), 1);
+    assertEquals(modelMapper.getConfiguration().getTypeInfoCacheLimit(), 1);
+  }
+
+  public void shouldCacheTokensByTokenizerAndName() {
+    Tokens tokens = store.tokensFor(NameTokenizers.CAMEL_CASE, "addressStreet", NameableType.GENERIC);
+
+    assertEquals(tokens.size(), 2);
+    assertEquals(tokens.token(1), "Street");
+    assertSame(store.tokensFor(NameTokenizers.CAMEL_CASE, "addressStreet", NameableType.GENERIC),
+        tokens);
+    assertNotSame(store.tokensFor(NameTokenizers.UNDERSCORE, "addressStreet", NameableType.GENERIC),
+        tokens);
+
+    modelMapper.close();
+    assertNotSame(store.tokensFor(NameTokenizers.CAMEL_CASE, "addressStreet", NameableType.GENERIC),
+        tokens);
+  }
+
+  public void shouldTokenizeWithoutCachingBeyondLimit() {
+    for (int i = 0; i < TypeInfoStore.TOKENS_LIMIT; i++)
+      store.tokensFor(NameTokenizers.CAMEL_CASE, "name" + i, NameableType.GENERIC);
+
+    Tokens tokens = store.tokensFor(NameTokenizers.CAMEL_CASE, "lastName", NameableType.GENERIC);
+    assertEquals(tokens.token(1), "Name");
+    assertNotSame(store.tokensFor(NameTokenizers.CAMEL_CASE, "lastName", NameableType.GENERIC),
+        tokens);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowOnNegativeLimit() {
+    modelMapper.getConfiguration().setTypeInfoCacheLimit(-1);
+  }
+}
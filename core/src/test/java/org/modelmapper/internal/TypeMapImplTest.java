@@ -1,6 +1,8 @@
 package org.modelmapper.internal;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.fail;
 
 import java.util.ArrayList;
@@ -63,6 +65,27 @@ public class TypeMapImplTest {
     assertEquals(m.get(4).toString(), "a.x");
   }
 
+  public void shouldPublishMappingsSnapshotUntilModified() throws Exception {
+    TypeMapImpl<Object, Object> map = new TypeMapImpl<Object, Object>(null, null, null,
+        new InheritingConfiguration(), null);
+    map.addMapping(mapping("b"));
+
+    List<Mapping> snapshot = map.getMappings();
+    assertSame(map.getMappings(), snapshot);
+    try {
+      snapshot.clear();
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+
+    map.addMapping(mapping("a"));
+    List<Mapping> m = map.getMappings();
+    assertNotSame(m, snapshot);
+    assertEquals(snapshot.size(), 1);
+    assertEquals(m.get(0).toString(), "a");
+    assertEquals(m.get(1).toString(), "b");
+  }
+
   public void shouldThrowWhenSourceTypeIsEnum() {
     try {
       TypeMapImpl<Color, String> map = new TypeMapImpl<Color, String>(Color.class, String.class,
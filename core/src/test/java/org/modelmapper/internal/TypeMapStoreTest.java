@@ -0,0 +1,114 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.PropertyMap;
+import org.modelmapper.TypeMap;
+import org.testng.annotations.Test;
+
+@Test
+public class TypeMapStoreTest extends AbstractTest {
+  static class Source {
+    String value;
+  }
+
+  public static class Destination {
+    String value;
+
+    public void setValue(String value) {
+      this.value = value;
+    }
+  }
+
+  static class OtherSource {
+    String value;
+  }
+
+  static class OtherDestination {
+    String value;
+  }
+
+  private TypeMapStore typeMapStore() {
+    return ((InheritingConfiguration) modelMapper.getConfiguration()).typeMapStore;
+  }
+
+  public void shouldCreateSingleTypeMapForConcurrentRequests() throws Exception {
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicReferenceArray<TypeMap<?, ?>> typeMaps = new AtomicReferenceArray<TypeMap<?, ?>>(16);
+    Thread[] threads = new Thread[typeMaps.length()];
+    for (int i = 0; i < threads.length; i++) {
+      final int index = i;
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            typeMaps.set(index, typeMapStore().getOrCreate(null, Source.class,
+                Destination.class, null, engine()));
+          } catch (InterruptedException ignore) {
+          }
+        }
+      };
+      threads[i].start();
+    }
+
+    start.countDown();
+    for (Thread thread : threads)
+      thread.join();
+
+    assertNotNull(typeMaps.get(0));
+    for (int i = 1; i < typeMaps.length(); i++)
+      assertSame(typeMaps.get(i), typeMaps.get(0));
+    assertSame(modelMapper.getTypeMap(Source.class, Destination.class), typeMaps.get(0));
+  }
+
+  public void shouldReleaseCreationLocks() {
+    modelMapper.map(new Source(), Destination.class);
+    modelMapper.createTypeMap(OtherSource.class, OtherDestination.class);
+
+    assertTrue(typeMapStore().creationLocks.isEmpty());
+  }
+
+  public void shouldCreateTypeMapsForDifferentTypePairsConcurrently() throws Exception {
+    final CountDownLatch lockHeld = new CountDownLatch(1);
+    final CountDownLatch otherTypeMapCreated = new CountDownLatch(1);
+    final boolean[] awaited = new boolean[1];
+    Thread thread = new Thread() {
+      @Override
+      public void run() {
+        modelMapper.addMappings(new PropertyMap<Source, Destination>() {
+          @Override
+          protected void configure() {
+            lockHeld.countDown();
+            try {
+              awaited[0] = otherTypeMapCreated.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignore) {
+            }
+            map().setValue(source.value);
+          }
+        });
+      }
+    };
+    thread.start();
+
+    assertTrue(lockHeld.await(5, TimeUnit.SECONDS));
+    assertNotNull(modelMapper.createTypeMap(OtherSource.class, OtherDestination.class));
+    otherTypeMapCreated.countDown();
+    thread.join();
+
+    assertTrue(awaited[0]);
+    assertEquals(modelMapper.getTypeMap(Source.class, Destination.class).getMappings().size(), 1);
+  }
+
+  private MappingEngineImpl engine() {
+    return new MappingEngineImpl((InheritingConfiguration) modelMapper.getConfiguration());
+  }
+}
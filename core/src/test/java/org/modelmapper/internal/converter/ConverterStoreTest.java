@@ -1,12 +1,17 @@
 package org.modelmapper.internal.converter;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 
 import org.modelmapper.spi.ConditionalConverter;
+import org.modelmapper.spi.ConditionalConverter.MatchResult;
 import org.modelmapper.spi.MappingContext;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -112,4 +117,56 @@ public class ConverterStoreTest {
     store = new ConverterStore(Collections.<ConditionalConverter<?, ?>>singletonList(noneMatchConverter));
     assertNull(store.getFirstSupported(Object.class, Object.class));
   }
+
+  public void shouldReturnFirstMatchResult() {
+    store = new ConverterStore(Arrays.asList(
+        noneMatchConverter, partialMatchConverter, fullMatchConverter));
+    assertEquals(store.getFirstMatchResult(Object.class, Object.class), MatchResult.PARTIAL);
+    assertTrue(store.hasFullMatch(Object.class, Object.class));
+
+    store = new ConverterStore(Arrays.asList(noneMatchConverter, partialMatchConverter));
+    assertFalse(store.hasFullMatch(Object.class, Object.class));
+  }
+
+  public void shouldRematchWhenConvertersChange() {
+    store = new ConverterStore(Arrays.asList(noneMatchConverter, partialMatchConverter));
+    assertSame(store.getFirstSupported(Object.class, Object.class), partialMatchConverter);
+
+    store.getConverters().add(0, fullMatchConverter);
+    assertSame(store.getFirstSupported(Object.class, Object.class), fullMatchConverter);
+
+    store.getConverters().remove(fullMatchConverter);
+    assertSame(store.getFirstSupported(Object.class, Object.class), partialMatchConverter);
+
+    store.getConverters().clear();
+    assertNull(store.getFirstSupported(Object.class, Object.class));
+
+    store.addConverter(fullMatchConverter);
+    assertSame(store.getFirstSupported(Object.class, Object.class), fullMatchConverter);
+  }
+
+  public void shouldIterateSnapshotOfConverters() {
+    store = new ConverterStore(Arrays.asList(noneMatchConverter, partialMatchConverter));
+    Iterator<ConditionalConverter<?, ?>> iterator = store.getConverters().iterator();
+
+    store.getConverters().remove(0);
+    store.getConverters().add(fullMatchConverter);
+
+    assertSame(iterator.next(), noneMatchConverter);
+    assertSame(iterator.next(), partialMatchConverter);
+    assertFalse(iterator.hasNext());
+  }
+
+  public void shouldRematchWhenConvertersAreRemovedInBulk() {
+    store = new ConverterStore(Arrays.asList(noneMatchConverter, partialMatchConverter,
+        fullMatchConverter));
+    assertSame(store.getFirstSupported(Object.class, Object.class), fullMatchConverter);
+
+    store.getConverters().removeAll(Collections.singleton(fullMatchConverter));
+    assertSame(store.getFirstSupported(Object.class, Object.class), partialMatchConverter);
+
+    store.getConverters().subList(1, 2).clear();
+    assertNull(store.getFirstSupported(Object.class, Object.class));
+    assertEquals(store.getConverters().size(), 1);
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@link org.modelmapper.spi.GeneratedMapper GeneratedMapper} at compile time that maps
+ * the {@link #source()} type to the {@link #destination()} type. The mapper is generated into the
+ * destination type's package and registered as a service, so that ModelMappers with
+ * {@link org.modelmapper.config.Configuration#setGeneratedMappersEnabled(boolean) generated mappers}
+ * enabled use it instead of creating a TypeMap for the type pair at runtime, provided they are
+ * configured with {@link org.modelmapper.convention.MatchingStrategies#STRICT}, the default naming
+ * settings and the mapper's {@link #fieldMatching()}.
+ * 
+ * <p>
+ * Public JavaBeans accessors are matched against public JavaBeans mutators, and optionally public
+ * fields, by their camel case name tokens, as implicit mapping would match them with the strict
+ * strategy. Only strict matching can be performed at compile time, so ModelMappers using the
+ * default standard strategy, or the loose strategy, do not use generated mappers.
+ * 
+ * <p>
+ * Values that are primitives, primitive wrappers, Strings or enums are copied when assignable, and
+ * all other values are mapped at runtime through the MappingEngine, onto the destination property's
+ * current value when it has a non-generic type and can be read.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateMapper {
+  /**
+   * The type to map from.
+   */
+  Class<?> source();
+
+  /**
+   * The type to map to.
+   */
+  Class<?> destination();
+
+  /**
+   * Whether public fields are matched in addition to accessors and mutators.
+   */
+  boolean fieldMatching() default false;
+}
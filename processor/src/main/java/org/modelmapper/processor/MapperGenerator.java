@@ -0,0 +1,490 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+
+import org.modelmapper.convention.NameTokenizers;
+import org.modelmapper.convention.NameTransformers;
+import org.modelmapper.convention.NamingConventions;
+import org.modelmapper.spi.NameableType;
+import org.modelmapper.spi.PropertyType;
+
+/**
+ * Generates the source of a GeneratedMapper for a source and destination type pair. Properties are
+ * matched as implicit mapping matches them with
+ * {@link org.modelmapper.convention.MatchingStrategies#STRICT}, which is the only strategy whose
+ * matches can be determined at compile time.
+ */
+final class MapperGenerator {
+  private final ProcessingEnvironment processingEnv;
+  private final Elements elements;
+  private final Types types;
+  private final Element annotatedElement;
+  private final TypeElement sourceType;
+  private final TypeElement destinationType;
+  private final boolean fieldMatching;
+  private final String packageName;
+  private final Map<TypeElement, Map<String, Property>> readableProperties = new HashMap<TypeElement, Map<String, Property>>();
+  /** Generic destination types that TypeToken fields are declared for */
+  private final List<String> typeTokens = new ArrayList<String>();
+
+  /**
+   * A source or destination property.
+   */
+  static final class Property {
+    final String name;
+    final String[] tokens;
+    final TypeMirror type;
+    /** Accessor call or field name for readable properties, mutator or field name otherwise */
+    final String member;
+    final boolean method;
+
+    Property(String name, TypeMirror type, String member, boolean method) {
+      this.name = name;
+      this.type = type;
+      this.member = member;
+      this.method = method;
+      tokens = NameTokenizers.CAMEL_CASE.tokenize(name, NameableType.METHOD);
+      for (int i = 0; i < tokens.length; i++)
+        tokens[i] = tokens[i].toLowerCase();
+    }
+  }
+
+  MapperGenerator(ProcessingEnvironment processingEnv, Element annotatedElement,
+      TypeElement sourceType, TypeElement destinationType, boolean fieldMatching) {
+    this.processingEnv = processingEnv;
+    this.elements = processingEnv.getElementUtils();
+    this.types = processingEnv.getTypeUtils();
+    this.annotatedElement = annotatedElement;
+    this.sourceType = sourceType;
+    this.destinationType = destinationType;
+    this.fieldMatching = fieldMatching;
+    this.packageName = elements.getPackageOf(destinationType).getQualifiedName().toString();
+  }
+
+  /**
+   * Generates the mapper, returning its qualified name, else {@code null} if it could not be
+   * generated.
+   */
+  String generate() {
+    if (!isMappable(sourceType) || !isMappable(destinationType))
+      return null;
+
+    String simpleName = flatName(sourceType) + "To" + flatName(destinationType) + "Mapper";
+    String qualifiedName = packageName.length() == 0 ? simpleName : packageName + "." + simpleName;
+    StringBuilder body = new StringBuilder();
+    for (Property destination : writablePropertiesOf((DeclaredType) destinationType.asType()))
+      appendMapping(body, destination);
+
+    try {
+      Writer writer = processingEnv.getFiler()
+          .createSourceFile(qualifiedName, annotatedElement)
+          .openWriter();
+      try {
+        writer.write(classSource(simpleName, body));
+      } finally {
+        writer.close();
+      }
+      return qualifiedName;
+    } catch (IOException e) {
+      error("Failed to write " + qualifiedName + ": " + e.getMessage());
+      return null;
+    }
+  }
+
+  private String classSource(String simpleName, StringBuilder body) {
+    String source = sourceType.getQualifiedName().toString();
+    String destination = destinationType.getQualifiedName().toString();
+    StringBuilder sb = new StringBuilder();
+    if (packageName.length() > 0)
+      sb.append("package ").append(packageName).append(";\n\n");
+    sb.append("/**\n * Maps ").append(source).append(" to ").append(destination)
+        .append(". Generated by ").append(MapperProcessor.class.getName()).append(".\n */\n");
+    sb.append("public final class ").append(simpleName)
+        .append(" implements org.modelmapper.spi.GeneratedMapper<").append(source).append(", ")
+        .append(destination).append("> {\n");
+    for (int i = 0; i < typeTokens.size(); i++)
+      sb.append("  private static final java.lang.reflect.Type TYPE_").append(i)
+          .append(" = new org.modelmapper.TypeToken<").append(typeTokens.get(i))
+          .append(">() {\n  }.getType();\n");
+    if (!typeTokens.isEmpty())
+      sb.append('\n');
+
+    sb.append("  public Class<").append(source).append("> getSourceType() {\n    return ")
+        .append(source).append(".class;\n  }\n\n");
+    sb.append("  public Class<").append(destination).append("> getDestinationType() {\n    return ")
+        .append(destination).append(".class;\n  }\n\n");
+    sb.append("  public boolean isFieldMatchingEnabled() {\n    return ").append(fieldMatching)
+        .append(";\n  }\n\n");
+    sb.append("  @SuppressWarnings(\"unchecked\")\n");
+    sb.append("  public ").append(destination)
+        .append(" convert(org.modelmapper.spi.MappingContext<").append(source).append(", ")
+        .append(destination).append("> context) {\n");
+    sb.append("    ").append(source).append(" source = context.getSource();\n");
+    sb.append("    if (source == null)\n      return null;\n");
+    sb.append("    ").append(destination).append(" destination = context.getDestination();\n");
+    sb.append("    if (destination == null)\n      destination = ");
+    if (hasPublicDefaultConstructor(destinationType))
+      sb.append("new ").append(destination).append("();\n");
+    else
+      sb.append("context.getMappingEngine().createDestination(context);\n");
+    sb.append(body);
+    sb.append("    return destination;\n  }\n}\n");
+    return sb.toString();
+  }
+
+  /**
+   * Appends the statements that map the {@code destination} property, if it can be matched.
+   */
+  private void appendMapping(StringBuilder sb, Property destination) {
+    List<Property> matches = matchesFor(destination);
+    if (matches.isEmpty()) {
+      note("No source property matches " + destination.name);
+      return;
+    }
+    if (matches.size() > 1) {
+      warning("Skipping " + destination.name + ", which matches more than one source property");
+      return;
+    }
+    if (containsTypeVariable(destination.type)) {
+      warning("Skipping " + destination.name + ", whose type cannot be mapped");
+      return;
+    }
+
+    Property source = matches.get(0);
+    sb.append("    {\n");
+    String sourceValue = "v0";
+    TypeMirror valueType = source.type;
+    sb.append("      ").append(typeName(valueType)).append(" v0 = source.")
+        .append(source.member).append(";\n");
+
+    String value;
+    boolean nullable;
+    if (isCopyable(valueType) && types.isAssignable(valueType, destination.type)) {
+      value = sourceValue;
+      nullable = !valueType.getKind().isPrimitive();
+    } else {
+      TypeMirror destinationValueType = boxed(destination.type);
+      String destinationClass = isGeneric(destination.type) ? "TYPE_" + typeTokenFor(destination.type)
+          : typeName(types.erasure(destination.type)) + ".class";
+      String context = "context.create(" + sourceValue + ", " + destinationClass + ")";
+      Property current = currentValueOf(destination);
+      if (current != null) {
+        sb.append("      ").append(typeName(destinationValueType)).append(" current = destination.")
+            .append(current.member).append(";\n");
+        context = "current == null ? " + context + " : context.create(" + sourceValue + ", current)";
+      }
+      sb.append("      ").append(typeName(destinationValueType)).append(" value = ");
+      if (!valueType.getKind().isPrimitive())
+        sb.append(sourceValue).append(" == null ? null : ");
+      sb.append('(').append(typeName(destinationValueType))
+          .append(") context.getMappingEngine().map(").append(context).append(");\n");
+      value = "value";
+      nullable = true;
+    }
+
+    if (nullable && destination.type.getKind().isPrimitive())
+      value = value + " == null ? " + defaultValue(destination.type) + " : " + value;
+    sb.append("      destination.").append(destination.member);
+    if (destination.method)
+      sb.append('(').append(value).append(");\n");
+    else
+      sb.append(" = ").append(value).append(";\n");
+    sb.append("    }\n");
+  }
+
+  /**
+   * Returns the source properties whose name tokens are those of the {@code destination}
+   * property.
+   */
+  private List<Property> matchesFor(Property destination) {
+    List<Property> matches = new ArrayList<Property>();
+    for (Property property : readablePropertiesOf((DeclaredType) sourceType.asType()).values())
+      if (Arrays.equals(property.tokens, destination.tokens))
+        matches.add(property);
+    return matches;
+  }
+
+  /**
+   * Returns the readable property of the destination type that holds the current value of the
+   * {@code destination} property, which is mapped onto rather than replaced, else {@code null} if
+   * the value cannot be read or has a primitive or generic type. Generic values are always
+   * replaced, since a child MappingContext for an existing value does not retain the value's type
+   * arguments.
+   */
+  private Property currentValueOf(Property destination) {
+    if (destination.type.getKind().isPrimitive() || isGeneric(destination.type))
+      return null;
+    Property current = readablePropertiesOf((DeclaredType) destinationType.asType())
+        .get(destination.name);
+    return current != null && types.isSameType(current.type, destination.type) ? current : null;
+  }
+
+  private Map<String, Property> readablePropertiesOf(DeclaredType type) {
+    TypeElement typeElement = (TypeElement) type.asElement();
+    Map<String, Property> properties = readableProperties.get(typeElement);
+    if (properties != null)
+      return properties;
+
+    properties = new LinkedHashMap<String, Property>();
+    List<? extends Element> members = elements.getAllMembers(typeElement);
+    for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+      String name = method.getSimpleName().toString();
+      if (isPublicInstanceMember(method) && method.getParameters().isEmpty()
+          && method.getReturnType().getKind() != TypeKind.VOID
+          && NamingConventions.JAVABEANS_ACCESSOR.applies(name, PropertyType.METHOD)) {
+        TypeMirror propertyType = ((ExecutableType) types.asMemberOf(type, method)).getReturnType();
+        if (isAccessible(propertyType)) {
+          String propertyName = NameTransformers.JAVABEANS_ACCESSOR.transform(name, NameableType.METHOD);
+          properties.put(propertyName, new Property(propertyName, propertyType, name + "()", true));
+        }
+      }
+    }
+
+    if (fieldMatching)
+      for (Element field : ElementFilter.fieldsIn(members)) {
+        String name = field.getSimpleName().toString();
+        TypeMirror propertyType = types.asMemberOf(type, field);
+        if (isPublicInstanceMember(field) && !properties.containsKey(name)
+            && isAccessible(propertyType))
+          properties.put(name, new Property(name, propertyType, name, false));
+      }
+
+    readableProperties.put(typeElement, properties);
+    return properties;
+  }
+
+  private List<Property> writablePropertiesOf(DeclaredType type) {
+    Map<String, Property> properties = new LinkedHashMap<String, Property>();
+    List<? extends Element> members = elements.getAllMembers((TypeElement) type.asElement());
+    for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+      String name = method.getSimpleName().toString();
+      if (isPublicInstanceMember(method) && method.getParameters().size() == 1
+          && NamingConventions.JAVABEANS_MUTATOR.applies(name, PropertyType.METHOD)) {
+        TypeMirror propertyType = ((ExecutableType) types.asMemberOf(type, method)).getParameterTypes()
+            .get(0);
+        String propertyName = NameTransformers.JAVABEANS_MUTATOR.transform(name, NameableType.METHOD);
+        if (isAccessible(propertyType) && !properties.containsKey(propertyName))
+          properties.put(propertyName, new Property(propertyName, propertyType, name, true));
+      }
+    }
+
+    if (fieldMatching)
+      for (Element field : ElementFilter.fieldsIn(members)) {
+        String name = field.getSimpleName().toString();
+        TypeMirror propertyType = types.asMemberOf(type, field);
+        if (isPublicInstanceMember(field) && !field.getModifiers().contains(Modifier.FINAL)
+            && !properties.containsKey(name) && isAccessible(propertyType))
+          properties.put(name, new Property(name, propertyType, name, false));
+      }
+
+    return new ArrayList<Property>(properties.values());
+  }
+
+  private boolean isMappable(TypeElement type) {
+    if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.INTERFACE) {
+      error(type.getQualifiedName() + " is not a class");
+      return false;
+    }
+    if (!type.getTypeParameters().isEmpty()) {
+      error(type.getQualifiedName() + " is generic and cannot be mapped at compile time");
+      return false;
+    }
+    if (!isAccessible(type.asType())) {
+      error(type.getQualifiedName() + " is not accessible from package " + packageName);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether values of the {@code type} can be copied rather than mapped.
+   */
+  private boolean isCopyable(TypeMirror type) {
+    if (type.getKind().isPrimitive())
+      return true;
+    if (type.getKind() != TypeKind.DECLARED)
+      return false;
+    TypeElement element = (TypeElement) types.asElement(type);
+    if (element.getKind() == ElementKind.ENUM)
+      return true;
+    if (element.getQualifiedName().contentEquals("java.lang.String"))
+      return true;
+    try {
+      types.unboxedType(type);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns whether the {@code type} can be named from the generated mapper's package.
+   */
+  private boolean isAccessible(TypeMirror type) {
+    if (type.getKind().isPrimitive())
+      return true;
+    if (type.getKind() == TypeKind.ARRAY)
+      return isAccessible(((ArrayType) type).getComponentType());
+    if (type.getKind() != TypeKind.DECLARED)
+      return type.getKind() == TypeKind.TYPEVAR || type.getKind() == TypeKind.WILDCARD;
+
+    for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments())
+      if (!isAccessible(typeArgument))
+        return false;
+    for (Element element = types.asElement(type); element instanceof TypeElement; element = element.getEnclosingElement()) {
+      Set<Modifier> modifiers = element.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE))
+        return false;
+      if (!modifiers.contains(Modifier.PUBLIC)
+          && !elements.getPackageOf(element).getQualifiedName().contentEquals(packageName))
+        return false;
+    }
+    return true;
+  }
+
+  private boolean isGeneric(TypeMirror type) {
+    if (type.getKind() == TypeKind.ARRAY)
+      return isGeneric(((ArrayType) type).getComponentType());
+    return type.getKind() == TypeKind.DECLARED
+        && !((DeclaredType) type).getTypeArguments().isEmpty();
+  }
+
+  private boolean containsTypeVariable(TypeMirror type) {
+    if (type.getKind() == TypeKind.TYPEVAR)
+      return true;
+    if (type.getKind() == TypeKind.ARRAY)
+      return containsTypeVariable(((ArrayType) type).getComponentType());
+    if (type.getKind() == TypeKind.DECLARED)
+      for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments())
+        if (containsTypeVariable(typeArgument))
+          return true;
+    return false;
+  }
+
+  private boolean hasPublicDefaultConstructor(TypeElement type) {
+    if (type.getModifiers().contains(Modifier.ABSTRACT) || type.getKind() != ElementKind.CLASS
+        || (type.getEnclosingElement() instanceof TypeElement
+            && !type.getModifiers().contains(Modifier.STATIC)))
+      return false;
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements()))
+      if (constructor.getParameters().isEmpty()
+          && constructor.getModifiers().contains(Modifier.PUBLIC))
+        return true;
+    return false;
+  }
+
+  private static boolean isPublicInstanceMember(Element member) {
+    return member.getModifiers().contains(Modifier.PUBLIC)
+        && !member.getModifiers().contains(Modifier.STATIC)
+        && !((TypeElement) member.getEnclosingElement()).getQualifiedName()
+            .contentEquals("java.lang.Object");
+  }
+
+  private int typeTokenFor(TypeMirror type) {
+    String typeName = typeName(type);
+    int index = typeTokens.indexOf(typeName);
+    if (index == -1) {
+      typeTokens.add(typeName);
+      index = typeTokens.size() - 1;
+    }
+    return index;
+  }
+
+  private TypeMirror boxed(TypeMirror type) {
+    return type.getKind().isPrimitive() ? types.boxedClass(types.getPrimitiveType(type.getKind()))
+        .asType() : type;
+  }
+
+  private static String typeName(TypeMirror type) {
+    return type.toString();
+  }
+
+  private static String defaultValue(TypeMirror type) {
+    switch (type.getKind()) {
+      case BOOLEAN:
+        return "false";
+      case CHAR:
+        return "(char) 0";
+      case BYTE:
+        return "(byte) 0";
+      case SHORT:
+        return "(short) 0";
+      case LONG:
+        return "0L";
+      case FLOAT:
+        return "0F";
+      case DOUBLE:
+        return "0D";
+      default:
+        return "0";
+    }
+  }
+
+  /**
+   * Returns the names of the {@code type} and its enclosing types joined on an underscore.
+   */
+  private static String flatName(TypeElement type) {
+    String name = type.getSimpleName().toString();
+    for (Element element = type.getEnclosingElement(); !(element instanceof PackageElement); element = element.getEnclosingElement())
+      name = element.getSimpleName() + "_" + name;
+    return name;
+  }
+
+  private void error(String message) {
+    processingEnv.getMessager().printMessage(Kind.ERROR, message, annotatedElement);
+  }
+
+  private void warning(String message) {
+    processingEnv.getMessager().printMessage(Kind.WARNING, mapperDescription() + message,
+        annotatedElement);
+  }
+
+  private void note(String message) {
+    processingEnv.getMessager().printMessage(Kind.NOTE, mapperDescription() + message,
+        annotatedElement);
+  }
+
+  private String mapperDescription() {
+    return sourceType.getSimpleName() + " -> " + destinationType.getSimpleName() + ": ";
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a GeneratedMapper for each {@link GenerateMapper} annotation, and registers the
+ * generated mappers in {@code META-INF/services/org.modelmapper.spi.GeneratedMapper} once
+ * processing is over.
+ */
+@SupportedAnnotationTypes("org.modelmapper.processor.GenerateMapper")
+public class MapperProcessor extends AbstractProcessor {
+  private static final String SERVICES_FILE = "META-INF/services/org.modelmapper.spi.GeneratedMapper";
+  private final List<String> mapperNames = new ArrayList<String>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(GenerateMapper.class)) {
+      GenerateMapper annotation = element.getAnnotation(GenerateMapper.class);
+      TypeElement sourceType = sourceTypeOf(annotation);
+      TypeElement destinationType = destinationTypeOf(annotation);
+      if (sourceType == null || destinationType == null) {
+        processingEnv.getMessager().printMessage(Kind.ERROR,
+            "@GenerateMapper source and destination must be classes", element);
+        continue;
+      }
+
+      String mapperName = new MapperGenerator(processingEnv, element, sourceType,
+          destinationType, annotation.fieldMatching()).generate();
+      if (mapperName != null)
+        mapperNames.add(mapperName);
+    }
+
+    if (roundEnv.processingOver() && !mapperNames.isEmpty())
+      writeServicesFile();
+    return true;
+  }
+
+  private void writeServicesFile() {
+    try {
+      FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+          SERVICES_FILE);
+      Writer writer = file.openWriter();
+      try {
+        for (String mapperName : mapperNames)
+          writer.write(mapperName + "\n");
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Failed to write " + SERVICES_FILE + ": " + e.getMessage());
+    }
+  }
+
+  private static TypeElement sourceTypeOf(GenerateMapper annotation) {
+    try {
+      annotation.source();
+      return null;
+    } catch (MirroredTypeException e) {
+      return typeElementOf(e.getTypeMirror());
+    }
+  }
+
+  private static TypeElement destinationTypeOf(GenerateMapper annotation) {
+    try {
+      annotation.destination();
+      return null;
+    } catch (MirroredTypeException e) {
+      return typeElementOf(e.getTypeMirror());
+    }
+  }
+
+  private static TypeElement typeElementOf(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) type).asElement()
+        : null;
+  }
+}
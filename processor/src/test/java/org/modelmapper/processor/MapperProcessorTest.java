@@ -0,0 +1,335 @@
+package org.modelmapper.processor;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.modelmapper.convention.MatchingStrategies;
+import org.modelmapper.spi.GeneratedMapper;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test
+public class MapperProcessorTest {
+  private ModelMapper modelMapper;
+
+  public enum Status {
+    OPEN, CLOSED
+  }
+
+  public static class Address {
+    private String street;
+    private String city;
+
+    public Address() {
+    }
+
+    public Address(String street, String city) {
+      this.street = street;
+      this.city = city;
+    }
+
+    public String getStreet() {
+      return street;
+    }
+
+    public String getCity() {
+      return city;
+    }
+  }
+
+  public static class Customer {
+    private String name;
+    private Address address;
+
+    public String getName() {
+      return name;
+    }
+
+    public Address getAddress() {
+      return address;
+    }
+  }
+
+  public static class Item {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  public static class Order {
+    private int quantity;
+    private Integer discount;
+    private String total;
+    private Status status;
+    private Customer customer;
+    private Address shippingAddress;
+    private List<Item> items;
+
+    public int getQuantity() {
+      return quantity;
+    }
+
+    public Integer getDiscount() {
+      return discount;
+    }
+
+    public String getTotal() {
+      return total;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    public Customer getCustomer() {
+      return customer;
+    }
+
+    public Address getShippingAddress() {
+      return shippingAddress;
+    }
+
+    public List<Item> getItems() {
+      return items;
+    }
+  }
+
+  public static class AddressDto {
+    private String street;
+    private String city;
+
+    public void setStreet(String street) {
+      this.street = street;
+    }
+
+    public void setCity(String city) {
+      this.city = city;
+    }
+  }
+
+  public static class ItemDto {
+    private String name;
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  @GenerateMapper(source = Order.class, destination = OrderDto.class)
+  public static class OrderDto {
+    private long quantity;
+    private int discount;
+    private int total;
+    private Status status;
+    private String customerName;
+    private String customerAddressCity;
+    private AddressDto shippingAddress;
+    private List<ItemDto> items;
+
+    public void setQuantity(long quantity) {
+      this.quantity = quantity;
+    }
+
+    public void setDiscount(int discount) {
+      this.discount = discount;
+    }
+
+    public void setTotal(int total) {
+      this.total = total;
+    }
+
+    public void setStatus(Status status) {
+      this.status = status;
+    }
+
+    public void setCustomerName(String customerName) {
+      this.customerName = customerName;
+    }
+
+    public void setCustomerAddressCity(String customerAddressCity) {
+      this.customerAddressCity = customerAddressCity;
+    }
+
+    public AddressDto getShippingAddress() {
+      return shippingAddress;
+    }
+
+    public void setShippingAddress(AddressDto shippingAddress) {
+      this.shippingAddress = shippingAddress;
+    }
+
+    public void setItems(List<ItemDto> items) {
+      this.items = items;
+    }
+  }
+
+  public static class FieldSource {
+    public String name;
+    public int size;
+  }
+
+  @GenerateMapper(source = FieldSource.class, destination = FieldDestination.class,
+      fieldMatching = true)
+  public static class FieldDestination {
+    public String name;
+    public Integer size;
+  }
+
+  @BeforeMethod
+  public void setUp() {
+    modelMapper = new ModelMapper();
+    modelMapper.getConfiguration()
+        .setGeneratedMappersEnabled(true)
+        .setMatchingStrategy(MatchingStrategies.STRICT);
+  }
+
+  private static Order createOrder() {
+    Order order = new Order();
+    order.quantity = 3;
+    order.discount = 10;
+    order.total = "42";
+    order.status = Status.CLOSED;
+    order.customer = new Customer();
+    order.customer.name = "joe";
+    order.customer.address = new Address("main", "springfield");
+    order.shippingAddress = new Address("elm", "shelbyville");
+    Item item = new Item();
+    item.name = "book";
+    order.items = Arrays.asList(item);
+    return order;
+  }
+
+  public void shouldUseGeneratedMapper() {
+    modelMapper.map(createOrder(), OrderDto.class);
+
+    TypeMap<Order, OrderDto> typeMap = modelMapper.getTypeMap(Order.class, OrderDto.class);
+    assertTrue(typeMap.getConverter() instanceof GeneratedMapper);
+    assertTrue(typeMap.getMappings().isEmpty());
+  }
+
+  public void shouldNotUseGeneratedMapperUnlessEnabled() {
+    ModelMapper modelMapper = new ModelMapper();
+    modelMapper.map(createOrder(), OrderDto.class);
+
+    TypeMap<Order, OrderDto> typeMap = modelMapper.getTypeMap(Order.class, OrderDto.class);
+    assertFalse(typeMap.getConverter() instanceof GeneratedMapper);
+  }
+
+  public void shouldNotUseGeneratedMapperForOtherMatchingStrategy() {
+    modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STANDARD);
+    modelMapper.map(createOrder(), OrderDto.class);
+
+    TypeMap<Order, OrderDto> typeMap = modelMapper.getTypeMap(Order.class, OrderDto.class);
+    assertFalse(typeMap.getConverter() instanceof GeneratedMapper);
+  }
+
+  public void shouldNotUseGeneratedMapperWhenSkippingNulls() {
+    modelMapper.getConfiguration().setSkipNullEnabled(true);
+    modelMapper.map(createOrder(), OrderDto.class);
+
+    TypeMap<Order, OrderDto> typeMap = modelMapper.getTypeMap(Order.class, OrderDto.class);
+    assertFalse(typeMap.getConverter() instanceof GeneratedMapper);
+  }
+
+  public void shouldNotUseGeneratedMapperForOtherFieldMatching() {
+    modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+    modelMapper.map(createOrder(), OrderDto.class);
+
+    TypeMap<Order, OrderDto> typeMap = modelMapper.getTypeMap(Order.class, OrderDto.class);
+    assertFalse(typeMap.getConverter() instanceof GeneratedMapper);
+  }
+
+  public void shouldMap() {
+    OrderDto dto = modelMapper.map(createOrder(), OrderDto.class);
+
+    assertEquals(dto.quantity, 3L);
+    assertEquals(dto.discount, 10);
+    assertEquals(dto.total, 42);
+    assertEquals(dto.status, Status.CLOSED);
+    assertNull(dto.customerName);
+    assertNull(dto.customerAddressCity);
+    assertEquals(dto.shippingAddress.street, "elm");
+    assertEquals(dto.shippingAddress.city, "shelbyville");
+    assertEquals(dto.items.size(), 1);
+    assertEquals(dto.items.get(0).name, "book");
+  }
+
+  public void shouldMapNullValues() {
+    OrderDto dto = new OrderDto();
+    dto.discount = 5;
+    dto.status = Status.OPEN;
+    dto.shippingAddress = new AddressDto();
+    modelMapper.map(new Order(), dto);
+
+    assertEquals(dto.discount, 0);
+    assertNull(dto.status);
+    assertNull(dto.shippingAddress);
+    assertNull(dto.items);
+  }
+
+  public void shouldMapAsImplicitMappingWould() {
+    ModelMapper implicitModelMapper = new ModelMapper();
+    implicitModelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+    OrderDto expected = implicitModelMapper.map(createOrder(), OrderDto.class);
+    OrderDto dto = modelMapper.map(createOrder(), OrderDto.class);
+
+    assertEquals(dto.quantity, expected.quantity);
+    assertEquals(dto.discount, expected.discount);
+    assertEquals(dto.total, expected.total);
+    assertEquals(dto.status, expected.status);
+    assertEquals(dto.customerName, expected.customerName);
+    assertEquals(dto.customerAddressCity, expected.customerAddressCity);
+    assertEquals(dto.shippingAddress.street, expected.shippingAddress.street);
+    assertEquals(dto.shippingAddress.city, expected.shippingAddress.city);
+    assertEquals(dto.items.get(0).name, expected.items.get(0).name);
+  }
+
+  public void shouldMapToProvidedDestination() {
+    OrderDto dto = new OrderDto();
+    OrderDto result = modelMapper.map(createOrder(), OrderDto.class);
+    modelMapper.map(createOrder(), dto);
+
+    assertEquals(dto.quantity, result.quantity);
+    assertSame(modelMapper.getTypeMap(Order.class, OrderDto.class).getConverter(),
+        modelMapper.getTypeMap(Order.class, OrderDto.class).getConverter());
+  }
+
+  public void shouldMapOntoExistingNestedDestination() {
+    OrderDto dto = new OrderDto();
+    AddressDto shippingAddress = new AddressDto();
+    shippingAddress.city = "ogdenville";
+    dto.shippingAddress = shippingAddress;
+    modelMapper.map(createOrder(), dto);
+
+    assertSame(dto.shippingAddress, shippingAddress);
+    assertEquals(shippingAddress.street, "elm");
+    assertEquals(shippingAddress.city, "shelbyville");
+  }
+
+  public void shouldMapFields() {
+    modelMapper.getConfiguration()
+        .setFieldMatchingEnabled(true)
+        .setFieldAccessLevel(AccessLevel.PUBLIC);
+    FieldSource source = new FieldSource();
+    source.name = "name";
+    source.size = 7;
+    FieldDestination destination = modelMapper.map(source, FieldDestination.class);
+
+    assertEquals(destination.name, "name");
+    assertEquals(destination.size, Integer.valueOf(7));
+    TypeMap<FieldSource, FieldDestination> typeMap = modelMapper.getTypeMap(FieldSource.class,
+        FieldDestination.class);
+    assertTrue(typeMap.getConverter() instanceof GeneratedMapper);
+  }
+}